@@ -2,8 +2,15 @@ package de.metanome.algorithms.binder;
 
 import java.io.*;
 import java.lang.management.ManagementFactory;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import de.metanome.algorithm_integration.AlgorithmConfigurationException;
@@ -15,19 +22,32 @@ import de.metanome.algorithm_integration.result_receiver.ColumnNameMismatchExcep
 import de.metanome.algorithm_integration.result_receiver.CouldNotReceiveResultException;
 import de.metanome.algorithm_integration.result_receiver.InclusionDependencyResultReceiver;
 import de.metanome.algorithm_integration.results.InclusionDependency;
+import de.metanome.algorithms.binder.io.BucketFile;
 import de.metanome.algorithms.binder.io.FileInputIterator;
 import de.metanome.algorithms.binder.io.InputIterator;
+import de.metanome.algorithms.binder.io.ProjectionFile;
+import de.metanome.algorithms.binder.io.SqlInputIterator;
 import de.metanome.algorithms.binder.structures.Attribute;
+import de.metanome.algorithms.binder.structures.AtomicBitSet;
 import de.metanome.algorithms.binder.structures.AttributeCombination;
+import de.metanome.algorithms.binder.structures.BucketBuffer;
+import de.metanome.algorithms.binder.structures.EncodedValueSet;
 import de.metanome.algorithms.binder.structures.IntSingleLinkedList;
+import de.metanome.algorithms.binder.structures.MemoryBudget;
+import de.metanome.algorithms.binder.structures.ProjectedRow;
 import de.metanome.algorithms.binder.structures.IntSingleLinkedList.ElementIterator;
 import de.metanome.algorithms.binder.structures.Level;
+import de.metanome.algorithms.binder.structures.TupleEncoder;
 import de.metanome.algorithms.binder.utils.CollectionUtils;
 import de.metanome.algorithms.binder.utils.DatabaseUtils;
 import de.metanome.algorithms.binder.utils.FileUtils;
+import de.metanome.algorithms.binder.utils.PartitioningFunction;
 import de.metanome.algorithms.binder.dao.DataAccessObject;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntIterable;
 import it.unimi.dsi.fastutil.ints.IntIterator;
 import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.ints.IntListIterator;
@@ -47,16 +67,27 @@ class Binder {
 	int numBucketsPerColumn = 10; // Initial number of buckets per column
 	int memoryCheckFrequency = 100; // Number of new, i.e., so far unseen values during bucketing that trigger a memory consumption check
 	int maxMemoryUsagePercentage = 60; // The algorithm spills to disc if memory usage exceeds X% of available memory
-	private long maxMemoryUsage;
+	int memoryBudget = -1; // Memory in MB that all bucket buffers may use together; if not positive, maxMemoryUsagePercentage of the available memory is used
+	int parallelism = 1; // Number of tables that are bucketized concurrently
+	int fetchSize = 10000; // Number of rows that a database cursor fetches at once
+	PartitioningFunction partitioningFunction = PartitioningFunction.MURMUR3; // Hash function that distributes the values over buckets and sub buckets
+	double maxSubBucketSkew = 2.0; // A refined bucket level is re-partitioned with another seed if its largest sub bucket is X times larger than the average sub bucket; the sub buckets are only measured if the active attributes are distributed that skewed over the bucket levels
+	int maxRepartitioningAttempts = 3; // Number of seeds that are tried to re-partition a skewed bucket level
+	private MemoryBudget bucketMemory;
 
 	// temp folder
 	private File tempFolder = null;
 	String tempFolderPath = "BINDER_temp"; // TODO: Use Metanome temp file functionality here (interface TempFileAlgorithm)
 	boolean cleanTemp = true;
+	boolean incremental = false; // Keep the buckets and results for the next run, which then only processes the rows that have been appended in the meantime; the next run skips as many rows as the previous run has read, so the tables must only be appended to and return their rows in the same order in every run (database tables do not guarantee a scan order, so they must only be used if their scan order is known to be the insertion order); a table whose file length or row count has not changed is not read again
+	String statisticsFilePath = ""; // File to which the execution statistics are written as JSON; if empty, they are only available via getStatistics()
+
+	private BinderStatistics statistics = null;
 
 	private Int2ObjectOpenHashMap<List<List<String>>> attribute2subBucketsCache = null;
 
 	private Int2ObjectOpenHashMap<IntSingleLinkedList> dep2ref = null;
+	private int[][] table2projectedColumns = null; // The columns of every table that the n-ary IND detection projects into side files
 
 	// candidates for
 	List<TableInputGenerator> tableInputGenerator = null;
@@ -71,6 +102,14 @@ class Binder {
 	private int[] column2table;
 	private BucketMetadata bucketMetadata;
 
+	// incremental runs
+	private BinderState previousState = null;
+	private long[] rowCounts;
+	private long[] inputSizes; // The length of the file or the number of rows of every table, or -1 if unknown; a table with the same size as in the previous run is not read again
+	private BitSet changedBuckets; // The buckets that received values in this run, numbered column * numBucketsPerColumn + bucket
+	private BitSet depsWithNewCandidates;
+	private Int2ObjectOpenHashMap<IntSingleLinkedList> dep2refUnchanged;
+
 	Binder() {
 		tableInfoFactory = new TableInfoFactory();
 	}
@@ -88,69 +127,92 @@ class Binder {
 		return "Divide and Conquer-based IND discovery";
 	}
 
+	/**
+	 * The statistics of the last execution, or null if the algorithm has not been executed yet.
+	 */
+	public BinderStatistics getStatistics() {
+		return this.statistics;
+	}
+
 	public void execute() throws AlgorithmExecutionException {
 		// Disable Logging (FastSet sometimes complains about skewed key distributions with lots of WARNINGs)
 		//LoggingUtils.disableLogging();
-		long startExecutionTime = System.currentTimeMillis();
+		this.statistics = new BinderStatistics(this.numBucketsPerColumn);
+		
+		// Forget the candidates of a previous execution, because this execution may not continue its state
+		this.depsWithNewCandidates = null;
+		this.dep2refUnchanged = null;
 
 		try {
 
 			////////////////////////////////////////////////////////
 			// Phase 0: Initialization (Collect basic statistics) //
 			////////////////////////////////////////////////////////
-			long unaryStatisticTime = System.currentTimeMillis();
+			this.statistics.startPhase();
 			this.initialize();
-			unaryStatisticTime = System.currentTimeMillis() - unaryStatisticTime;
-			System.out.println(unaryStatisticTime);
+			this.statistics.setConfiguration(this.bucketMemory.getLimit(), this.parallelism, this.partitioningFunction.name());
+			this.statistics.endPhase(BinderStatistics.Phase.INITIALIZATION);
 
 			//////////////////////////////////////////////////////
 			// Phase 1: Bucketing (Create and fill the buckets) //
 			//////////////////////////////////////////////////////
-			long unaryLoadTime = System.currentTimeMillis();
+			this.statistics.startPhase();
 			bucketMetadata = this.bucketize();
-			unaryLoadTime = System.currentTimeMillis() - unaryLoadTime;
-			System.out.println(unaryLoadTime);
+			this.statistics.endPhase(BinderStatistics.Phase.BUCKETING);
 			//////////////////////////////////////////////////////
 			// Phase 2: Checking (Check INDs using the buckets) //
 			//////////////////////////////////////////////////////
-			long unaryCompareTime = System.currentTimeMillis();
+			this.statistics.startPhase();
 			//this.checkViaHashing(bucketMetadata);
 			//this.checkViaSorting(bucketMetadata);
 			//this.checkViaTwoStageIndexAndBitSets(bucketMetadata);
-			this.checkViaTwoStageIndexAndLists();
-			unaryCompareTime = System.currentTimeMillis() - unaryCompareTime;
-			System.out.println(unaryCompareTime);
+			if (this.parallelism > 1)
+				this.checkViaParallelTwoStageIndexAndBitSets();
+			else
+				this.checkViaTwoStageIndexAndLists();
+			this.statistics.setUnaryInds(this.countCandidatesFromLists(this.dep2ref));
+			this.statistics.endPhase(BinderStatistics.Phase.VALIDATION);
 			/////////////////////////////////////////////////////////
 			// Phase 3: N-ary IND detection (Find INDs of size > 1 //
 			/////////////////////////////////////////////////////////4
+			this.statistics.startPhase();
 			Map<AttributeCombination, List<AttributeCombination>> naryDep2ref = null;
 			if (this.detectNary && (this.maxNaryLevel > 1 || this.maxNaryLevel <= 0)) {
-				naryDep2ref = this.detectNaryViaBucketing();
+				if ((this.previousState != null) && (this.previousState.getNaryDep2ref() != null) && this.changedBuckets.isEmpty())
+					naryDep2ref = this.previousState.getNaryDep2ref(); // No table received new rows since the previous run
+				else
+					naryDep2ref = this.detectNaryViaBucketing();
 				//naryDep2ref = this.detectNaryViaSingleChecks();
 			}
+			this.statistics.setPeakBufferedBytes(this.bucketMemory.getPeak());
+			this.statistics.endPhase(BinderStatistics.Phase.NARY_DETECTION);
 			System.out.println(naryDep2ref);
 
 			//////////////////////////////////////////////////////
 			// Phase 4: Output (Return and/or write the results //
 			//////////////////////////////////////////////////////
 
-			long outputTime = System.currentTimeMillis();
+			this.statistics.startPhase();
 			this.output(naryDep2ref);
-			outputTime = System.currentTimeMillis() - outputTime;
-			System.out.println(outputTime);
-			System.out.println(String.format("Total Time: %d", (System.currentTimeMillis()) - startExecutionTime));
+			if (this.incremental)
+				this.saveState(naryDep2ref);
+			this.statistics.endPhase(BinderStatistics.Phase.OUTPUT);
+			
+			// Write the statistics as JSON report, if requested
+			if ((this.statisticsFilePath != null) && !this.statisticsFilePath.isEmpty())
+				this.statistics.writeJson(new File(this.statisticsFilePath));
 		}
 		catch (SQLException | IOException e) {
 			e.printStackTrace();
 			throw new AlgorithmExecutionException(e.getMessage());
 		} finally {
-			// Clean temp
-			if (this.cleanTemp)
+			// Clean temp, unless the buckets are kept for the next incremental run
+			if (this.cleanTemp && !this.incremental)
 				FileUtils.cleanDirectory(this.tempFolder);
 		}
 	}
 
-	private void initialize() throws InputGenerationException, SQLException, InputIterationException, AlgorithmConfigurationException {
+	private void initialize() throws InputGenerationException, SQLException, InputIterationException, AlgorithmConfigurationException, IOException {
 		System.out.println("Initializing ...");
 
 		// Ensure the presence of an input generator
@@ -161,11 +223,24 @@ class Binder {
 				.create(fileInputGenerator,
 						tableInputGenerator);
 
+		// Initialize the memory budget of all bucket buffers
+		this.bucketMemory = new MemoryBudget(this.calculateMemoryBudget());
+		
 		// Initialize temp folder
 		this.tempFolder = new File(this.tempFolderPath + File.separator + "temp");
 		
-		// Clean temp if there are files from previous runs that may pollute this run
-		FileUtils.cleanDirectory(this.tempFolder);
+		// Continue the buckets of the previous incremental run if it processed the same tables with the same settings; otherwise, clean temp if there are files from previous runs that may pollute this run
+		this.previousState = null;
+		if (this.incremental) {
+			BinderState state = BinderState.load(this.getStateFile());
+			if ((state != null) && state.matches(getTotalTableNames(tables), getTotalColumnNames(tables), this.numBucketsPerColumn, this.partitioningFunction, this.filterKeyForeignkeys, this.detectNary, this.maxNaryLevel, this.inputRowLimit))
+				this.previousState = state;
+			
+			// The buckets are extended from here on, so a failing run must not leave a state that does not describe them
+			this.getStateFile().delete();
+		}
+		if (this.previousState == null)
+			FileUtils.cleanDirectory(this.tempFolder);
 
 		// Build an index that assigns the columns to their tables, because the n-ary detection can only group those attributes that belong to the same table and the foreign key detection also only groups attributes from different tables.
 		int currentStartIndex = 0;
@@ -179,6 +254,118 @@ class Binder {
 		}
 	}
 
+	private long calculateMemoryBudget() {
+		if (this.memoryBudget > 0)
+			return this.memoryBudget * 1024L * 1024L;
+		
+		long availableMemory = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getMax();
+		return (long) (availableMemory * (this.maxMemoryUsagePercentage / 100.0f));
+	}
+
+	private InputIterator openInputIterator(TableInfo table) throws InputGenerationException, AlgorithmConfigurationException {
+		// Database tables are streamed through a cursor if the database system is known; otherwise, the driver decides how to fetch them
+		TableInputGenerator tableInputGenerator = table.getTableInputGenerator();
+		if (tableInputGenerator != null) {
+			DataAccessObject dao = this.getDataAccessObject(table);
+			if (dao != null)
+				return new SqlInputIterator(tableInputGenerator, dao, table.getTableName(), this.fetchSize, this.inputRowLimit);
+		}
+		return new FileInputIterator(table.selectInputGenerator(), this.inputRowLimit);
+	}
+
+	private void closeInputIterator(InputIterator inputIterator) throws InputIterationException {
+		// Closing a database input ends the transaction of its cursor, so a failure must not go unnoticed once all rows have been read
+		try {
+			inputIterator.close();
+		}
+		catch (Exception e) {
+			throw new InputIterationException("Could not close the input: " + e.getMessage(), e);
+		}
+	}
+
+	private DataAccessObject getDataAccessObject(TableInfo table) throws InputGenerationException {
+		if (this.dao != null)
+			return this.dao;
+		try {
+			return DatabaseUtils.getDataAccessObject(table.getTableInputGenerator().getDatabaseConnectionGenerator().getConnection());
+		}
+		catch (SQLException e) {
+			throw new InputGenerationException("Could not identify the database system of table " + table.getTableName(), e);
+		}
+	}
+
+	private long getInputSize(TableInfo table) throws InputGenerationException {
+		// Files only grow by appending rows, so their length tells whether rows have been appended; database tables are counted by the database
+		RelationalInputGenerator inputGenerator = table.selectInputGenerator();
+		if ((inputGenerator instanceof FileInputGenerator) && (((FileInputGenerator) inputGenerator).getInputFile() != null))
+			return ((FileInputGenerator) inputGenerator).getInputFile().length();
+
+		TableInputGenerator tableInputGenerator = table.getTableInputGenerator();
+		if (tableInputGenerator == null)
+			return -1;
+		DataAccessObject dao = this.getDataAccessObject(table);
+		if (dao == null)
+			return -1;
+
+		Statement statement = null;
+		ResultSet resultSet = null;
+		try {
+			statement = tableInputGenerator.getDatabaseConnectionGenerator().getConnection().createStatement();
+			resultSet = statement.executeQuery(dao.buildCountRowsQuery(table.getTableName()));
+			if (!resultSet.next())
+				return -1;
+			long numRows = resultSet.getLong(1);
+			return (this.inputRowLimit > 0) ? Math.min(numRows, this.inputRowLimit) : numRows;
+		}
+		catch (SQLException e) {
+			throw new InputGenerationException("Could not count the rows of table " + table.getTableName(), e);
+		}
+		finally {
+			DatabaseUtils.close(resultSet);
+			DatabaseUtils.close(statement);
+		}
+	}
+
+	private File getStateFile() {
+		return new File(this.tempFolder, "binder.state");
+	}
+
+	private void saveState(Map<AttributeCombination, List<AttributeCombination>> naryDep2ref) throws IOException {
+		int numColumns = getTotalColumnCount(tables);
+		long[][] bucketSizes = new long[numColumns][this.numBucketsPerColumn];
+		for (int column = 0; column < numColumns; column++)
+			for (int bucketNumber = 0; bucketNumber < this.numBucketsPerColumn; bucketNumber++)
+				bucketSizes[column][bucketNumber] = bucketMetadata.getBucketSizes().getBucketSize(column, bucketNumber);
+		
+		int[][] dep2ref = new int[numColumns][];
+		for (int dep : this.dep2ref.keySet()) {
+			IntArrayList refs = new IntArrayList();
+			ElementIterator refIterator = this.dep2ref.get(dep).elementIterator();
+			while (refIterator.hasNext())
+				refs.add(refIterator.next());
+			dep2ref[dep] = refs.toIntArray();
+		}
+		
+		Map<AttributeCombination, List<AttributeCombination>> naryResults = null;
+		if (naryDep2ref != null) {
+			naryResults = new HashMap<>(naryDep2ref.size());
+			for (Map.Entry<AttributeCombination, List<AttributeCombination>> entry : naryDep2ref.entrySet())
+				naryResults.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+		}
+		
+		BinderState state = new BinderState(getTotalTableNames(tables), getTotalColumnNames(tables), this.numBucketsPerColumn, this.partitioningFunction, this.filterKeyForeignkeys, this.detectNary, this.maxNaryLevel, this.inputRowLimit, this.rowCounts, this.inputSizes, bucketSizes, bucketMetadata.getNullValueColumns(), dep2ref, naryResults);
+		state.save(this.getStateFile());
+	}
+
+	private void deleteNaryBuckets() {
+		File[] attributeFolders = this.tempFolder.listFiles();
+		if (attributeFolders == null)
+			return;
+		for (File attributeFolder : attributeFolders)
+			if (attributeFolder.isDirectory() && (Integer.parseInt(attributeFolder.getName()) >= getTotalColumnCount(tables)))
+				FileUtils.deleteDirectory(attributeFolder);
+	}
+
 	private List<String> getTotalColumnNames(final List<TableInfo> tables) {
 		return tables.stream().map(TableInfo::getColumnNames).flatMap(List::stream).collect(Collectors.toList());
 	}
@@ -191,127 +378,222 @@ class Binder {
 		return tables.stream().mapToInt(TableInfo::getColumnCount).sum();
 	}
 
-	private BucketMetadata bucketize() throws InputGenerationException, InputIterationException, IOException, AlgorithmConfigurationException {
+	private BucketMetadata bucketize() throws AlgorithmExecutionException, IOException {
 		System.out.print("Bucketizing ... ");
 
-		// externalized methods from initialize()
-		int[] spillCounts = new int[getTotalColumnCount(tables)];
-		for (int columnNumber = 0; columnNumber < getTotalColumnCount(tables); columnNumber++)
-			spillCounts[columnNumber] = 0;
-
 		// Initialize the counters that count the empty buckets per bucket level to identify sparse buckets and promising bucket levels for comparison
 		int[] emptyBuckets = new int[this.numBucketsPerColumn];
 
 		BitSet nullValueColumns = new BitSet(getTotalColumnCount(tables));
 
-		// Initialize aggregators to measure the size of the columns
-		LongArrayList columnSizes = new LongArrayList(getTotalColumnCount(tables));
-		for (int column = 0; column < getTotalColumnCount(tables); column++)
-			columnSizes.add(0);
+		// Initialize aggregators to measure the size of the buckets; every table only updates the sizes of its own columns, so the tables can be bucketized concurrently
+		BucketSizes bucketSizes = new BucketSizes(getTotalColumnCount(tables), this.numBucketsPerColumn);
+
+		// An incremental run extends the buckets of the previous run by the rows that have been appended since then; these are the rows behind the ones that the previous run has read, if the tables return their rows in a stable order
+		// A table whose size has not changed since then has no such rows, so it is not read at all
+		long[] skipRows = new long[tables.size()];
+		this.inputSizes = new long[tables.size()];
+		boolean[] unchangedTables = new boolean[tables.size()];
+		for (int tableIndex = 0; tableIndex < tables.size(); tableIndex++)
+			this.inputSizes[tableIndex] = this.getInputSize(tables.get(tableIndex));
+		if (this.previousState != null) {
+			skipRows = this.previousState.getRowCounts();
+			for (int tableIndex = 0; tableIndex < tables.size(); tableIndex++)
+				unchangedTables[tableIndex] = (this.inputSizes[tableIndex] >= 0) && (this.inputSizes[tableIndex] == this.previousState.getInputSizes()[tableIndex]);
+			nullValueColumns.or(this.previousState.getNullValueColumns());
+			for (int column = 0; column < getTotalColumnCount(tables); column++)
+				for (int bucketNumber = 0; bucketNumber < this.numBucketsPerColumn; bucketNumber++)
+					bucketSizes.add(column, bucketNumber, this.previousState.getBucketSizes()[column][bucketNumber]);
+		}
 
+		// Each table is bucketized by one worker into its own buckets, which are spilled independently of the other tables, but share one memory budget
+		List<TableBucketMetadata> tableBucketMetadata = new ArrayList<>(tables.size());
+		if (this.parallelism <= 1 || tables.size() <= 1) {
+			int startTableColumnIndex = 0;
+			for (int tableIndex = 0; tableIndex < tables.size(); tableIndex++) {
+				tableBucketMetadata.add(unchangedTables[tableIndex] ? this.unchangedTableMetadata(skipRows[tableIndex]) : this.bucketize(tables.get(tableIndex), startTableColumnIndex, bucketSizes, skipRows[tableIndex]));
+				startTableColumnIndex += tables.get(tableIndex).getColumnCount();
+			}
+		}
+		else {
+			ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.parallelism, tables.size()));
+			try {
+				List<Future<TableBucketMetadata>> futures = new ArrayList<>(tables.size());
+				int startTableColumnIndex = 0;
+				for (int tableIndex = 0; tableIndex < tables.size(); tableIndex++) {
+					final TableInfo table = tables.get(tableIndex);
+					final int tableColumnIndex = startTableColumnIndex;
+					final long tableSkipRows = skipRows[tableIndex];
+					if (unchangedTables[tableIndex])
+						futures.add(CompletableFuture.completedFuture(this.unchangedTableMetadata(tableSkipRows)));
+					else
+						futures.add(executor.submit(() -> this.bucketize(table, tableColumnIndex, bucketSizes, tableSkipRows)));
+					startTableColumnIndex += table.getColumnCount();
+				}
+				for (Future<TableBucketMetadata> future : futures)
+					tableBucketMetadata.add(this.await(future));
+			}
+			finally {
+				executor.shutdownNow();
+			}
+		}
+
+		// Merge the statistics of all tables
+		this.rowCounts = new long[tables.size()];
+		this.changedBuckets = new BitSet(getTotalColumnCount(tables) * this.numBucketsPerColumn);
 		int startTableColumnIndex = 0;
-		for (TableInfo table : tables) {
-			// Initialize buckets
-			List<List<Set<String>>> buckets = new ArrayList<>(table.getColumnCount());
-			for (int columnNumber = 0; columnNumber < table.getColumnCount(); columnNumber++) {
-				ArrayList<Set<String>> attributeBuckets = new ArrayList<>();
+		for (int tableIndex = 0; tableIndex < tables.size(); tableIndex++) {
+			TableBucketMetadata metadata = tableBucketMetadata.get(tableIndex);
+			BitSet tableNullValueColumns = metadata.getNullValueColumns();
+			for (int column = tableNullValueColumns.nextSetBit(0); column >= 0; column = tableNullValueColumns.nextSetBit(column + 1))
+				nullValueColumns.set(startTableColumnIndex + column);
+			for (int bucketNumber = 0; bucketNumber < this.numBucketsPerColumn; bucketNumber++)
+				emptyBuckets[bucketNumber] = emptyBuckets[bucketNumber] + metadata.getEmptyBuckets()[bucketNumber];
+			BitSet tableChangedBuckets = metadata.getChangedBuckets();
+			for (int bucket = tableChangedBuckets.nextSetBit(0); bucket >= 0; bucket = tableChangedBuckets.nextSetBit(bucket + 1))
+				this.changedBuckets.set(startTableColumnIndex * this.numBucketsPerColumn + bucket);
+			this.rowCounts[tableIndex] = metadata.getNumRows();
+			if (metadata.getNumRows() < skipRows[tableIndex])
+				throw new AlgorithmExecutionException("Table " + tables.get(tableIndex).getTableName() + " has fewer rows than in the previous incremental run; the next run recomputes all buckets");
+			startTableColumnIndex += tables.get(tableIndex).getColumnCount();
+		}
+
+		// The tables only know which buckets are empty after this run, if the buckets of the previous run are extended
+		if (this.previousState != null) {
+			emptyBuckets = new int[this.numBucketsPerColumn];
+			for (int column = 0; column < getTotalColumnCount(tables); column++)
 				for (int bucketNumber = 0; bucketNumber < this.numBucketsPerColumn; bucketNumber++)
-					attributeBuckets.add(new HashSet<>());
-				buckets.add(attributeBuckets);
-			}
+					if (bucketSizes.getBucketSize(column, bucketNumber) == 0)
+						emptyBuckets[bucketNumber] = emptyBuckets[bucketNumber] + 1;
+		}
 
-			// Initialize value counters
-			int numValuesSinceLastMemoryCheck = 0;
-			int[] numValuesInColumn = new int[table.getColumnCount()];
-			for (int columnNumber = 0; columnNumber < table.getColumnCount(); columnNumber++)
-				numValuesInColumn[columnNumber] = 0;
-			long availableMemory = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getMax();
-			long maxMemoryUsage = (long) (availableMemory * (this.maxMemoryUsagePercentage / 100.0f));
+		// Record how evenly the values are distributed over the bucket levels; skewed levels are re-partitioned when they are refined
+		long[] levelSizes = new long[this.numBucketsPerColumn];
+		for (int column = 0; column < getTotalColumnCount(tables); column++)
+			for (int bucketNumber = 0; bucketNumber < this.numBucketsPerColumn; bucketNumber++)
+				levelSizes[bucketNumber] = levelSizes[bucketNumber] + bucketSizes.getBucketSize(column, bucketNumber);
+		this.statistics.setBucketLevelSkew(this.calculateSkew(levelSizes));
 
-			// Load data
-			InputIterator inputIterator = null;
-			try {
-				inputIterator = new FileInputIterator(table.selectInputGenerator(), this.inputRowLimit);
+		// Calculate the bucket comparison order from the emptyBuckets to minimize the influence of sparse-attribute-issue
 
-				while (inputIterator.next()) {
-					for (int columnNumber = 0; columnNumber < table.getColumnCount(); columnNumber++) {
-						String value = inputIterator.getValue(columnNumber);
+		int[] bucketComparisonOrder = this.calculateBucketComparisonOrder(emptyBuckets);
+		return new BucketMetadata(bucketComparisonOrder, nullValueColumns, bucketSizes);
+	}
 
-						//value = new StringBuilder(value).reverse().toString(); // This is an optimization if urls with long, common prefixes are used to later improve the comparison values
+	private TableBucketMetadata unchangedTableMetadata(long numRows) {
+		// The empty buckets are recounted from the bucket sizes and the null value columns are taken from the previous run
+		return new TableBucketMetadata(new int[this.numBucketsPerColumn], new BitSet(), new BitSet(), numRows);
+	}
 
-						if (value == null) {
-							nullValueColumns.set(startTableColumnIndex + columnNumber);
-							continue;
-						}
+	private TableBucketMetadata bucketize(TableInfo table, int startTableColumnIndex, BucketSizes bucketSizes, long skipRows) throws InputGenerationException, InputIterationException, IOException, AlgorithmConfigurationException {
+		int[] emptyBuckets = new int[this.numBucketsPerColumn];
+		BitSet nullValueColumns = new BitSet(table.getColumnCount());
+		BitSet changedBuckets = new BitSet(table.getColumnCount() * this.numBucketsPerColumn);
+		long numRows = 0;
+
+		// Initialize buckets
+		List<List<Set<String>>> buckets = new ArrayList<>(table.getColumnCount());
+		for (int columnNumber = 0; columnNumber < table.getColumnCount(); columnNumber++) {
+			ArrayList<Set<String>> attributeBuckets = new ArrayList<>();
+			for (int bucketNumber = 0; bucketNumber < this.numBucketsPerColumn; bucketNumber++)
+				attributeBuckets.add(new HashSet<>());
+			buckets.add(attributeBuckets);
+		}
 
-						// Bucketize
-						int bucketNumber = this.calculateBucketFor(value);
-						if (buckets.get(columnNumber).get(bucketNumber).add(value)) {
-							numValuesInColumn[columnNumber] = numValuesInColumn[columnNumber] + 1;
-							numValuesSinceLastMemoryCheck++;
-						}
+		// Initialize value counters and the heap sizes of the buffered buckets
+		int numValuesSinceLastMemoryCheck = 0;
+		long[][] bufferedBucketSizes = new long[table.getColumnCount()][this.numBucketsPerColumn];
 
-						// Occasionally check the memory consumption
-						if (numValuesSinceLastMemoryCheck >= this.memoryCheckFrequency) {
-							numValuesSinceLastMemoryCheck = 0;
+		// Load data
+		InputIterator inputIterator = null;
+		try {
+			inputIterator = this.openInputIterator(table);
 
-							// Spill to disk if necessary
-							while (ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() > maxMemoryUsage) {
-								// Identify largest buffer
-								int largestColumnNumber = 0;
-								int largestColumnSize = numValuesInColumn[largestColumnNumber];
-								for (int otherColumnNumber = 1; otherColumnNumber < table.getColumnCount(); otherColumnNumber++) {
-									if (largestColumnSize < numValuesInColumn[otherColumnNumber]) {
-										largestColumnNumber = otherColumnNumber;
-										largestColumnSize = numValuesInColumn[otherColumnNumber];
-									}
-								}
-
-								// Write buckets from largest column to disk and empty written buckets
-								int globalLargestColumnIndex = startTableColumnIndex + largestColumnNumber;
-								for (int largeBucketNumber = 0; largeBucketNumber < this.numBucketsPerColumn; largeBucketNumber++) {
-									columnSizes = this.writeBucket(globalLargestColumnIndex, largeBucketNumber, -1, buckets.get(largestColumnNumber).get(largeBucketNumber), columnSizes);
-									buckets.get(largestColumnNumber).set(largeBucketNumber, new HashSet<>());
-								}
-								numValuesInColumn[largestColumnNumber] = 0;
-
-								spillCounts[globalLargestColumnIndex] = spillCounts[globalLargestColumnIndex] + 1;
-
-								System.gc();
-							}
-						}
+			while (inputIterator.next()) {
+				// Skip the rows that have already been bucketized by the previous run
+				numRows++;
+				if (numRows <= skipRows)
+					continue;
+
+				for (int columnNumber = 0; columnNumber < table.getColumnCount(); columnNumber++) {
+					String value = inputIterator.getValue(columnNumber);
+
+					//value = new StringBuilder(value).reverse().toString(); // This is an optimization if urls with long, common prefixes are used to later improve the comparison values
+
+					if (value == null) {
+						nullValueColumns.set(columnNumber);
+						continue;
 					}
-				}
-			} finally {
-				FileUtils.close(inputIterator);
-			}
 
-			// Write buckets to disk
-			for (int columnNumber = 0; columnNumber < table.getColumnCount(); columnNumber++) {
-				int globalColumnIndex = startTableColumnIndex + columnNumber;
-				if (spillCounts[globalColumnIndex] == 0) { // if a column was spilled to disk, we do not count empty buckets for this column, because the partitioning distributes the values evenly and hence all buckets should have been populated
-					for (int bucketNumber = 0; bucketNumber < this.numBucketsPerColumn; bucketNumber++) {
-						Set<String> bucket = buckets.get(columnNumber).get(bucketNumber);
-						if (bucket.size() != 0)
-							columnSizes = this.writeBucket(globalColumnIndex, bucketNumber, -1, bucket, columnSizes);
-						else
-							emptyBuckets[bucketNumber] = emptyBuckets[bucketNumber] + 1;
+					// Bucketize
+					int bucketNumber = this.calculateBucketFor(value);
+					if (buckets.get(columnNumber).get(bucketNumber).add(value)) {
+						long valueSize = MemoryBudget.heapSize(value.length());
+						bufferedBucketSizes[columnNumber][bucketNumber] = bufferedBucketSizes[columnNumber][bucketNumber] + valueSize;
+						this.bucketMemory.allocate(valueSize);
+						changedBuckets.set(columnNumber * this.numBucketsPerColumn + bucketNumber);
+						numValuesSinceLastMemoryCheck++;
 					}
-				} else {
-					for (int bucketNumber = 0; bucketNumber < this.numBucketsPerColumn; bucketNumber++) {
-						Set<String> bucket = buckets.get(columnNumber).get(bucketNumber);
-						if (bucket.size() != 0)
-							columnSizes = this.writeBucket(globalColumnIndex, bucketNumber, -1, bucket, columnSizes);
+
+					// Occasionally check the memory consumption
+					if (numValuesSinceLastMemoryCheck >= this.memoryCheckFrequency) {
+						numValuesSinceLastMemoryCheck = 0;
+
+						// Spill the largest buckets to disk until the buffers fit into the budget again
+						while (this.bucketMemory.isExceeded()) {
+							int largestBucket = this.findLargestBucket(bufferedBucketSizes);
+
+							// Nothing left to spill for this table; the memory is held by other tables
+							if (largestBucket < 0)
+								break;
+
+							// Write the largest bucket to disk and empty it
+							int largestColumnNumber = largestBucket / this.numBucketsPerColumn;
+							int largeBucketNumber = largestBucket % this.numBucketsPerColumn;
+							this.writeBucket(startTableColumnIndex + largestColumnNumber, largeBucketNumber, buckets.get(largestColumnNumber).get(largeBucketNumber), bufferedBucketSizes[largestColumnNumber][largeBucketNumber], bucketSizes);
+							buckets.get(largestColumnNumber).set(largeBucketNumber, new HashSet<>());
+							bufferedBucketSizes[largestColumnNumber][largeBucketNumber] = 0;
+						}
 					}
 				}
 			}
-			startTableColumnIndex += table.getColumnCount();
+			this.closeInputIterator(inputIterator);
+			inputIterator = null;
+		} finally {
+			FileUtils.close(inputIterator);
 		}
-		
-		// Calculate the bucket comparison order from the emptyBuckets to minimize the influence of sparse-attribute-issue
 
-		int[] bucketComparisonOrder = this.calculateBucketComparisonOrder(emptyBuckets);
-		return new BucketMetadata(bucketComparisonOrder, nullValueColumns, columnSizes);
+		// Write buckets to disk
+		for (int columnNumber = 0; columnNumber < table.getColumnCount(); columnNumber++) {
+			int globalColumnIndex = startTableColumnIndex + columnNumber;
+			for (int bucketNumber = 0; bucketNumber < this.numBucketsPerColumn; bucketNumber++) {
+				Set<String> bucket = buckets.get(columnNumber).get(bucketNumber);
+				if (bucket.size() != 0)
+					this.writeBucket(globalColumnIndex, bucketNumber, bucket, bufferedBucketSizes[columnNumber][bucketNumber], bucketSizes);
+				
+				// A spilled bucket may be empty in memory although it holds values on disk; only buckets that never received a value are empty
+				if (!changedBuckets.get(columnNumber * this.numBucketsPerColumn + bucketNumber))
+					emptyBuckets[bucketNumber] = emptyBuckets[bucketNumber] + 1;
+			}
+		}
+		return new TableBucketMetadata(emptyBuckets, nullValueColumns, changedBuckets, numRows);
+	}
+
+	private <T> T await(Future<T> future) throws AlgorithmExecutionException, IOException {
+		try {
+			return future.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AlgorithmExecutionException("Interrupted while waiting for a worker", e);
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof AlgorithmExecutionException)
+				throw (AlgorithmExecutionException) e.getCause();
+			if (e.getCause() instanceof IOException)
+				throw (IOException) e.getCause();
+			throw new AlgorithmExecutionException("A worker failed", e.getCause());
+		}
 	}
 
 	private void checkViaHashing() throws IOException {
@@ -573,32 +855,8 @@ class Binder {
 		// Phase 2.1: Pruning (Dismiss first candidates early) //
 		/////////////////////////////////////////////////////////
 		
-		// Setup the initial INDs using type information
-		IntArrayList strings = new IntArrayList(getTotalColumnCount(tables) / 2);
-		IntArrayList numerics = new IntArrayList(getTotalColumnCount(tables) / 2);
-		IntArrayList temporals = new IntArrayList();
-		IntArrayList unknown = new IntArrayList();
-		int globalColumnIndex = 0;
-		for (TableInfo table: tables) {
-			for (String columnType: table.getColumnTypes()) {
-				if (DatabaseUtils.isString(columnType))
-					strings.add(globalColumnIndex);
-				else if (DatabaseUtils.isNumeric(columnType))
-					numerics.add(globalColumnIndex);
-				else if (DatabaseUtils.isTemporal(columnType))
-					temporals.add(globalColumnIndex);
-				else
-					unknown.add(globalColumnIndex);
-				globalColumnIndex++;
-			}
-		}
-		
-		// Empty attributes can directly be placed in the output as they are contained in everything else; no empty attribute needs to be checked
-		FetchedCandidates fetchedCandidates = new FetchedCandidates(new Int2ObjectOpenHashMap<>(getTotalColumnCount(tables)), new Int2ObjectOpenHashMap<>(getTotalColumnCount(tables)));
-		fetchedCandidates = this.fetchCandidates(strings, fetchedCandidates);
-		fetchedCandidates = this.fetchCandidates(numerics, fetchedCandidates);
-		fetchedCandidates = this.fetchCandidates(temporals, fetchedCandidates);
-		fetchedCandidates = this.fetchCandidates(unknown, fetchedCandidates);
+		FetchedCandidates fetchedCandidates = this.fetchCandidatesByType();
+		this.statistics.setUnaryCandidates(this.countCandidatesFromLists(fetchedCandidates.getDep2refToCheck()));
 
 		///////////////////////////////////////////////////////////////
 		// Phase 2.2: Validation (Successively check all candidates) //
@@ -612,6 +870,10 @@ class Binder {
 		
 		// Iterate the buckets for all remaining INDs until the end is reached or no more INDs exist
 		levelloop : for (int bucketNumber : bucketMetadata.getBucketComparisonOrder()) { // TODO: Externalize this code into a method and use return instead of break
+			// Skip levels that cannot change the result of an incremental run
+			if (this.isUnchangedLevel(bucketNumber, this.getDepsWithRefsFromLists(fetchedCandidates.getDep2refToCheck())))
+				continue;
+			
 			// Refine the current bucket level if it does not fit into memory at once
 			int[] subBucketNumbers = this.refineBucketLevel(activeAttributes, 0, bucketNumber);
 			for (int subBucketNumber : subBucketNumbers) {
@@ -621,6 +883,8 @@ class Binder {
 				if (activeAttributes.isEmpty())
 					break levelloop;
 				
+				long numCandidates = this.countCandidatesFromLists(fetchedCandidates.getDep2refToCheck());
+				
 				// Load next bucket level as two stage index
 				Int2ObjectOpenHashMap<List<String>> attribute2Bucket = new Int2ObjectOpenHashMap<>(getTotalColumnCount(tables));
 				Map<String, IntArrayList> invertedIndex = new HashMap<>();
@@ -655,6 +919,8 @@ class Binder {
 						invertedIndex.remove(value);
 					}
 				}
+				
+				this.statistics.addPrunedCandidates(bucketNumber, numCandidates - this.countCandidatesFromLists(fetchedCandidates.getDep2refToCheck()));
 			}
 		}
 		
@@ -666,6 +932,318 @@ class Binder {
 		}
 		this.dep2ref = fetchedCandidates.getDep2refToCheck();
 		this.dep2ref.putAll(fetchedCandidates.getDep2refFinal());
+		this.addUnchangedInds();
+	}
+
+	private void checkViaParallelTwoStageIndexAndBitSets() throws AlgorithmExecutionException, IOException {
+		System.out.println("Checking ...");
+		
+		/////////////////////////////////////////////////////////
+		// Phase 2.1: Pruning (Dismiss first candidates early) //
+		/////////////////////////////////////////////////////////
+		
+		FetchedCandidates fetchedCandidates = this.fetchCandidatesByType();
+		
+		// The candidates are pruned by several threads at once, hence they are held in atomic bit sets
+		Int2ObjectOpenHashMap<AtomicBitSet> attribute2Refs = new Int2ObjectOpenHashMap<>(getTotalColumnCount(tables));
+		for (int dep : fetchedCandidates.getDep2refToCheck().keySet()) {
+			AtomicBitSet refs = new AtomicBitSet(getTotalColumnCount(tables));
+			ElementIterator refIterator = fetchedCandidates.getDep2refToCheck().get(dep).elementIterator();
+			while (refIterator.hasNext())
+				refs.set(refIterator.next());
+			attribute2Refs.put(dep, refs);
+		}
+		this.statistics.setUnaryCandidates(this.countCandidatesFromAtomicBitSets(attribute2Refs));
+		
+		///////////////////////////////////////////////////////////////
+		// Phase 2.2: Validation (Successively check all candidates) //
+		///////////////////////////////////////////////////////////////
+		
+		// The initially active attributes are all non-empty attributes
+		BitSet activeAttributes = new BitSet(getTotalColumnCount(tables));
+		for (int column = 0; column < getTotalColumnCount(tables); column++)
+			if (bucketMetadata.getColumnSizes().getLong(column) > 0)
+				activeAttributes.set(column);
+		
+		long maxMemoryUsage = this.bucketMemory.getLimit();
+		
+		ExecutorService executor = Executors.newFixedThreadPool(this.parallelism);
+		ExecutorService prefetcher = Executors.newSingleThreadExecutor();
+		try {
+			int[] bucketComparisonOrder = bucketMetadata.getBucketComparisonOrder();
+			Future<Int2ObjectOpenHashMap<List<String>>> nextLevel = null;
+			levelloop : for (int levelIndex = 0; levelIndex < bucketComparisonOrder.length; levelIndex++) {
+				int bucketNumber = bucketComparisonOrder[levelIndex];
+				
+				// Skip levels that cannot change the result of an incremental run; a prefetched copy of a skipped level is of no use
+				if (this.isUnchangedLevel(bucketNumber, this.getDepsWithRefsFromAtomicBitSets(attribute2Refs))) {
+					if (nextLevel != null)
+						nextLevel.cancel(true);
+					nextLevel = null;
+					continue;
+				}
+				
+				// Refine the current bucket level if it does not fit into memory at once
+				int[] subBucketNumbers = this.refineBucketLevel(activeAttributes, 0, bucketNumber);
+				
+				// A refined level is read sub bucket by sub bucket, so a prefetched copy of the whole level is of no use
+				Future<Int2ObjectOpenHashMap<List<String>>> prefetchedLevel = nextLevel;
+				nextLevel = null;
+				if ((prefetchedLevel != null) && (subBucketNumbers.length > 1)) {
+					prefetchedLevel.cancel(true);
+					prefetchedLevel = null;
+				}
+				
+				for (int subBucketNumberIndex = 0; subBucketNumberIndex < subBucketNumbers.length; subBucketNumberIndex++) {
+					int subBucketNumber = subBucketNumbers[subBucketNumberIndex];
+					
+					// Identify all currently active attributes
+					activeAttributes = this.getActiveAttributesFromAtomicBitSets(activeAttributes, attribute2Refs);
+					if (activeAttributes.isEmpty())
+						break levelloop;
+					
+					long numCandidates = this.countCandidatesFromAtomicBitSets(attribute2Refs);
+					
+					// Load next bucket level, unless it has been prefetched; the prefetched level may contain attributes that are no longer active
+					Int2ObjectOpenHashMap<List<String>> attribute2Bucket;
+					if (prefetchedLevel != null)
+						attribute2Bucket = this.await(prefetchedLevel);
+					else
+						attribute2Bucket = this.readBucketLevel(activeAttributes, bucketNumber, subBucketNumber);
+					
+					// Prefetch the following level while this one is checked, if both fit into memory at once; active attributes only ever become inactive, so the currently active attributes suffice
+					boolean lastSubBucket = subBucketNumberIndex == subBucketNumbers.length - 1;
+					if (lastSubBucket && (levelIndex + 1 < bucketComparisonOrder.length) && (this.calculateLevelSize(activeAttributes, bucketNumber) + this.calculateLevelSize(activeAttributes, bucketComparisonOrder[levelIndex + 1]) <= maxMemoryUsage)) {
+						BitSet prefetchAttributes = (BitSet) activeAttributes.clone();
+						int nextBucketNumber = bucketComparisonOrder[levelIndex + 1];
+						nextLevel = prefetcher.submit(() -> this.readBucketLevelFromDisk(prefetchAttributes, nextBucketNumber));
+					}
+					
+					// Check INDs: every thread builds the inverted index for its share of the values and prunes with it
+					BitSet checkedAttributes = activeAttributes;
+					List<Future<Void>> shards = new ArrayList<>(this.parallelism);
+					for (int shard = 0; shard < this.parallelism; shard++) {
+						int shardNumber = shard;
+						shards.add(executor.submit(() -> this.pruneShard(attribute2Bucket, checkedAttributes, attribute2Refs, shardNumber)));
+					}
+					for (Future<Void> shard : shards)
+						this.await(shard);
+					
+					this.statistics.addPrunedCandidates(bucketNumber, numCandidates - this.countCandidatesFromAtomicBitSets(attribute2Refs));
+				}
+			}
+		}
+		finally {
+			executor.shutdownNow();
+			prefetcher.shutdownNow();
+		}
+		
+		// Format the results
+		this.dep2ref = new Int2ObjectOpenHashMap<>(getTotalColumnCount(tables));
+		for (int dep : attribute2Refs.keySet()) {
+			AtomicBitSet refs = attribute2Refs.get(dep);
+			if (refs.isEmpty())
+				continue;
+			
+			IntSingleLinkedList refList = new IntSingleLinkedList();
+			for (int ref = refs.nextSetBit(0); ref >= 0; ref = refs.nextSetBit(ref + 1))
+				refList.add(ref);
+			this.dep2ref.put(dep, refList);
+		}
+		this.dep2ref.putAll(fetchedCandidates.getDep2refFinal());
+		this.addUnchangedInds();
+	}
+	
+	private Void pruneShard(Int2ObjectOpenHashMap<List<String>> attribute2Bucket, BitSet activeAttributes, Int2ObjectOpenHashMap<AtomicBitSet> attribute2Refs, int shard) {
+		// Build the inverted index for the values of this shard; the groups are ascending, because the attributes are visited in ascending order
+		Map<String, IntArrayList> invertedIndex = new HashMap<>();
+		for (int attribute = activeAttributes.nextSetBit(0); attribute >= 0; attribute = activeAttributes.nextSetBit(attribute + 1)) {
+			for (String value : attribute2Bucket.get(attribute)) {
+				if (this.calculateShardFor(value) != shard)
+					continue;
+				
+				IntArrayList sameValueGroup = invertedIndex.computeIfAbsent(value, k -> new IntArrayList(2));
+				if (sameValueGroup.isEmpty() || (sameValueGroup.getInt(sameValueGroup.size() - 1) != attribute))
+					sameValueGroup.add(attribute);
+			}
+		}
+		
+		// Intersect the groups of each attribute locally and prune the shared candidates only once per attribute
+		Int2ObjectOpenHashMap<IntArrayList> attribute2Group = new Int2ObjectOpenHashMap<>();
+		for (IntArrayList sameValueGroup : invertedIndex.values()) {
+			for (int attribute : sameValueGroup) {
+				IntArrayList group = attribute2Group.get(attribute);
+				if (group == null)
+					attribute2Group.put(attribute, sameValueGroup);
+				else if (!group.isEmpty())
+					attribute2Group.put(attribute, CollectionUtils.intersectSorted(group, sameValueGroup));
+			}
+		}
+		for (Int2ObjectMap.Entry<IntArrayList> entry : attribute2Group.int2ObjectEntrySet()) {
+			AtomicBitSet refs = attribute2Refs.get(entry.getIntKey());
+			if (refs != null)
+				refs.retainAll(entry.getValue());
+		}
+		return null;
+	}
+	
+	private int calculateShardFor(String value) {
+		// The bucket number is derived from the same hash code, hence it is mixed to spread the values of one bucket over all shards
+		return (HashCommon.mix(value.hashCode()) & Integer.MAX_VALUE) % this.parallelism;
+	}
+	
+	private IntArrayList getDepsWithRefsFromAtomicBitSets(Int2ObjectOpenHashMap<AtomicBitSet> attribute2Refs) {
+		IntArrayList deps = new IntArrayList(attribute2Refs.size());
+		for (int dep : attribute2Refs.keySet())
+			if (!attribute2Refs.get(dep).isEmpty())
+				deps.add(dep);
+		return deps;
+	}
+	
+	private long countCandidatesFromAtomicBitSets(Int2ObjectOpenHashMap<AtomicBitSet> attribute2Refs) {
+		long numCandidates = 0;
+		for (AtomicBitSet refs : attribute2Refs.values())
+			for (int ref = refs.nextSetBit(0); ref >= 0; ref = refs.nextSetBit(ref + 1))
+				numCandidates++;
+		return numCandidates;
+	}
+	
+	private BitSet getActiveAttributesFromAtomicBitSets(BitSet previouslyActiveAttributes, Int2ObjectOpenHashMap<AtomicBitSet> attribute2Refs) {
+		BitSet activeAttributes = new BitSet(getTotalColumnCount(tables));
+		for (int attribute = previouslyActiveAttributes.nextSetBit(0); attribute >= 0; attribute = previouslyActiveAttributes.nextSetBit(attribute + 1)) {
+			AtomicBitSet refs = attribute2Refs.get(attribute);
+			if (refs == null)
+				continue;
+			
+			// All attributes referenced by this attribute are active
+			for (int ref = refs.nextSetBit(0); ref >= 0; ref = refs.nextSetBit(ref + 1))
+				activeAttributes.set(ref);
+			// This attribute is active if it references any other attribute
+			if (!refs.isEmpty())
+				activeAttributes.set(attribute);
+		}
+		return activeAttributes;
+	}
+	
+	private long calculateLevelSize(BitSet attributes, int bucketNumber) {
+		long levelSize = 0;
+		for (int attribute = attributes.nextSetBit(0); attribute >= 0; attribute = attributes.nextSetBit(attribute + 1))
+			levelSize = levelSize + bucketMetadata.getBucketSizes().getBucketSize(attribute, bucketNumber);
+		return levelSize;
+	}
+	
+	private Int2ObjectOpenHashMap<List<String>> readBucketLevel(BitSet attributes, int bucketNumber, int subBucketNumber) throws IOException {
+		Int2ObjectOpenHashMap<List<String>> attribute2Bucket = new Int2ObjectOpenHashMap<>(attributes.cardinality());
+		for (int attribute = attributes.nextSetBit(0); attribute >= 0; attribute = attributes.nextSetBit(attribute + 1))
+			attribute2Bucket.put(attribute, this.readBucketAsList(attribute, bucketNumber, subBucketNumber));
+		return attribute2Bucket;
+	}
+	
+	private Int2ObjectOpenHashMap<List<String>> readBucketLevelFromDisk(BitSet attributes, int bucketNumber) throws IOException {
+		// Bypasses the sub bucket cache, which belongs to the level that is currently checked
+		Int2ObjectOpenHashMap<List<String>> attribute2Bucket = new Int2ObjectOpenHashMap<>(attributes.cardinality());
+		for (int attribute = attributes.nextSetBit(0); attribute >= 0; attribute = attributes.nextSetBit(attribute + 1)) {
+			List<String> bucket = new ArrayList<>();
+			this.readFromDisk(attribute, bucketNumber, -1, bucket);
+			attribute2Bucket.put(attribute, bucket);
+		}
+		return attribute2Bucket;
+	}
+	
+	private FetchedCandidates fetchCandidatesByType() {
+		// Setup the initial INDs using type information
+		IntArrayList strings = new IntArrayList(getTotalColumnCount(tables) / 2);
+		IntArrayList numerics = new IntArrayList(getTotalColumnCount(tables) / 2);
+		IntArrayList temporals = new IntArrayList();
+		IntArrayList unknown = new IntArrayList();
+		int globalColumnIndex = 0;
+		for (TableInfo table: tables) {
+			for (String columnType: table.getColumnTypes()) {
+				if (DatabaseUtils.isString(columnType))
+					strings.add(globalColumnIndex);
+				else if (DatabaseUtils.isNumeric(columnType))
+					numerics.add(globalColumnIndex);
+				else if (DatabaseUtils.isTemporal(columnType))
+					temporals.add(globalColumnIndex);
+				else
+					unknown.add(globalColumnIndex);
+				globalColumnIndex++;
+			}
+		}
+		
+		// Empty attributes can directly be placed in the output as they are contained in everything else; no empty attribute needs to be checked
+		FetchedCandidates fetchedCandidates = new FetchedCandidates(new Int2ObjectOpenHashMap<>(getTotalColumnCount(tables)), new Int2ObjectOpenHashMap<>(getTotalColumnCount(tables)));
+		fetchedCandidates = this.fetchCandidates(strings, fetchedCandidates);
+		fetchedCandidates = this.fetchCandidates(numerics, fetchedCandidates);
+		fetchedCandidates = this.fetchCandidates(temporals, fetchedCandidates);
+		fetchedCandidates = this.fetchCandidates(unknown, fetchedCandidates);
+		
+		// An incremental run only needs to check the candidates whose result may have changed since the previous run
+		if (this.previousState != null)
+			this.retainChangeableCandidates(fetchedCandidates);
+		return fetchedCandidates;
+	}
+	
+	private void retainChangeableCandidates(FetchedCandidates fetchedCandidates) {
+		// Attributes only grow, so an IND stays valid if its dependent attribute received no new values and a non-IND stays invalid if its referenced attribute received no new values
+		this.depsWithNewCandidates = new BitSet(getTotalColumnCount(tables));
+		this.dep2refUnchanged = new Int2ObjectOpenHashMap<>(getTotalColumnCount(tables));
+		for (int dep : new IntArrayList(fetchedCandidates.getDep2refToCheck().keySet())) {
+			IntSingleLinkedList refsToCheck = new IntSingleLinkedList();
+			IntSingleLinkedList unchangedRefs = new IntSingleLinkedList();
+			ElementIterator refIterator = fetchedCandidates.getDep2refToCheck().get(dep).elementIterator();
+			while (refIterator.hasNext()) {
+				int ref = refIterator.next();
+				boolean ind = this.previousState.isInd(dep, ref);
+				if (ind && !this.isChanged(dep)) {
+					unchangedRefs.add(ref);
+				}
+				else if (!ind && this.isChanged(ref)) {
+					refsToCheck.add(ref);
+					this.depsWithNewCandidates.set(dep);
+				}
+				else if (ind) {
+					refsToCheck.add(ref);
+				}
+			}
+			fetchedCandidates.setDep2refToCheck(dep, refsToCheck);
+			if (!unchangedRefs.isEmpty())
+				this.dep2refUnchanged.put(dep, unchangedRefs);
+		}
+	}
+	
+	private boolean isChanged(int column) {
+		int firstBucket = column * this.numBucketsPerColumn;
+		int nextChangedBucket = this.changedBuckets.nextSetBit(firstBucket);
+		return (nextChangedBucket >= 0) && (nextChangedBucket < firstBucket + this.numBucketsPerColumn);
+	}
+	
+	private boolean isChanged(int column, int bucketNumber) {
+		return this.changedBuckets.get(column * this.numBucketsPerColumn + bucketNumber);
+	}
+	
+	private boolean isUnchangedLevel(int bucketNumber, IntIterable deps) {
+		// A level can only invalidate the remaining INDs of the previous run if one of their dependent attributes received new values in it; new candidates need to see all levels
+		if (this.previousState == null)
+			return false;
+		IntIterator depIterator = deps.iterator();
+		while (depIterator.hasNext()) {
+			int dep = depIterator.nextInt();
+			if (this.depsWithNewCandidates.get(dep) || this.isChanged(dep, bucketNumber))
+				return false;
+		}
+		return true;
+	}
+	
+	private void addUnchangedInds() {
+		if (this.dep2refUnchanged == null)
+			return;
+		for (int dep : this.dep2refUnchanged.keySet()) {
+			if (this.dep2ref.containsKey(dep))
+				this.dep2ref.get(dep).addAll(this.dep2refUnchanged.get(dep));
+			else
+				this.dep2ref.put(dep, this.dep2refUnchanged.get(dep));
+		}
 	}
 
 	private FetchedCandidates fetchCandidates(IntArrayList columns, FetchedCandidates fetchedCandidates) {
@@ -723,6 +1301,26 @@ class Binder {
 		return activeAttributes;
 	}
 
+	private IntArrayList getDepsWithRefsFromLists(Int2ObjectOpenHashMap<IntSingleLinkedList> attribute2Refs) {
+		IntArrayList deps = new IntArrayList(attribute2Refs.size());
+		for (int dep : attribute2Refs.keySet())
+			if (!attribute2Refs.get(dep).isEmpty())
+				deps.add(dep);
+		return deps;
+	}
+	
+	private long countCandidatesFromLists(Int2ObjectOpenHashMap<IntSingleLinkedList> attribute2Refs) {
+		long numCandidates = 0;
+		for (IntSingleLinkedList refs : attribute2Refs.values()) {
+			ElementIterator refIterator = refs.elementIterator();
+			while (refIterator.hasNext()) {
+				refIterator.next();
+				numCandidates++;
+			}
+		}
+		return numCandidates;
+	}
+	
 	private BitSet getActiveAttributesFromLists(BitSet previouslyActiveAttributes, Int2ObjectOpenHashMap<IntSingleLinkedList> attribute2Refs) {
 		BitSet activeAttributes = new BitSet(getTotalColumnCount(tables));
 		for (int attribute = previouslyActiveAttributes.nextSetBit(0); attribute >= 0; attribute = previouslyActiveAttributes.nextSetBit(attribute + 1)) {
@@ -736,11 +1334,31 @@ class Binder {
 	}
 	
 	private int calculateBucketFor(String value) {
-		return Math.abs(value.hashCode() % this.numBucketsPerColumn); // range partitioning
+		return this.calculateBucketFor(this.partitioningFunction.hash(value));
 	}
 
-	private int calculateBucketFor(String value, int bucketNumber, int numSubBuckets) {
-		return ((Math.abs(value.hashCode() % (this.numBucketsPerColumn * numSubBuckets)) - bucketNumber) / this.numBucketsPerColumn); // range partitioning
+	private int calculateBucketFor(int hash) {
+		return Math.abs(hash % this.numBucketsPerColumn); // range partitioning
+	}
+
+	private int calculateBucketFor(int hash, int bucketNumber, int numSubBuckets) {
+		return ((Math.abs(hash % (this.numBucketsPerColumn * numSubBuckets)) - bucketNumber) / this.numBucketsPerColumn); // range partitioning
+	}
+
+	private int calculateSubBucketFor(String value, int seed, int numSubBuckets) {
+		return Math.abs(this.partitioningFunction.hash(value, seed) % numSubBuckets); // re-partitioning with an independent hash
+	}
+
+	private double calculateSkew(long[] sizes) {
+		long totalSize = 0;
+		long maxSize = 0;
+		for (long size : sizes) {
+			totalSize = totalSize + size;
+			maxSize = Math.max(maxSize, size);
+		}
+		if (totalSize == 0)
+			return 1.0;
+		return maxSize / ((double) totalSize / sizes.length);
 	}
 	
 	private int[] calculateBucketComparisonOrder(int[] emptyBuckets) {
@@ -755,36 +1373,51 @@ class Binder {
 		return bucketComparisonOrder;
 	}
 
-	private LongArrayList writeBucket(int attributeNumber, int bucketNumber, int subBucketNumber, Collection<String> values, LongArrayList columnSizes) throws IOException {
+	private void writeBucket(int attributeNumber, int bucketNumber, Collection<String> values, long size, BucketSizes bucketSizes) throws IOException {
 		// Write the values
-		String bucketFilePath = this.getBucketFilePath(attributeNumber, bucketNumber, subBucketNumber);
-		this.writeToDisk(bucketFilePath, values);
+		String bucketFilePath = this.getBucketFilePath(attributeNumber, bucketNumber, -1);
+		this.statistics.addSpilledBytes(bucketNumber, this.writeToDisk(bucketFilePath, values));
 		
-		// Add the size of the written values to the size of the current attribute
-		long size = columnSizes.getLong(attributeNumber);
-		int overheadPerValueForIndexes = 64;
-		for (String value : values)
-			size = size + (long)(8 * (Math.ceil(64 + 2 * value.length() / 8))) + overheadPerValueForIndexes;
-		columnSizes.set(attributeNumber, size);
-		return columnSizes;
+		// Add the heap size of the written values to the size of the bucket and release it from the memory budget
+		bucketSizes.add(attributeNumber, bucketNumber, size);
+		this.bucketMemory.release(size);
 	}
 	
-	private void writeToDisk(String bucketFilePath, Collection<String> values) throws IOException {
-		if ((values == null) || (values.isEmpty()))
-			return;
+	private void writeBucket(int attributeNumber, int bucketNumber, BucketBuffer values, long size, BucketSizes bucketSizes) throws IOException {
+		// Write the already encoded values
+		String bucketFilePath = this.getBucketFilePath(attributeNumber, bucketNumber, -1);
+		this.statistics.addSpilledBytes(bucketNumber, BucketFile.append(bucketFilePath, values));
 		
-		BufferedWriter writer = null;
-		try {
-			writer = FileUtils.buildFileWriter(bucketFilePath, true);
-			for (String value : values) {
-				writer.write(value);
-				writer.newLine();
+		// Add the heap size of the written values to the size of the bucket and release it from the memory budget
+		bucketSizes.add(attributeNumber, bucketNumber, size);
+		this.bucketMemory.release(size);
+	}
+	
+	private void writeSubBucket(int attributeNumber, int bucketNumber, int subBucketNumber, BucketBuffer values) throws IOException {
+		// The size of the values has already been counted for their bucket
+		String bucketFilePath = this.getBucketFilePath(attributeNumber, bucketNumber, subBucketNumber);
+		this.statistics.addSpilledBytes(bucketNumber, BucketFile.append(bucketFilePath, values));
+	}
+	
+	private int findLargestBucket(long[][] bufferedBucketSizes) {
+		int largestBucket = -1;
+		long largestBucketSize = 0;
+		for (int number = 0; number < bufferedBucketSizes.length; number++) {
+			for (int bucketNumber = 0; bucketNumber < this.numBucketsPerColumn; bucketNumber++) {
+				if (largestBucketSize < bufferedBucketSizes[number][bucketNumber]) {
+					largestBucket = number * this.numBucketsPerColumn + bucketNumber;
+					largestBucketSize = bufferedBucketSizes[number][bucketNumber];
+				}
 			}
-			writer.flush();
-		}
-		finally {
-			FileUtils.close(writer);
 		}
+		return largestBucket;
+	}
+	
+	private long writeToDisk(String bucketFilePath, Collection<String> values) throws IOException {
+		if ((values == null) || (values.isEmpty()))
+			return 0;
+		
+		return BucketFile.append(bucketFilePath, values, this.partitioningFunction);
 	}
 	
 	private Set<String> readBucketAsSet(int attributeNumber, int bucketNumber, int subBucketNumber) throws IOException {
@@ -792,8 +1425,7 @@ class Binder {
 			return new HashSet<>(this.attribute2subBucketsCache.get(attributeNumber).get(subBucketNumber));
 		
 		Set<String> bucket = new HashSet<>(); // Reading buckets into Sets eliminates all duplicates within these buckets
-		String bucketFilePath = this.getBucketFilePath(attributeNumber, bucketNumber, subBucketNumber);
-		this.readFromDisk(bucketFilePath, bucket);
+		this.readFromDisk(attributeNumber, bucketNumber, subBucketNumber, bucket);
 		return bucket;
 	}
 
@@ -802,36 +1434,23 @@ class Binder {
 			return this.attribute2subBucketsCache.get(attributeNumber).get(subBucketNumber);
 		
 		List<String> bucket = new ArrayList<>(); // Reading buckets into Lists keeps duplicates within these buckets
-		String bucketFilePath = this.getBucketFilePath(attributeNumber, bucketNumber, subBucketNumber);
-		this.readFromDisk(bucketFilePath, bucket);
+		this.readFromDisk(attributeNumber, bucketNumber, subBucketNumber, bucket);
 		return bucket;
 	}
 
-	private void readFromDisk(String bucketFilePath, Collection<String> values) throws IOException {
-		File file = new File(bucketFilePath);
-		if (!file.exists())
-			return;
-		
-		BufferedReader reader = null;
-		String value;
-		try {
-			reader = FileUtils.buildFileReader(bucketFilePath);
-			while ((value = reader.readLine()) != null)
-				values.add(value);
-		}
-		finally {
-			FileUtils.close(reader);
+	private void readFromDisk(int attributeNumber, int bucketNumber, int subBucketNumber, Collection<String> values) throws IOException {
+		try (BucketFile bucketFile = this.getBucketFile(attributeNumber, bucketNumber, subBucketNumber)) {
+			if (bucketFile != null)
+				bucketFile.addTo(values);
 		}
 	}
 
-	private BufferedReader getBucketReader(int attributeNumber, int bucketNumber, int subBucketNumber) throws IOException {
+	private BucketFile getBucketFile(int attributeNumber, int bucketNumber, int subBucketNumber) throws IOException {
 		String bucketFilePath = this.getBucketFilePath(attributeNumber, bucketNumber, subBucketNumber);
-		
-		File file = new File(bucketFilePath);
-		if (!file.exists())
-			return null;
-		
-		return FileUtils.buildFileReader(bucketFilePath);
+		BucketFile bucketFile = BucketFile.open(bucketFilePath);
+		if (bucketFile != null)
+			this.statistics.addReadBytes(bucketNumber, bucketFile.getSize()); // Every opened bucket file is read entirely
+		return bucketFile;
 	}
 	
 	private String getBucketFilePath(int attributeNumber, int bucketNumber, int subBucketNumber) {
@@ -850,20 +1469,15 @@ class Binder {
 	private int[] refineBucketLevel(BitSet activeAttributes, int attributeOffset, int level) throws IOException { // The offset is used for n-ary INDs, because their buckets are placed behind the unary buckets on disk, which is important if the unary buckets have not been deleted before
 		// Empty sub bucket cache, because it will be refilled in the following
 		this.attribute2subBucketsCache = null;
-		long availableMemory = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getMax();
-		long maxMemoryUsage = (long)(availableMemory * (this.maxMemoryUsagePercentage / 100.0f));
-
-		// Give a hint to the gc
-		System.gc();
+		long maxMemoryUsage = this.bucketMemory.getLimit();
 		
-		// Measure the size of the level and find the attribute with the largest bucket
+		// Measure the size of the level
 		int numAttributes = 0;
 		long levelSize = 0;
 		for (int attribute = activeAttributes.nextSetBit(0); attribute >= 0; attribute = activeAttributes.nextSetBit(attribute + 1)) {
 			numAttributes++;
 			int attributeIndex = attribute + attributeOffset;
-			long bucketSize = bucketMetadata.getColumnSizes().getLong(attributeIndex) / this.numBucketsPerColumn;
-			levelSize = levelSize + bucketSize;
+			levelSize = levelSize + bucketMetadata.getBucketSizes().getBucketSize(attributeIndex, level);
 		}
 		
 		// If there are no active attributes, no refinement is needed
@@ -888,70 +1502,121 @@ class Binder {
 		for (int subBucketNumber = 0; subBucketNumber < numSubBuckets; subBucketNumber++)
 			subBucketNumbers[subBucketNumber] = subBucketNumber;
 		
+		// Choose the seed of the sub bucket hash; the hashes stored in the bucket files are used unless they distribute the level badly
+		int seed = this.chooseSubBucketSeed(activeAttributes, attributeOffset, level, numSubBuckets);
+		
 		this.attribute2subBucketsCache = new Int2ObjectOpenHashMap<>(numSubBuckets);
+		long cachedSize = 0;
 		
 		// Refine
 		for (int attribute = activeAttributes.nextSetBit(0); attribute >= 0; attribute = activeAttributes.nextSetBit(attribute + 1)) {
 			int attributeIndex = attribute + attributeOffset;
 			
-			List<List<String>> subBuckets = new ArrayList<>(numSubBuckets);
-			//int expectedNewBucketSize = (int)(bucket.size() * (1.2f / numSubBuckets)); // The expected size is bucket.size()/subBuckets and we add 20% to it to avoid resizing
-			//int expectedNewBucketSize = (int)(this.columnSizes.getLong(attributeIndex) / this.numBucketsPerColumn / 80); // We estimate an average String size of 8 chars, hence 64+2*8=80 byte
-			for (int subBucket = 0; subBucket < numSubBuckets; subBucket++)
-				subBuckets.add(new ArrayList<>());
+			// The sub buckets keep the values encoded, because they are copied from the bucket file without decoding them into Strings
+			List<BucketBuffer> subBuckets = new ArrayList<>(numSubBuckets);
+			for (int subBucket = 0; subBucket < numSubBuckets; subBucket++) {
+				subBuckets.add(new BucketBuffer());
+				new File(this.getBucketFilePath(attributeIndex, level, subBucket)).delete(); // Sub bucket files of an earlier run are outdated
+			}
 			
-			BufferedReader reader = null;
-			String value;
 			boolean spilled = false;
-			try {
-				reader = this.getBucketReader(attributeIndex, level, -1);
+			long bufferedSize = 0;
+			try (BucketFile bucketFile = this.getBucketFile(attributeIndex, level, -1)) {
+				int numValuesSinceLastMemoryCheck = 0;
 				
-				if (reader != null) {
-					int numValuesSinceLastMemoryCheck = 0;
+				while ((bucketFile != null) && bucketFile.next()) {
+					int bucketNumber = (seed == 0) ? this.calculateBucketFor(bucketFile.getHash(), level, numSubBuckets) : this.calculateSubBucketFor(bucketFile.getValue(), seed, numSubBuckets);
+					bufferedSize = bufferedSize + MemoryBudget.heapSize(bucketFile.getLength());
+					bucketFile.copyTo(subBuckets.get(bucketNumber));
+					numValuesSinceLastMemoryCheck++;
 					
-					while ((value = reader.readLine()) != null) {
-						int bucketNumber = this.calculateBucketFor(value, level, numSubBuckets);
-						subBuckets.get(bucketNumber).add(value);
-						numValuesSinceLastMemoryCheck++;
+					// Occasionally check the memory consumption
+					if (numValuesSinceLastMemoryCheck >= this.memoryCheckFrequency) {
+						numValuesSinceLastMemoryCheck = 0;
 						
-						// Occasionally check the memory consumption
-						if (numValuesSinceLastMemoryCheck >= this.memoryCheckFrequency) {
-							numValuesSinceLastMemoryCheck = 0;
-							
-							// Spill to disk if necessary
-							if (ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() > maxMemoryUsage) {
-								for (int subBucket = 0; subBucket < numSubBuckets; subBucket++) {
-									bucketMetadata.setColumnSizes(this.writeBucket(attributeIndex, level, subBucket, subBuckets.get(subBucket), bucketMetadata.getColumnSizes()));
-									subBuckets.set(subBucket, new ArrayList<>());
-								}
-								
-								spilled = true;
-								System.gc();
+						// Spill to disk if the sub buckets and the already cached sub buckets exceed the budget
+						if (cachedSize + bufferedSize > maxMemoryUsage) {
+							for (int subBucket = 0; subBucket < numSubBuckets; subBucket++) {
+								this.writeSubBucket(attributeIndex, level, subBucket, subBuckets.get(subBucket));
+								subBuckets.set(subBucket, new BucketBuffer());
 							}
+							
+							bufferedSize = 0;
+							spilled = true;
 						}
 					}
 				}
 			}
-			finally {
-				FileUtils.close(reader);
-			}
 			
 			// Large sub bucketings need to be written to disk; small sub bucketings can stay in memory
-			if ((bucketMetadata.getColumnSizes().getLong(attributeIndex) / this.numBucketsPerColumn > maxBucketSize) || spilled)
+			if ((bucketMetadata.getBucketSizes().getBucketSize(attributeIndex, level) > maxBucketSize) || spilled) {
 				for (int subBucket = 0; subBucket < numSubBuckets; subBucket++)
-					bucketMetadata.setColumnSizes(this.writeBucket(attributeIndex, level, subBucket, subBuckets.get(subBucket), bucketMetadata.getColumnSizes()));
-			else
-				this.attribute2subBucketsCache.put(attributeIndex, subBuckets);
+					this.writeSubBucket(attributeIndex, level, subBucket, subBuckets.get(subBucket));
+			}
+			else {
+				List<List<String>> decodedSubBuckets = new ArrayList<>(numSubBuckets);
+				for (BucketBuffer subBucket : subBuckets)
+					decodedSubBuckets.add(subBucket.toList());
+				this.attribute2subBucketsCache.put(attributeIndex, decodedSubBuckets);
+				cachedSize = cachedSize + bufferedSize;
+			}
 		}
 		
 		return subBucketNumbers;
 	}
 
+	private int chooseSubBucketSeed(BitSet activeAttributes, int attributeOffset, int level, int numSubBuckets) throws IOException {
+		// The sub buckets are taken from the same hashes as the buckets, so if these hashes distribute the active attributes evenly over the bucket levels, they also distribute the level evenly over its sub buckets; this is known from the bucket sizes without reading the bucket files
+		long[] levelSizes = new long[this.numBucketsPerColumn];
+		for (int attribute = activeAttributes.nextSetBit(0); attribute >= 0; attribute = activeAttributes.nextSetBit(attribute + 1))
+			for (int bucketNumber = 0; bucketNumber < this.numBucketsPerColumn; bucketNumber++)
+				levelSizes[bucketNumber] = levelSizes[bucketNumber] + bucketMetadata.getBucketSizes().getBucketSize(attribute + attributeOffset, bucketNumber);
+		double levelSkew = this.calculateSkew(levelSizes);
+		if (levelSkew <= this.maxSubBucketSkew) {
+			this.statistics.addRefinement(level, numSubBuckets, levelSkew, false);
+			return 0;
+		}
+		
+		// Measure the sub bucket sizes that the stored hashes produce, which only requires to read the hashes and lengths of the values
+		long[] subBucketSizes = new long[numSubBuckets];
+		for (int attribute = activeAttributes.nextSetBit(0); attribute >= 0; attribute = activeAttributes.nextSetBit(attribute + 1)) {
+			try (BucketFile bucketFile = this.getBucketFile(attribute + attributeOffset, level, -1)) {
+				while ((bucketFile != null) && bucketFile.next())
+					subBucketSizes[this.calculateBucketFor(bucketFile.getHash(), level, numSubBuckets)] += MemoryBudget.heapSize(bucketFile.getLength());
+			}
+		}
+		
+		int bestSeed = 0;
+		double bestSkew = this.calculateSkew(subBucketSizes);
+		
+		// Try other seeds on skewed levels, which requires to decode and hash the values again
+		for (int seed = 1; (seed <= this.maxRepartitioningAttempts) && (bestSkew > this.maxSubBucketSkew); seed++) {
+			subBucketSizes = new long[numSubBuckets];
+			for (int attribute = activeAttributes.nextSetBit(0); attribute >= 0; attribute = activeAttributes.nextSetBit(attribute + 1)) {
+				try (BucketFile bucketFile = this.getBucketFile(attribute + attributeOffset, level, -1)) {
+					while ((bucketFile != null) && bucketFile.next())
+						subBucketSizes[this.calculateSubBucketFor(bucketFile.getValue(), seed, numSubBuckets)] += MemoryBudget.heapSize(bucketFile.getLength());
+				}
+			}
+			
+			double skew = this.calculateSkew(subBucketSizes);
+			if (skew < bestSkew) {
+				bestSeed = seed;
+				bestSkew = skew;
+			}
+		}
+		
+		this.statistics.addRefinement(level, numSubBuckets, bestSkew, bestSeed != 0);
+		return bestSeed;
+	}
+
 	private Map<AttributeCombination, List<AttributeCombination>> detectNaryViaBucketing() throws InputGenerationException, InputIterationException, IOException, AlgorithmConfigurationException {
 		System.out.print("N-ary IND detection ...");
 		
-		// Clean temp
-		if (this.cleanTemp)
+		// Clean temp; an incremental run keeps the unary buckets for the next run and only removes the n-ary buckets
+		if (this.incremental)
+			this.deleteNaryBuckets();
+		else if (this.cleanTemp)
 			FileUtils.cleanDirectory(this.tempFolder);
 		
 		// N-ary column combinations are enumerated following the enumeration of the attributes
@@ -970,6 +1635,23 @@ class Binder {
 			}
 			nPlusOneAryDep2ref.put(depAttributeCombination, refAttributeCombinations);
 		}
+		
+		// Only the attributes of unary INDs can be part of n-ary INDs, so the side files of the tables only keep these attributes
+		BitSet indAttributes = new BitSet(naryOffset);
+		for (int dep : this.dep2ref.keySet()) {
+			indAttributes.set(dep);
+			ElementIterator refIterator = this.dep2ref.get(dep).elementIterator();
+			while (refIterator.hasNext())
+				indAttributes.set(refIterator.next());
+		}
+		this.table2projectedColumns = new int[tables.size()][];
+		int startTableColumnIndex = 0;
+		for (int tableIndex = 0; tableIndex < tables.size(); tableIndex++) {
+			int numColumns = tables.get(tableIndex).getColumnCount();
+			this.table2projectedColumns[tableIndex] = indAttributes.get(startTableColumnIndex, startTableColumnIndex + numColumns).stream().toArray();
+			startTableColumnIndex += numColumns;
+		}
+		this.deleteProjectionFiles();
 
 		int naryLevel = 1;
 		
@@ -995,11 +1677,8 @@ class Binder {
 			nPlusOneAryDep2ref.values().forEach(attributeCombinationSet::addAll);
 			List<AttributeCombination> attributeCombinations = new ArrayList<>(attributeCombinationSet);
 
-			// Extend the columnSize array
-			LongArrayList columnSizes = bucketMetadata.getColumnSizes();
-			for (int i = 0; i < attributeCombinations.size(); i++)
-				columnSizes.add(0);
-			bucketMetadata.setColumnSizes(columnSizes);
+			// Extend the bucket sizes by the attribute combinations
+			bucketMetadata.getBucketSizes().addColumns(attributeCombinations.size());
 
 			int[] currentNarySpillCounts = new int[attributeCombinations.size()];
 			for (int attributeCombinationNumber = 0; attributeCombinationNumber < attributeCombinations.size(); attributeCombinationNumber++)
@@ -1012,10 +1691,13 @@ class Binder {
 			bucketMetadata.setBucketComparisonOrder(bucketComparisonOrder);
 			// Check the n-ary IND candidates
 			long naryCompareTimeCurrent = System.currentTimeMillis();
+			long numCandidates = this.countCandidates(nPlusOneAryDep2ref);
+			Map<AttributeCombination, List<AttributeCombination>> naryLevelDep2ref = this.naryCheckViaTwoStageIndexAndLists(nPlusOneAryDep2ref, attributeCombinations, naryOffset);
+			this.statistics.addNaryLevel(numCandidates, this.countCandidates(naryLevelDep2ref));
 			if (naryDep2ref != null) {
-				naryDep2ref.putAll(this.naryCheckViaTwoStageIndexAndLists(nPlusOneAryDep2ref, attributeCombinations, naryOffset));
+				naryDep2ref.putAll(naryLevelDep2ref);
 			} else {
-				naryDep2ref = this.naryCheckViaTwoStageIndexAndLists(nPlusOneAryDep2ref, attributeCombinations, naryOffset);
+				naryDep2ref = naryLevelDep2ref;
 			}
 
 			// Add the number of created buckets for n-ary INDs of this level to the naryOffset
@@ -1024,6 +1706,7 @@ class Binder {
 			naryCompareTime.add(System.currentTimeMillis() - naryCompareTimeCurrent);
 			System.out.print("(" + (System.currentTimeMillis() - naryGenerationTimeCurrent) + " ms)");
 		}
+		this.deleteProjectionFiles();
 
 		return naryDep2ref;
 	}
@@ -1327,107 +2010,101 @@ class Binder {
 				startTableColumnIndex += tables.get(tableIndex).getColumnCount();
 				continue;
 			}
-			// Initialize buckets
-			Int2ObjectOpenHashMap<List<Set<String>>> buckets = new Int2ObjectOpenHashMap<>(numTableAttributeCombinations);
+			// Initialize buckets; the combination values are kept in their binary encoding, so that no Strings need to be built for them
+			Int2ObjectOpenHashMap<List<EncodedValueSet>> buckets = new Int2ObjectOpenHashMap<>(numTableAttributeCombinations);
 			for (int attributeCombinationNumber : table2attributeCombinationNumbers.get(tableIndex)) {
-				List<Set<String>> attributeCombinationBuckets = new ArrayList<>();
+				List<EncodedValueSet> attributeCombinationBuckets = new ArrayList<>();
 				for (int bucketNumber = 0; bucketNumber < this.numBucketsPerColumn; bucketNumber++)
-					attributeCombinationBuckets.add(new HashSet<>());
+					attributeCombinationBuckets.add(new EncodedValueSet());
 				buckets.put(attributeCombinationNumber, attributeCombinationBuckets);
 			}
+			TupleEncoder tupleEncoder = new TupleEncoder(this.partitioningFunction);
+			ProjectedRow row = new ProjectedRow(tables.get(tableIndex).getColumnCount(), this.table2projectedColumns[tableIndex]);
 
-			// Initialize value counters
+			// Initialize value counters and the heap sizes of the buffered buckets
 			int numValuesSinceLastMemoryCheck = 0;
-			int[] numValuesInAttributeCombination = new int[attributeCombinations.size()];
-			for (int attributeCombinationNumber = 0; attributeCombinationNumber < attributeCombinations.size(); attributeCombinationNumber++)
-				numValuesInAttributeCombination[attributeCombinationNumber] = 0;
-			long availableMemory = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getMax();
-			long maxMemoryUsage = (long)(availableMemory * (this.maxMemoryUsagePercentage / 100.0f));
+			long[][] bufferedBucketSizes = new long[attributeCombinations.size()][this.numBucketsPerColumn];
 
-			// Load data
+			// Load data; the first n-ary level scans the table and projects it into a side file, which the later levels read instead of the table
+			File projectionFile = this.getProjectionFile(tableIndex);
+			ProjectionFile.Reader projectionReader = null;
+			ProjectionFile.Writer projectionWriter = null;
 			InputIterator inputIterator = null;
 			try {
-				inputIterator = new FileInputIterator(tables.get(tableIndex).selectInputGenerator(), this.inputRowLimit);
+				if (projectionFile.exists()) {
+					projectionReader = ProjectionFile.open(projectionFile);
+				}
+				else {
+					inputIterator = this.openInputIterator(tables.get(tableIndex));
+					projectionWriter = ProjectionFile.create(projectionFile);
+				}
 				
-				while (inputIterator.next()) {
-					List<String> values = inputIterator.getValues();
+				while (this.nextProjectedRow(row, projectionReader, inputIterator, projectionWriter, tupleEncoder)) {
 					for (int attributeCombinationNumber : table2attributeCombinationNumbers.get(tableIndex)) {
 
 						AttributeCombination attributeCombination = attributeCombinations.get(attributeCombinationNumber);
 
-						boolean anyNull = false;
-						List<String> attributeCombinationValues = new ArrayList<>(attributeCombination.getAttributes().length);
-						for (int attribute : attributeCombination.getAttributes()) {
-							String attributeValue = values.get(attribute - startTableColumnIndex);
-							if (anyNull = attributeValue == null) break;
-							attributeCombinationValues.add(attributeValue);
-						}
-						if (anyNull) {
-							startTableColumnIndex += tables.get(tableIndex).getColumnCount();
+						// Combinations with null values are ignored, because null values do not violate any IND
+						if (!tupleEncoder.encode(row, attributeCombination.getAttributes(), startTableColumnIndex))
 							continue;
-						}
-						String valueSeparator = "#";
-						String value = CollectionUtils.concat(attributeCombinationValues, valueSeparator);
 						
 						// Bucketize
-						int bucketNumber = this.calculateBucketFor(value);
-						if (buckets.get(attributeCombinationNumber).get(bucketNumber).add(value)) {
+						int bucketNumber = this.calculateBucketFor(tupleEncoder.getHash());
+						if (buckets.get(attributeCombinationNumber).get(bucketNumber).add(tupleEncoder.getBytes(), tupleEncoder.getLength(), tupleEncoder.getHash())) {
+							long valueSize = MemoryBudget.heapSize(tupleEncoder.getLength());
+							bufferedBucketSizes[attributeCombinationNumber][bucketNumber] = bufferedBucketSizes[attributeCombinationNumber][bucketNumber] + valueSize;
+							this.bucketMemory.allocate(valueSize);
 							numValuesSinceLastMemoryCheck++;
-							numValuesInAttributeCombination[attributeCombinationNumber] = numValuesInAttributeCombination[attributeCombinationNumber] + 1;
 						}
 
 						// Occasionally check the memory consumption
 						if (numValuesSinceLastMemoryCheck >= this.memoryCheckFrequency) {
 							numValuesSinceLastMemoryCheck = 0;
 							
-							// Spill to disk if necessary
-							while (ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() > maxMemoryUsage) {
-								// Identify largest buffer
-								int largestAttributeCombinationNumber = 0;
-								int largestAttributeCombinationSize = numValuesInAttributeCombination[largestAttributeCombinationNumber];
-								for (int otherAttributeCombinationNumber = 1; otherAttributeCombinationNumber < numValuesInAttributeCombination.length; otherAttributeCombinationNumber++) {
-									if (largestAttributeCombinationSize < numValuesInAttributeCombination[otherAttributeCombinationNumber]) {
-										largestAttributeCombinationNumber = otherAttributeCombinationNumber;
-										largestAttributeCombinationSize = numValuesInAttributeCombination[otherAttributeCombinationNumber];
-									}
-								}
+							// Spill the largest buckets to disk until the buffers fit into the budget again
+							while (this.bucketMemory.isExceeded()) {
+								int largestBucket = this.findLargestBucket(bufferedBucketSizes);
+								if (largestBucket < 0)
+									break;
 								
-								// Write buckets from largest column to disk and empty written buckets
-								for (int largeBucketNumber = 0; largeBucketNumber < this.numBucketsPerColumn; largeBucketNumber++) {
-									this.writeBucket(naryOffset + largestAttributeCombinationNumber, largeBucketNumber, -1, buckets.get(largestAttributeCombinationNumber).get(largeBucketNumber), bucketMetadata.getColumnSizes());
-									buckets.get(largestAttributeCombinationNumber).set(largeBucketNumber, new HashSet<>());
-								}
-								
-								numValuesInAttributeCombination[largestAttributeCombinationNumber] = 0;
+								// Write the largest bucket to disk and empty it
+								int largestAttributeCombinationNumber = largestBucket / this.numBucketsPerColumn;
+								int largeBucketNumber = largestBucket % this.numBucketsPerColumn;
+								this.writeBucket(naryOffset + largestAttributeCombinationNumber, largeBucketNumber, buckets.get(largestAttributeCombinationNumber).get(largeBucketNumber).getValues(), bufferedBucketSizes[largestAttributeCombinationNumber][largeBucketNumber], bucketMetadata.getBucketSizes());
+								buckets.get(largestAttributeCombinationNumber).set(largeBucketNumber, new EncodedValueSet());
+								bufferedBucketSizes[largestAttributeCombinationNumber][largeBucketNumber] = 0;
 								
 								narySpillCounts[largestAttributeCombinationNumber] = narySpillCounts[largestAttributeCombinationNumber] + 1;
-								
-								System.gc();
 							}
 						}
 					}
 				}
+				if (inputIterator != null)
+					this.closeInputIterator(inputIterator);
+				inputIterator = null;
 			}
 			finally {
 				FileUtils.close(inputIterator);
+				FileUtils.close(projectionReader);
+				FileUtils.close(projectionWriter);
 			}
 			
 			// Write buckets to disk
 			for (int attributeCombinationNumber : table2attributeCombinationNumbers.get(tableIndex)) {
 				if (narySpillCounts[attributeCombinationNumber] == 0) { // if a attribute combination was spilled to disk, we do not count empty buckets for this attribute combination, because the partitioning distributes the values evenly and hence all buckets should have been populated
 					for (int bucketNumber = 0; bucketNumber < this.numBucketsPerColumn; bucketNumber++) {
-						Set<String> bucket = buckets.get(attributeCombinationNumber).get(bucketNumber);
+						EncodedValueSet bucket = buckets.get(attributeCombinationNumber).get(bucketNumber);
 						if (bucket.size() != 0)
-							this.writeBucket(naryOffset + attributeCombinationNumber, bucketNumber, -1, bucket, bucketMetadata.getColumnSizes());
+							this.writeBucket(naryOffset + attributeCombinationNumber, bucketNumber, bucket.getValues(), bufferedBucketSizes[attributeCombinationNumber][bucketNumber], bucketMetadata.getBucketSizes());
 						else
 							emptyBuckets[bucketNumber] = emptyBuckets[bucketNumber] + 1;
 					}
 				}
 				else {
 					for (int bucketNumber = 0; bucketNumber < this.numBucketsPerColumn; bucketNumber++) {
-						Set<String> bucket = buckets.get(attributeCombinationNumber).get(bucketNumber);
+						EncodedValueSet bucket = buckets.get(attributeCombinationNumber).get(bucketNumber);
 						if (bucket.size() != 0)
-							this.writeBucket(naryOffset + attributeCombinationNumber, bucketNumber, -1, bucket, bucketMetadata.getColumnSizes());
+							this.writeBucket(naryOffset + attributeCombinationNumber, bucketNumber, bucket.getValues(), bufferedBucketSizes[attributeCombinationNumber][bucketNumber], bucketMetadata.getBucketSizes());
 					}
 				}
 			}
@@ -1439,11 +2116,34 @@ class Binder {
 		return bucketComparisonOrder;
 	}
 
+	private boolean nextProjectedRow(ProjectedRow row, ProjectionFile.Reader projectionReader, InputIterator inputIterator, ProjectionFile.Writer projectionWriter, TupleEncoder tupleEncoder) throws InputIterationException, IOException {
+		if (projectionReader != null)
+			return projectionReader.read(row);
+		
+		if (!inputIterator.next())
+			return false;
+		row.load(inputIterator.getValues(), tupleEncoder);
+		projectionWriter.write(row);
+		return true;
+	}
+
+	private File getProjectionFile(int tableIndex) {
+		return new File(this.tempFolder, "projection_" + tableIndex);
+	}
+
+	private void deleteProjectionFiles() {
+		for (int tableIndex = 0; tableIndex < tables.size(); tableIndex++)
+			this.getProjectionFile(tableIndex).delete();
+	}
+
 	private Map<AttributeCombination, List<AttributeCombination>> naryCheckViaTwoStageIndexAndLists(Map<AttributeCombination, List<AttributeCombination>> naryDep2ref, List<AttributeCombination> attributeCombinations, int naryOffset) throws IOException {
 		////////////////////////////////////////////////////
 		// Validation (Successively check all candidates) //
 		////////////////////////////////////////////////////
 		
+		// All attribute combinations of one n-ary level have the same arity
+		int arity = attributeCombinations.get(0).size();
+		
 		// Iterate the buckets for all remaining INDs until the end is reached or no more INDs exist
 		BitSet activeAttributeCombinations = new BitSet(attributeCombinations.size());
 		activeAttributeCombinations.set(0, attributeCombinations.size());
@@ -1457,6 +2157,8 @@ class Binder {
 				if (activeAttributeCombinations.isEmpty())
 					break levelloop;
 				
+				long numCandidates = this.countCandidates(naryDep2ref);
+				
 				// Load next bucket level as two stage index
 				Int2ObjectOpenHashMap<List<String>> attributeCombination2Bucket = new Int2ObjectOpenHashMap<>();
 				Map<String, IntArrayList> invertedIndex = new HashMap<>();
@@ -1491,6 +2193,8 @@ class Binder {
 						invertedIndex.remove(value);
 					}
 				}
+				
+				this.statistics.addNaryPrunedCandidates(arity, bucketNumber, numCandidates - this.countCandidates(naryDep2ref));
 			}
 		}
 		
@@ -1503,6 +2207,13 @@ class Binder {
 		return naryDep2ref;
 	}
 	
+	private long countCandidates(Map<AttributeCombination, List<AttributeCombination>> naryDep2ref) {
+		long numCandidates = 0;
+		for (List<AttributeCombination> refs : naryDep2ref.values())
+			numCandidates = numCandidates + refs.size();
+		return numCandidates;
+	}
+	
 	private BitSet getActiveAttributeCombinations(BitSet previouslyActiveAttributeCombinations, Map<AttributeCombination, List<AttributeCombination>> naryDep2ref, List<AttributeCombination> attributeCombinations) {
 		BitSet activeAttributeCombinations = new BitSet(attributeCombinations.size());
 		for (int attribute = previouslyActiveAttributeCombinations.nextSetBit(0); attribute >= 0; attribute = previouslyActiveAttributeCombinations.nextSetBit(attribute + 1)) {
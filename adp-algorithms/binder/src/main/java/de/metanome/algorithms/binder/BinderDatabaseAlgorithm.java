@@ -2,6 +2,7 @@ package de.metanome.algorithms.binder;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import static java.util.Arrays.asList;
 
 import de.metanome.algorithm_integration.AlgorithmConfigurationException;
@@ -15,6 +16,7 @@ import de.metanome.algorithm_integration.input.TableInputGenerator;
 import de.metanome.algorithm_integration.result_receiver.InclusionDependencyResultReceiver;
 import de.metanome.algorithms.binder.utils.CollectionUtils;
 import de.metanome.algorithms.binder.utils.FileUtils;
+import de.metanome.algorithms.binder.utils.PartitioningFunction;
 import de.metanome.algorithms.binder.dao.DB2DataAccessObject;
 import de.metanome.algorithms.binder.dao.MySQLDataAccessObject;
 import de.metanome.algorithms.binder.dao.PostgreSQLDataAccessObject;
@@ -26,7 +28,7 @@ public class BinderDatabaseAlgorithm extends Binder implements InclusionDependen
 	}
 
 	public enum Identifier {
-		INPUT_DATABASE, INPUT_ROW_LIMIT, DATABASE_NAME, DATABASE_TYPE, INPUT_TABLES, TEMP_FOLDER_PATH, CLEAN_TEMP, DETECT_NARY, MAX_NARY_LEVEL, FILTER_KEY_FOREIGNKEYS, NUM_BUCKETS_PER_COLUMN, MEMORY_CHECK_FREQUENCY, MAX_MEMORY_USAGE_PERCENTAGE
+		INPUT_DATABASE, INPUT_ROW_LIMIT, DATABASE_NAME, DATABASE_TYPE, INPUT_TABLES, TEMP_FOLDER_PATH, CLEAN_TEMP, INCREMENTAL, DETECT_NARY, MAX_NARY_LEVEL, FILTER_KEY_FOREIGNKEYS, NUM_BUCKETS_PER_COLUMN, MEMORY_CHECK_FREQUENCY, MAX_MEMORY_USAGE_PERCENTAGE, MEMORY_BUDGET, PARALLELISM, PARTITIONING_FUNCTION, FETCH_SIZE, STATISTICS_FILE_PATH
 	}
 	
 	@Override
@@ -51,6 +53,20 @@ public class BinderDatabaseAlgorithm extends Binder implements InclusionDependen
 		tempFolder.setDefaultValues(defaultTempFolder);
 		tempFolder.setRequired(true);
 		configs.add(tempFolder);
+		
+		ConfigurationRequirementString partitioningFunction = new ConfigurationRequirementString(BinderDatabaseAlgorithm.Identifier.PARTITIONING_FUNCTION.name());
+		String[] defaultPartitioningFunction = new String[1];
+		defaultPartitioningFunction[0] = this.partitioningFunction.name();
+		partitioningFunction.setDefaultValues(defaultPartitioningFunction);
+		partitioningFunction.setRequired(false);
+		configs.add(partitioningFunction);
+		
+		ConfigurationRequirementString statisticsFilePath = new ConfigurationRequirementString(BinderDatabaseAlgorithm.Identifier.STATISTICS_FILE_PATH.name());
+		String[] defaultStatisticsFilePath = new String[1];
+		defaultStatisticsFilePath[0] = this.statisticsFilePath;
+		statisticsFilePath.setDefaultValues(defaultStatisticsFilePath);
+		statisticsFilePath.setRequired(false);
+		configs.add(statisticsFilePath);
 
 		ConfigurationRequirementInteger inputRowLimit = new ConfigurationRequirementInteger(BinderDatabaseAlgorithm.Identifier.INPUT_ROW_LIMIT.name());
 		Integer[] defaultInputRowLimit = {this.inputRowLimit};
@@ -82,6 +98,24 @@ public class BinderDatabaseAlgorithm extends Binder implements InclusionDependen
 		maxMemoryUsagePercentage.setRequired(true);
 		configs.add(maxMemoryUsagePercentage);
 		
+		ConfigurationRequirementInteger memoryBudget = new ConfigurationRequirementInteger(BinderDatabaseAlgorithm.Identifier.MEMORY_BUDGET.name());
+		Integer[] defaultMemoryBudget = {this.memoryBudget};
+		memoryBudget.setDefaultValues(defaultMemoryBudget);
+		memoryBudget.setRequired(false);
+		configs.add(memoryBudget);
+
+		ConfigurationRequirementInteger parallelism = new ConfigurationRequirementInteger(BinderDatabaseAlgorithm.Identifier.PARALLELISM.name());
+		Integer[] defaultParallelism = {this.parallelism};
+		parallelism.setDefaultValues(defaultParallelism);
+		parallelism.setRequired(true);
+		configs.add(parallelism);
+
+		ConfigurationRequirementInteger fetchSize = new ConfigurationRequirementInteger(BinderDatabaseAlgorithm.Identifier.FETCH_SIZE.name());
+		Integer[] defaultFetchSize = {this.fetchSize};
+		fetchSize.setDefaultValues(defaultFetchSize);
+		fetchSize.setRequired(false);
+		configs.add(fetchSize);
+		
 		ConfigurationRequirementBoolean cleanTemp = new ConfigurationRequirementBoolean(BinderDatabaseAlgorithm.Identifier.CLEAN_TEMP.name());
 		Boolean[] defaultCleanTemp = new Boolean[1];
 		defaultCleanTemp[0] = this.cleanTemp;
@@ -89,6 +123,13 @@ public class BinderDatabaseAlgorithm extends Binder implements InclusionDependen
 		cleanTemp.setRequired(true);
 		configs.add(cleanTemp);
 		
+		ConfigurationRequirementBoolean incremental = new ConfigurationRequirementBoolean(BinderDatabaseAlgorithm.Identifier.INCREMENTAL.name());
+		Boolean[] defaultIncremental = new Boolean[1];
+		defaultIncremental[0] = this.incremental;
+		incremental.setDefaultValues(defaultIncremental);
+		incremental.setRequired(true);
+		configs.add(incremental);
+		
 		ConfigurationRequirementBoolean detectNary = new ConfigurationRequirementBoolean(BinderDatabaseAlgorithm.Identifier.DETECT_NARY.name());
 		Boolean[] defaultDetectNary = new Boolean[1];
 		defaultDetectNary[0] = this.detectNary;
@@ -145,6 +186,20 @@ public class BinderDatabaseAlgorithm extends Binder implements InclusionDependen
 				throw new AlgorithmConfigurationException(BinderDatabaseAlgorithm.Identifier.MAX_MEMORY_USAGE_PERCENTAGE.name() + " must be greater than 0!");
 			this.maxMemoryUsagePercentage = values[0];
 		}
+		else if (BinderDatabaseAlgorithm.Identifier.MEMORY_BUDGET.name().equals(identifier)) {
+			if (values.length > 0)
+				this.memoryBudget = values[0];
+		}
+		else if (BinderDatabaseAlgorithm.Identifier.PARALLELISM.name().equals(identifier)) {
+			if (values[0] <= 0)
+				throw new AlgorithmConfigurationException(BinderDatabaseAlgorithm.Identifier.PARALLELISM.name() + " must be greater than 0!");
+			this.parallelism = values[0];
+		}
+		else if (BinderDatabaseAlgorithm.Identifier.FETCH_SIZE.name().equals(identifier)) {
+			if (values[0] <= 0)
+				throw new AlgorithmConfigurationException(BinderDatabaseAlgorithm.Identifier.FETCH_SIZE.name() + " must be greater than 0!");
+			this.fetchSize = values[0];
+		}
 		else 
 			this.handleUnknownConfiguration(identifier, CollectionUtils.concat(values, ","));
 	}
@@ -170,6 +225,16 @@ public class BinderDatabaseAlgorithm extends Binder implements InclusionDependen
 				throw new AlgorithmConfigurationException(BinderDatabaseAlgorithm.Identifier.TEMP_FOLDER_PATH + " must not be \"" + values[0] + "\"");
 			this.tempFolderPath = values[0];
 		}
+		else if (BinderDatabaseAlgorithm.Identifier.PARTITIONING_FUNCTION.name().equals(identifier)) {
+			try {
+				this.partitioningFunction = PartitioningFunction.valueOf(values[0].trim().toUpperCase());
+			}
+			catch (IllegalArgumentException e) {
+				throw new AlgorithmConfigurationException(BinderDatabaseAlgorithm.Identifier.PARTITIONING_FUNCTION + " must be one of " + Arrays.toString(PartitioningFunction.values()));
+			}
+		}
+		else if (BinderDatabaseAlgorithm.Identifier.STATISTICS_FILE_PATH.name().equals(identifier))
+			this.statisticsFilePath = values[0].trim();
 		else
 			this.handleUnknownConfiguration(identifier, CollectionUtils.concat(values, ","));
 	}
@@ -178,6 +243,8 @@ public class BinderDatabaseAlgorithm extends Binder implements InclusionDependen
 	public void setBooleanConfigurationValue(String identifier, Boolean... values) throws AlgorithmConfigurationException {
 		if (BinderDatabaseAlgorithm.Identifier.CLEAN_TEMP.name().equals(identifier))
 			this.cleanTemp = values[0];
+		else if (BinderDatabaseAlgorithm.Identifier.INCREMENTAL.name().equals(identifier))
+			this.incremental = values[0];
 		else if (BinderDatabaseAlgorithm.Identifier.DETECT_NARY.name().equals(identifier))
 			this.detectNary = values[0];
 		else if (BinderDatabaseAlgorithm.Identifier.FILTER_KEY_FOREIGNKEYS.name().equals(identifier))
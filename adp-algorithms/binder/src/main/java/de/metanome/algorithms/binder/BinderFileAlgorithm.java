@@ -2,6 +2,7 @@ package de.metanome.algorithms.binder;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import static java.util.Arrays.asList;
 
 import de.metanome.algorithm_integration.AlgorithmConfigurationException;
@@ -19,6 +20,7 @@ import de.metanome.algorithm_integration.input.RelationalInputGenerator;
 import de.metanome.algorithm_integration.result_receiver.InclusionDependencyResultReceiver;
 import de.metanome.algorithms.binder.utils.CollectionUtils;
 import de.metanome.algorithms.binder.utils.FileUtils;
+import de.metanome.algorithms.binder.utils.PartitioningFunction;
 
 public class BinderFileAlgorithm extends Binder implements InclusionDependencyAlgorithm, RelationalInputParameterAlgorithm, IntegerParameterAlgorithm, StringParameterAlgorithm, BooleanParameterAlgorithm, TempFileAlgorithm {
 
@@ -28,7 +30,7 @@ public class BinderFileAlgorithm extends Binder implements InclusionDependencyAl
 	}
 
 	public enum Identifier {
-		INPUT_FILES, INPUT_ROW_LIMIT, TEMP_FOLDER_PATH, CLEAN_TEMP, DETECT_NARY, MAX_NARY_LEVEL, FILTER_KEY_FOREIGNKEYS, NUM_BUCKETS_PER_COLUMN, MEMORY_CHECK_FREQUENCY, MAX_MEMORY_USAGE_PERCENTAGE
+		INPUT_FILES, INPUT_ROW_LIMIT, TEMP_FOLDER_PATH, CLEAN_TEMP, INCREMENTAL, DETECT_NARY, MAX_NARY_LEVEL, FILTER_KEY_FOREIGNKEYS, NUM_BUCKETS_PER_COLUMN, MEMORY_CHECK_FREQUENCY, MAX_MEMORY_USAGE_PERCENTAGE, MEMORY_BUDGET, PARALLELISM, PARTITIONING_FUNCTION, STATISTICS_FILE_PATH
 	}
 	
 	@Override
@@ -43,6 +45,20 @@ public class BinderFileAlgorithm extends Binder implements InclusionDependencyAl
 		tempFolder.setRequired(true);
 		configs.add(tempFolder);
 		
+		ConfigurationRequirementString partitioningFunction = new ConfigurationRequirementString(BinderFileAlgorithm.Identifier.PARTITIONING_FUNCTION.name());
+		String[] defaultPartitioningFunction = new String[1];
+		defaultPartitioningFunction[0] = this.partitioningFunction.name();
+		partitioningFunction.setDefaultValues(defaultPartitioningFunction);
+		partitioningFunction.setRequired(false);
+		configs.add(partitioningFunction);
+		
+		ConfigurationRequirementString statisticsFilePath = new ConfigurationRequirementString(BinderFileAlgorithm.Identifier.STATISTICS_FILE_PATH.name());
+		String[] defaultStatisticsFilePath = new String[1];
+		defaultStatisticsFilePath[0] = this.statisticsFilePath;
+		statisticsFilePath.setDefaultValues(defaultStatisticsFilePath);
+		statisticsFilePath.setRequired(false);
+		configs.add(statisticsFilePath);
+		
 		ConfigurationRequirementInteger inputRowLimit = new ConfigurationRequirementInteger(BinderFileAlgorithm.Identifier.INPUT_ROW_LIMIT.name());
 		Integer[] defaultInputRowLimit = { Integer.valueOf(this.inputRowLimit) };
 		inputRowLimit.setDefaultValues(defaultInputRowLimit);
@@ -73,6 +89,18 @@ public class BinderFileAlgorithm extends Binder implements InclusionDependencyAl
 		maxMemoryUsagePercentage.setRequired(true);
 		configs.add(maxMemoryUsagePercentage);
 		
+		ConfigurationRequirementInteger memoryBudget = new ConfigurationRequirementInteger(BinderFileAlgorithm.Identifier.MEMORY_BUDGET.name());
+		Integer[] defaultMemoryBudget = { Integer.valueOf(this.memoryBudget) };
+		memoryBudget.setDefaultValues(defaultMemoryBudget);
+		memoryBudget.setRequired(false);
+		configs.add(memoryBudget);
+		
+		ConfigurationRequirementInteger parallelism = new ConfigurationRequirementInteger(BinderFileAlgorithm.Identifier.PARALLELISM.name());
+		Integer[] defaultParallelism = { Integer.valueOf(this.parallelism) };
+		parallelism.setDefaultValues(defaultParallelism);
+		parallelism.setRequired(true);
+		configs.add(parallelism);
+		
 		ConfigurationRequirementBoolean cleanTemp = new ConfigurationRequirementBoolean(BinderFileAlgorithm.Identifier.CLEAN_TEMP.name());
 		Boolean[] defaultCleanTemp = new Boolean[1];
 		defaultCleanTemp[0] = Boolean.valueOf(this.cleanTemp);
@@ -80,6 +108,13 @@ public class BinderFileAlgorithm extends Binder implements InclusionDependencyAl
 		cleanTemp.setRequired(true);
 		configs.add(cleanTemp);
 		
+		ConfigurationRequirementBoolean incremental = new ConfigurationRequirementBoolean(BinderFileAlgorithm.Identifier.INCREMENTAL.name());
+		Boolean[] defaultIncremental = new Boolean[1];
+		defaultIncremental[0] = Boolean.valueOf(this.incremental);
+		incremental.setDefaultValues(defaultIncremental);
+		incremental.setRequired(true);
+		configs.add(incremental);
+		
 		ConfigurationRequirementBoolean detectNary = new ConfigurationRequirementBoolean(BinderFileAlgorithm.Identifier.DETECT_NARY.name());
 		Boolean[] defaultDetectNary = new Boolean[1];
 		defaultDetectNary[0] = Boolean.valueOf(this.detectNary);
@@ -151,6 +186,15 @@ public class BinderFileAlgorithm extends Binder implements InclusionDependencyAl
 				throw new AlgorithmConfigurationException(BinderFileAlgorithm.Identifier.MAX_MEMORY_USAGE_PERCENTAGE.name() + " must be greater than 0!");
 			this.maxMemoryUsagePercentage = values[0].intValue();
 		}
+		else if (BinderFileAlgorithm.Identifier.MEMORY_BUDGET.name().equals(identifier)) {
+			if (values.length > 0)
+				this.memoryBudget = values[0].intValue();
+		}
+		else if (BinderFileAlgorithm.Identifier.PARALLELISM.name().equals(identifier)) {
+			if (values[0].intValue() <= 0)
+				throw new AlgorithmConfigurationException(BinderFileAlgorithm.Identifier.PARALLELISM.name() + " must be greater than 0!");
+			this.parallelism = values[0].intValue();
+		}
 		else 
 			this.handleUnknownConfiguration(identifier, CollectionUtils.concat(values, ","));
 	}
@@ -162,6 +206,16 @@ public class BinderFileAlgorithm extends Binder implements InclusionDependencyAl
 				throw new AlgorithmConfigurationException(BinderFileAlgorithm.Identifier.TEMP_FOLDER_PATH + " must not be \"" + values[0] + "\"");
 			this.tempFolderPath = values[0];
 		}
+		else if (BinderFileAlgorithm.Identifier.PARTITIONING_FUNCTION.name().equals(identifier)) {
+			try {
+				this.partitioningFunction = PartitioningFunction.valueOf(values[0].trim().toUpperCase());
+			}
+			catch (IllegalArgumentException e) {
+				throw new AlgorithmConfigurationException(BinderFileAlgorithm.Identifier.PARTITIONING_FUNCTION + " must be one of " + Arrays.toString(PartitioningFunction.values()));
+			}
+		}
+		else if (BinderFileAlgorithm.Identifier.STATISTICS_FILE_PATH.name().equals(identifier))
+			this.statisticsFilePath = values[0].trim();
 		else
 			this.handleUnknownConfiguration(identifier, CollectionUtils.concat(values, ","));
 	}
@@ -170,6 +224,8 @@ public class BinderFileAlgorithm extends Binder implements InclusionDependencyAl
 	public void setBooleanConfigurationValue(String identifier, Boolean... values) throws AlgorithmConfigurationException {
 		if (BinderFileAlgorithm.Identifier.CLEAN_TEMP.name().equals(identifier))
 			this.cleanTemp = values[0].booleanValue();
+		else if (BinderFileAlgorithm.Identifier.INCREMENTAL.name().equals(identifier))
+			this.incremental = values[0].booleanValue();
 		else if (BinderFileAlgorithm.Identifier.DETECT_NARY.name().equals(identifier))
 			this.detectNary = values[0].booleanValue();
 		else if (BinderFileAlgorithm.Identifier.FILTER_KEY_FOREIGNKEYS.name().equals(identifier))
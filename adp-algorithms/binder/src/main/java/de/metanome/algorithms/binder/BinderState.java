@@ -0,0 +1,110 @@
+package de.metanome.algorithms.binder;
+
+import de.metanome.algorithms.binder.structures.AttributeCombination;
+import de.metanome.algorithms.binder.utils.PartitioningFunction;
+
+import java.io.*;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The state that an incremental run leaves next to its bucket files, so that the next run only needs to process the
+ * rows that have been appended to the tables in the meantime.
+ */
+public class BinderState implements Serializable {
+    private static final long serialVersionUID = 4L;
+
+    private final List<String> tableNames;
+    private final List<String> columnNames;
+    private final int numBucketsPerColumn;
+    private final PartitioningFunction partitioningFunction;
+    private final boolean filterKeyForeignkeys;
+    private final boolean detectNary;
+    private final int maxNaryLevel;
+    private final int inputRowLimit;
+    private final long[] rowCounts;
+    private final long[] inputSizes;
+    private final long[][] bucketSizes;
+    private final BitSet nullValueColumns;
+    private final int[][] dep2ref;
+    private final Map<AttributeCombination, List<AttributeCombination>> naryDep2ref;
+
+
+    public BinderState(List<String> tableNames, List<String> columnNames, int numBucketsPerColumn, PartitioningFunction partitioningFunction, boolean filterKeyForeignkeys, boolean detectNary, int maxNaryLevel, int inputRowLimit, long[] rowCounts, long[] inputSizes, long[][] bucketSizes, BitSet nullValueColumns, int[][] dep2ref, Map<AttributeCombination, List<AttributeCombination>> naryDep2ref) {
+        this.tableNames = tableNames;
+        this.columnNames = columnNames;
+        this.numBucketsPerColumn = numBucketsPerColumn;
+        this.partitioningFunction = partitioningFunction;
+        this.filterKeyForeignkeys = filterKeyForeignkeys;
+        this.detectNary = detectNary;
+        this.maxNaryLevel = maxNaryLevel;
+        this.inputRowLimit = inputRowLimit;
+        this.rowCounts = rowCounts;
+        this.inputSizes = inputSizes;
+        this.bucketSizes = bucketSizes;
+        this.nullValueColumns = nullValueColumns;
+        this.dep2ref = dep2ref;
+        this.naryDep2ref = naryDep2ref;
+    }
+
+    public static BinderState load(File file) throws IOException {
+        if (!file.exists())
+            return null;
+
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            return (BinderState) in.readObject();
+        }
+        catch (ClassNotFoundException | ObjectStreamException e) {
+            return null; // A state of an incompatible version is treated like a missing state
+        }
+    }
+
+    public void save(File file) throws IOException {
+        try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeObject(this);
+        }
+    }
+
+    /**
+     * @return true if the state has been created for the same tables and bucketing, i.e., if its buckets can be extended,
+     * and for the same candidate settings, because a pair that the previous run did not report is taken as a non-IND
+     * and its n-ary results are reused as they are
+     */
+    public boolean matches(List<String> tableNames, List<String> columnNames, int numBucketsPerColumn, PartitioningFunction partitioningFunction, boolean filterKeyForeignkeys, boolean detectNary, int maxNaryLevel, int inputRowLimit) {
+        return this.tableNames.equals(tableNames) && this.columnNames.equals(columnNames) && (this.numBucketsPerColumn == numBucketsPerColumn) && (this.partitioningFunction == partitioningFunction)
+                && (this.filterKeyForeignkeys == filterKeyForeignkeys) && (this.detectNary == detectNary) && (this.maxNaryLevel == maxNaryLevel) && (this.inputRowLimit == inputRowLimit);
+    }
+
+    public boolean isInd(int dep, int ref) {
+        if (this.dep2ref[dep] == null)
+            return false;
+        for (int otherRef : this.dep2ref[dep])
+            if (otherRef == ref)
+                return true;
+        return false;
+    }
+
+    public long[] getRowCounts() {
+        return rowCounts;
+    }
+
+    /**
+     * @return the size of every input, i.e., the length of its file or the number of rows of its database table, or -1 if the size is unknown
+     */
+    public long[] getInputSizes() {
+        return inputSizes;
+    }
+
+    public long[][] getBucketSizes() {
+        return bucketSizes;
+    }
+
+    public BitSet getNullValueColumns() {
+        return nullValueColumns;
+    }
+
+    public Map<AttributeCombination, List<AttributeCombination>> getNaryDep2ref() {
+        return naryDep2ref;
+    }
+}
@@ -0,0 +1,285 @@
+package de.metanome.algorithms.binder;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The statistics of one Binder execution: the wall and CPU times of its phases, the disk traffic, refinements and skew
+ * of every bucket level, the unary and n-ary candidates pruned on every bucket level and the peak memory of the bucket
+ * buffers. They are meant for tuning the number of buckets and the memory settings on real workloads.
+ *
+ * The byte counters of the bucket levels may be updated concurrently; all other values are set by the executing thread.
+ */
+public class BinderStatistics {
+
+    public enum Phase {
+        INITIALIZATION, BUCKETING, VALIDATION, NARY_DETECTION, OUTPUT
+    }
+
+    private final int numBucketsPerColumn;
+    private long memoryBudget = 0;
+    private int parallelism = 1;
+    private String partitioningFunction = null;
+
+    private final long[] wallTimes = new long[Phase.values().length];
+    private final long[] cpuTimes = new long[Phase.values().length];
+    private long phaseStartWallTime = 0;
+    private long phaseStartCpuTime = 0;
+
+    private final AtomicLongArray spilledBytes;
+    private final AtomicLongArray readBytes;
+    private final int[] refinements;
+    private final int[] subBuckets;
+    private final int[] repartitionings;
+    private final double[] subBucketSkews; // The largest skew of the sub buckets of every bucket level; it is estimated from the bucket level skew if the sub buckets have not been measured
+    private double bucketLevelSkew = 0;
+    private final long[] prunedCandidates;
+    private long peakBufferedBytes = 0;
+
+    private long unaryCandidates = 0;
+    private long unaryInds = 0;
+    private final LongArrayList naryCandidates = new LongArrayList();
+    private final LongArrayList naryInds = new LongArrayList();
+    private final List<long[]> naryPrunedCandidates = new ArrayList<>(); // The pruned candidates per bucket level of every arity, starting with the binary INDs
+
+    public BinderStatistics(int numBucketsPerColumn) {
+        this.numBucketsPerColumn = numBucketsPerColumn;
+        this.spilledBytes = new AtomicLongArray(numBucketsPerColumn);
+        this.readBytes = new AtomicLongArray(numBucketsPerColumn);
+        this.refinements = new int[numBucketsPerColumn];
+        this.subBuckets = new int[numBucketsPerColumn];
+        this.repartitionings = new int[numBucketsPerColumn];
+        this.subBucketSkews = new double[numBucketsPerColumn];
+        this.prunedCandidates = new long[numBucketsPerColumn];
+    }
+
+    public void setConfiguration(long memoryBudget, int parallelism, String partitioningFunction) {
+        this.memoryBudget = memoryBudget;
+        this.parallelism = parallelism;
+        this.partitioningFunction = partitioningFunction;
+    }
+
+    public void startPhase() {
+        this.phaseStartWallTime = System.nanoTime();
+        this.phaseStartCpuTime = getProcessCpuTime();
+    }
+
+    public void endPhase(Phase phase) {
+        this.wallTimes[phase.ordinal()] += System.nanoTime() - this.phaseStartWallTime;
+        this.cpuTimes[phase.ordinal()] += getProcessCpuTime() - this.phaseStartCpuTime;
+    }
+
+    /**
+     * The CPU time of all threads of the process, because the bucketing and validation may run on several threads.
+     */
+    private static long getProcessCpuTime() {
+        OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+        if (bean instanceof com.sun.management.OperatingSystemMXBean)
+            return ((com.sun.management.OperatingSystemMXBean) bean).getProcessCpuTime();
+        return 0;
+    }
+
+    public void addSpilledBytes(int bucketNumber, long bytes) {
+        this.spilledBytes.addAndGet(bucketNumber, bytes);
+    }
+
+    public void addReadBytes(int bucketNumber, long bytes) {
+        this.readBytes.addAndGet(bucketNumber, bytes);
+    }
+
+    public void addRefinement(int bucketNumber, int numSubBuckets, double skew, boolean repartitioned) {
+        this.refinements[bucketNumber]++;
+        this.subBuckets[bucketNumber] += numSubBuckets;
+        this.subBucketSkews[bucketNumber] = Math.max(this.subBucketSkews[bucketNumber], skew);
+        if (repartitioned)
+            this.repartitionings[bucketNumber]++;
+    }
+
+    /**
+     * Sets the skew of the values over the bucket levels, i.e., the size of the largest level divided by the average level size.
+     */
+    public void setBucketLevelSkew(double bucketLevelSkew) {
+        this.bucketLevelSkew = bucketLevelSkew;
+    }
+
+    public void addPrunedCandidates(int bucketNumber, long candidates) {
+        this.prunedCandidates[bucketNumber] += candidates;
+    }
+
+    public void addNaryPrunedCandidates(int arity, int bucketNumber, long candidates) {
+        while (this.naryPrunedCandidates.size() < arity - 1)
+            this.naryPrunedCandidates.add(new long[this.numBucketsPerColumn]);
+        this.naryPrunedCandidates.get(arity - 2)[bucketNumber] += candidates;
+    }
+
+    public void setPeakBufferedBytes(long peakBufferedBytes) {
+        this.peakBufferedBytes = peakBufferedBytes;
+    }
+
+    public void setUnaryCandidates(long unaryCandidates) {
+        this.unaryCandidates = unaryCandidates;
+    }
+
+    public void setUnaryInds(long unaryInds) {
+        this.unaryInds = unaryInds;
+    }
+
+    /**
+     * Adds the statistics of the next n-ary level, starting with the binary INDs.
+     */
+    public void addNaryLevel(long candidates, long inds) {
+        this.naryCandidates.add(candidates);
+        this.naryInds.add(inds);
+    }
+
+    public long getWallTime(Phase phase) {
+        return this.wallTimes[phase.ordinal()] / 1000000;
+    }
+
+    public long getCpuTime(Phase phase) {
+        return this.cpuTimes[phase.ordinal()] / 1000000;
+    }
+
+    public long getSpilledBytes(int bucketNumber) {
+        return this.spilledBytes.get(bucketNumber);
+    }
+
+    public long getReadBytes(int bucketNumber) {
+        return this.readBytes.get(bucketNumber);
+    }
+
+    public int getRefinements(int bucketNumber) {
+        return this.refinements[bucketNumber];
+    }
+
+    public int getSubBuckets(int bucketNumber) {
+        return this.subBuckets[bucketNumber];
+    }
+
+    public int getRepartitionings(int bucketNumber) {
+        return this.repartitionings[bucketNumber];
+    }
+
+    public double getSubBucketSkew(int bucketNumber) {
+        return this.subBucketSkews[bucketNumber];
+    }
+
+    public double getBucketLevelSkew() {
+        return this.bucketLevelSkew;
+    }
+
+    public long getPrunedCandidates(int bucketNumber) {
+        return this.prunedCandidates[bucketNumber];
+    }
+
+    public long getNaryPrunedCandidates(int arity, int bucketNumber) {
+        if (arity - 2 >= this.naryPrunedCandidates.size())
+            return 0;
+        return this.naryPrunedCandidates.get(arity - 2)[bucketNumber];
+    }
+
+    public long getPeakBufferedBytes() {
+        return this.peakBufferedBytes;
+    }
+
+    public long getUnaryCandidates() {
+        return this.unaryCandidates;
+    }
+
+    public long getUnaryInds() {
+        return this.unaryInds;
+    }
+
+    public LongArrayList getNaryCandidates() {
+        return this.naryCandidates;
+    }
+
+    public LongArrayList getNaryInds() {
+        return this.naryInds;
+    }
+
+    public int getNumBucketsPerColumn() {
+        return this.numBucketsPerColumn;
+    }
+
+    public void writeJson(File file) throws IOException {
+        File folder = file.getAbsoluteFile().getParentFile();
+        if ((folder != null) && !folder.exists())
+            folder.mkdirs();
+        Files.write(file.toPath(), this.toJson().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"configuration\": {\"numBucketsPerColumn\": ").append(this.numBucketsPerColumn)
+                .append(", \"memoryBudget\": ").append(this.memoryBudget)
+                .append(", \"parallelism\": ").append(this.parallelism)
+                .append(", \"partitioningFunction\": \"").append(this.partitioningFunction).append("\"},\n");
+
+        json.append("  \"phases\": {");
+        for (Phase phase : Phase.values()) {
+            json.append((phase.ordinal() == 0) ? "\n" : ",\n");
+            json.append("    \"").append(phase.name()).append("\": {\"wallTimeMs\": ").append(this.getWallTime(phase))
+                    .append(", \"cpuTimeMs\": ").append(this.getCpuTime(phase)).append("}");
+        }
+        json.append("\n  },\n");
+
+        json.append("  \"peakBufferedBytes\": ").append(this.peakBufferedBytes).append(",\n");
+        json.append("  \"bucketLevelSkew\": ").append(formatSkew(this.bucketLevelSkew)).append(",\n");
+        json.append("  \"unaryCandidates\": ").append(this.unaryCandidates).append(",\n");
+        json.append("  \"unaryInds\": ").append(this.unaryInds).append(",\n");
+
+        json.append("  \"bucketLevels\": [");
+        for (int bucketNumber = 0; bucketNumber < this.numBucketsPerColumn; bucketNumber++) {
+            json.append((bucketNumber == 0) ? "\n" : ",\n");
+            json.append("    {\"level\": ").append(bucketNumber)
+                    .append(", \"spilledBytes\": ").append(this.getSpilledBytes(bucketNumber))
+                    .append(", \"readBytes\": ").append(this.getReadBytes(bucketNumber))
+                    .append(", \"refinements\": ").append(this.refinements[bucketNumber])
+                    .append(", \"subBuckets\": ").append(this.subBuckets[bucketNumber])
+                    .append(", \"repartitionings\": ").append(this.repartitionings[bucketNumber])
+                    .append(", \"subBucketSkew\": ").append(formatSkew(this.subBucketSkews[bucketNumber]))
+                    .append(", \"prunedCandidates\": ").append(this.prunedCandidates[bucketNumber]).append("}");
+        }
+        json.append("\n  ],\n");
+
+        json.append("  \"naryLevels\": [");
+        for (int index = 0; index < this.naryCandidates.size(); index++) {
+            json.append((index == 0) ? "\n" : ",\n");
+            json.append("    {\"arity\": ").append(index + 2)
+                    .append(", \"candidates\": ").append(this.naryCandidates.getLong(index))
+                    .append(", \"inds\": ").append(this.naryInds.getLong(index))
+                    .append(", \"prunedCandidates\": [");
+            for (int bucketNumber = 0; bucketNumber < this.numBucketsPerColumn; bucketNumber++)
+                json.append((bucketNumber == 0) ? "" : ", ").append(this.getNaryPrunedCandidates(index + 2, bucketNumber));
+            json.append("]}");
+        }
+        json.append(this.naryCandidates.isEmpty() ? "]\n" : "\n  ]\n");
+        json.append("}\n");
+        return json.toString();
+    }
+
+    private static String formatSkew(double skew) {
+        return String.format(Locale.ROOT, "%.2f", skew);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder string = new StringBuilder();
+        for (Phase phase : Phase.values())
+            string.append(phase.name()).append(": ").append(this.getWallTime(phase)).append(" ms (").append(this.getCpuTime(phase)).append(" ms CPU)\n");
+        string.append("Peak buffered bytes: ").append(this.peakBufferedBytes);
+        return string.toString();
+    }
+}
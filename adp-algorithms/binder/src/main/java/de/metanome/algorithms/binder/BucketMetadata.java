@@ -9,21 +9,21 @@ import java.util.BitSet;
 public class BucketMetadata {
     private int[] bucketComparisonOrder;
     private BitSet nullValueColumns;
-    private LongArrayList columnSizes;
+    private BucketSizes bucketSizes;
 
 
-    public BucketMetadata(int[] bucketComparisonOrder, BitSet nullValueColumns, LongArrayList columnSizes) {
+    public BucketMetadata(int[] bucketComparisonOrder, BitSet nullValueColumns, BucketSizes bucketSizes) {
         this.bucketComparisonOrder = bucketComparisonOrder;
         this.nullValueColumns = nullValueColumns;
-        this.columnSizes = columnSizes;
+        this.bucketSizes = bucketSizes;
     }
 
     public LongArrayList getColumnSizes() {
-        return columnSizes;
+        return bucketSizes.getColumnSizes();
     }
 
-    public void setColumnSizes(LongArrayList columnSizes) {
-        this.columnSizes = columnSizes;
+    public BucketSizes getBucketSizes() {
+        return bucketSizes;
     }
 
     public int[] getBucketComparisonOrder() {
@@ -0,0 +1,51 @@
+package de.metanome.algorithms.binder;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+/**
+ * The heap sizes of the values that have been written to the buckets of every attribute.
+ *
+ * Attributes of different tables may be updated concurrently, but one attribute must only be updated by one thread.
+ */
+public class BucketSizes {
+    private final int numBucketsPerColumn;
+    private final LongArrayList columnSizes;
+    private final LongArrayList bucketSizes;
+
+    public BucketSizes(int numColumns, int numBucketsPerColumn) {
+        this.numBucketsPerColumn = numBucketsPerColumn;
+        this.columnSizes = new LongArrayList(numColumns);
+        this.bucketSizes = new LongArrayList(numColumns * numBucketsPerColumn);
+        this.addColumns(numColumns);
+    }
+
+    /**
+     * Adds empty attributes, e.g., for the attribute combinations of the next n-ary level. Must not be called
+     * concurrently to any update.
+     */
+    public void addColumns(int numColumns) {
+        for (int column = 0; column < numColumns; column++) {
+            this.columnSizes.add(0);
+            for (int bucketNumber = 0; bucketNumber < this.numBucketsPerColumn; bucketNumber++)
+                this.bucketSizes.add(0);
+        }
+    }
+
+    public void add(int column, int bucketNumber, long size) {
+        int index = column * this.numBucketsPerColumn + bucketNumber;
+        this.bucketSizes.set(index, this.bucketSizes.getLong(index) + size);
+        this.columnSizes.set(column, this.columnSizes.getLong(column) + size);
+    }
+
+    public long getBucketSize(int column, int bucketNumber) {
+        return this.bucketSizes.getLong(column * this.numBucketsPerColumn + bucketNumber);
+    }
+
+    public long getColumnSize(int column) {
+        return this.columnSizes.getLong(column);
+    }
+
+    public LongArrayList getColumnSizes() {
+        return columnSizes;
+    }
+}
@@ -0,0 +1,43 @@
+package de.metanome.algorithms.binder;
+
+import java.util.BitSet;
+
+/**
+ * Statistics that the bucketing of a single table contributes to the {@link BucketMetadata}.
+ */
+public class TableBucketMetadata {
+    private final int[] emptyBuckets;
+    private final BitSet nullValueColumns;
+    private final BitSet changedBuckets;
+    private final long numRows;
+
+
+    public TableBucketMetadata(int[] emptyBuckets, BitSet nullValueColumns, BitSet changedBuckets, long numRows) {
+        this.emptyBuckets = emptyBuckets;
+        this.nullValueColumns = nullValueColumns;
+        this.changedBuckets = changedBuckets;
+        this.numRows = numRows;
+    }
+
+    public int[] getEmptyBuckets() {
+        return emptyBuckets;
+    }
+
+    /**
+     * @return the columns containing null values, relative to the first column of the table
+     */
+    public BitSet getNullValueColumns() {
+        return nullValueColumns;
+    }
+
+    /**
+     * @return the buckets that received values in this run, numbered column * numBucketsPerColumn + bucket relative to the first column of the table
+     */
+    public BitSet getChangedBuckets() {
+        return changedBuckets;
+    }
+
+    public long getNumRows() {
+        return numRows;
+    }
+}
@@ -3,9 +3,11 @@ package de.metanome.algorithms.binder.dao;
 import de.metanome.algorithms.binder.utils.CollectionUtils;
 import de.metanome.algorithms.binder.utils.DatabaseUtils;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.List;
 import java.util.Set;
 
@@ -142,6 +144,15 @@ public abstract class DataAccessObject {
 			   this.limitSuffix(limit);
 	}
 */	
+	/**
+	 * Creates a forward-only, read-only statement whose result sets are fetched in chunks of fetchSize rows.
+	 */
+	public Statement createStreamingStatement(Connection connection, int fetchSize) throws SQLException {
+		Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+		statement.setFetchSize(fetchSize);
+		return statement;
+	}
+
 	public abstract String getDriverClassName();
 	
 	public abstract String limitSuffix(int limit);
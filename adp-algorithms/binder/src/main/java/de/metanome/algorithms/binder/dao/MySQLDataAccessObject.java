@@ -1,8 +1,10 @@
 package de.metanome.algorithms.binder.dao;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.List;
 
 public class MySQLDataAccessObject extends DataAccessObject {
@@ -12,6 +14,12 @@ public class MySQLDataAccessObject extends DataAccessObject {
 		return "com.mysql.jdbc.Driver";
 	}
 
+	@Override
+	public Statement createStreamingStatement(Connection connection, int fetchSize) throws SQLException {
+		// Without useCursorFetch, the MySQL driver only streams the result row by row if the fetch size is Integer.MIN_VALUE; otherwise, it fetches the entire result
+		return super.createStreamingStatement(connection, Integer.MIN_VALUE);
+	}
+
 	@Override
 	public String limitSuffix(int limit) {
 		if (limit <= 0)
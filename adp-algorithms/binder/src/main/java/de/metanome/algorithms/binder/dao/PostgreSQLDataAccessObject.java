@@ -1,9 +1,11 @@
 package de.metanome.algorithms.binder.dao;
 
+import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.List;
 
 public class PostgreSQLDataAccessObject extends DataAccessObject {
@@ -13,6 +15,13 @@ public class PostgreSQLDataAccessObject extends DataAccessObject {
 		return "org.postgresql.Driver";
 	}
 
+	@Override
+	public Statement createStreamingStatement(Connection connection, int fetchSize) throws SQLException {
+		// The PostgreSQL driver only uses a cursor if the statement runs within a transaction; otherwise, it fetches the entire result
+		connection.setAutoCommit(false);
+		return super.createStreamingStatement(connection, fetchSize);
+	}
+
 	@Override
 	public String limitSuffix(int limit) {
 		if (limit <= 0)
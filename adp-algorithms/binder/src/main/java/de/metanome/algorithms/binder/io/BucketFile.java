@@ -0,0 +1,184 @@
+package de.metanome.algorithms.binder.io;
+
+import de.metanome.algorithms.binder.structures.BucketBuffer;
+import de.metanome.algorithms.binder.utils.PartitioningFunction;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+/**
+ * A binary bucket file that is read chunk by chunk into a reused buffer.
+ *
+ * Every write appends one chunk to the file, because buckets are spilled several times while they are filled. A chunk
+ * consists of the number of values, the length of the value bytes, the partitioning hashes of the values, the end offsets of the
+ * values and finally the value bytes. The offset table allows to hash and copy values without decoding them into Strings.
+ *
+ * A BucketFile is a cursor over the values of the file and must not be shared between threads. It keeps the file open
+ * until it is closed; the file is not memory mapped, so it can be deleted right afterwards on every platform.
+ */
+public class BucketFile implements Closeable {
+
+	private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+	private final String bucketFilePath;
+	private final FileChannel channel;
+	private final long fileSize;
+	private final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+
+	private long position = 0;
+	private ByteBuffer chunk;
+	private int chunkSize;
+	private int hashesOffset;
+	private int endsOffset;
+	private int dataOffset;
+
+	private int index;
+
+	private BucketFile(String bucketFilePath, FileChannel channel) throws IOException {
+		this.bucketFilePath = bucketFilePath;
+		this.channel = channel;
+		this.fileSize = channel.size();
+	}
+
+	public static long append(String bucketFilePath, Collection<String> values, PartitioningFunction partitioningFunction) throws IOException {
+		return append(bucketFilePath, BucketBuffer.of(values, partitioningFunction));
+	}
+
+	/**
+	 * Appends the values as one chunk to the bucket file.
+	 *
+	 * @return the number of bytes written
+	 */
+	public static long append(String bucketFilePath, BucketBuffer values) throws IOException {
+		if (values.isEmpty())
+			return 0;
+
+		File file = new File(bucketFilePath);
+		File folder = file.getParentFile();
+		if ((folder != null) && !folder.exists())
+			folder.mkdirs();
+
+		ByteBuffer chunk = ByteBuffer.allocate(HEADER_SIZE + 2 * Integer.BYTES * values.size() + values.getDataLength());
+		chunk.putInt(values.size());
+		chunk.putInt(values.getDataLength());
+		for (int index = 0; index < values.size(); index++)
+			chunk.putInt(values.getHashes().getInt(index));
+		for (int index = 0; index < values.size(); index++)
+			chunk.putInt(values.getEnds().getInt(index));
+		chunk.put(values.getData(), 0, values.getDataLength());
+		chunk.flip();
+		long chunkLength = chunk.remaining();
+
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+			while (chunk.hasRemaining())
+				channel.write(chunk);
+		}
+		return chunkLength;
+	}
+
+	/**
+	 * Opens the given bucket file; returns null if the file does not exist, i.e., if the bucket is empty.
+	 */
+	public static BucketFile open(String bucketFilePath) throws IOException {
+		File file = new File(bucketFilePath);
+		if (!file.exists())
+			return null;
+
+		return new BucketFile(bucketFilePath, FileChannel.open(file.toPath(), StandardOpenOption.READ));
+	}
+
+	/**
+	 * The number of bytes of all chunks of the file.
+	 */
+	public long getSize() {
+		return this.fileSize;
+	}
+
+	/**
+	 * Moves the cursor to the next value of the bucket.
+	 */
+	public boolean next() throws IOException {
+		this.index++;
+		while ((this.chunk == null) || (this.index >= this.chunkSize)) {
+			if (this.position >= this.fileSize)
+				return false;
+
+			this.readChunk();
+		}
+		return true;
+	}
+
+	/**
+	 * Reads the chunk at the current position; the buffer only grows, so that it is reused for all chunks of the file.
+	 */
+	private void readChunk() throws IOException {
+		this.header.clear();
+		this.readFully(this.header, this.position);
+		int size = this.header.getInt(0);
+		int dataLength = this.header.getInt(Integer.BYTES);
+		int chunkLength = HEADER_SIZE + 2 * Integer.BYTES * size + dataLength;
+
+		if ((this.chunk == null) || (this.chunk.capacity() < chunkLength))
+			this.chunk = ByteBuffer.allocate(Math.max(chunkLength, (this.chunk == null) ? 0 : 2 * this.chunk.capacity()));
+		this.chunk.clear();
+		this.chunk.limit(chunkLength);
+		this.readFully(this.chunk, this.position);
+		this.position = this.position + chunkLength;
+
+		this.chunkSize = size;
+		this.hashesOffset = HEADER_SIZE;
+		this.endsOffset = this.hashesOffset + Integer.BYTES * this.chunkSize;
+		this.dataOffset = this.endsOffset + Integer.BYTES * this.chunkSize;
+		this.index = 0;
+	}
+
+	private void readFully(ByteBuffer buffer, long offset) throws IOException {
+		while (buffer.hasRemaining())
+			if (this.channel.read(buffer, offset + buffer.position()) < 0)
+				throw new EOFException("Truncated bucket file " + this.bucketFilePath);
+	}
+
+	public int getHash() {
+		return this.chunk.getInt(this.hashesOffset + Integer.BYTES * this.index);
+	}
+
+	private int getStart() {
+		return (this.index == 0) ? 0 : this.chunk.getInt(this.endsOffset + Integer.BYTES * (this.index - 1));
+	}
+
+	/**
+	 * The number of encoded bytes of the current value.
+	 */
+	public int getLength() {
+		return this.chunk.getInt(this.endsOffset + Integer.BYTES * this.index) - this.getStart();
+	}
+
+	public String getValue() {
+		return new String(this.chunk.array(), this.chunk.arrayOffset() + this.dataOffset + this.getStart(), this.getLength(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Copies the current value into the given buffer without decoding it.
+	 */
+	public void copyTo(BucketBuffer buffer) {
+		this.chunk.position(this.dataOffset + this.getStart());
+		buffer.add(this.getHash(), this.chunk, this.getLength());
+	}
+
+	public void addTo(Collection<String> values) throws IOException {
+		while (this.next())
+			values.add(this.getValue());
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.channel.close();
+	}
+}
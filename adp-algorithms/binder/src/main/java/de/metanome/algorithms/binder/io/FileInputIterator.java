@@ -6,7 +6,6 @@ import de.metanome.algorithm_integration.input.InputIterationException;
 import de.metanome.algorithm_integration.input.RelationalInput;
 import de.metanome.algorithm_integration.input.RelationalInputGenerator;
 import de.metanome.algorithm_integration.input.TableInputGenerator;
-import java.util.ArrayList;
 import java.util.List;
 
 public class FileInputIterator implements InputIterator {
@@ -27,15 +26,7 @@ public class FileInputIterator implements InputIterator {
 	@Override
 	public boolean next() throws InputIterationException {
 		if (this.relationalInput.hasNext() && ((this.inputRowLimit <= 0) || (this.rowsRead < this.inputRowLimit))) {
-			List<String> input = this.relationalInput.next();
-			this.record = new ArrayList<>(input.size());
-
-			for (String value : input) {
-				// Replace line breaks with the zero-character, because these line breaks would otherwise split values when later written to plane-text buckets
-				if (value != null)
-					value = value.replaceAll("\n", "\0");
-				this.record.add(value);
-			}
+			this.record = this.relationalInput.next(); // Line breaks need no escaping, because the bucket files store the lengths of their values
 
 			this.rowsRead++;
 			return true;
@@ -0,0 +1,83 @@
+package de.metanome.algorithms.binder.io;
+
+import de.metanome.algorithms.binder.structures.ProjectedRow;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * A side file that keeps the projected rows of a table for the n-ary IND detection. The first n-ary level writes it while
+ * it scans the table, so that the later levels read only the encoded values of the relevant columns instead of scanning
+ * and parsing the whole table again.
+ */
+public class ProjectionFile {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private ProjectionFile() {
+	}
+
+	public static Writer create(File file) throws IOException {
+		File folder = file.getParentFile();
+		if ((folder != null) && !folder.exists())
+			folder.mkdirs();
+		return new Writer(new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE)));
+	}
+
+	public static Reader open(File file) throws IOException {
+		return new Reader(new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE)));
+	}
+
+	public static class Writer implements Closeable {
+
+		private final DataOutputStream out;
+
+		private Writer(DataOutputStream out) {
+			this.out = out;
+		}
+
+		public void write(ProjectedRow row) throws IOException {
+			row.write(this.out);
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.out.close();
+		}
+	}
+
+	public static class Reader implements Closeable {
+
+		private final DataInputStream in;
+
+		private Reader(DataInputStream in) {
+			this.in = in;
+		}
+
+		/**
+		 * Reads the next row into the given row; returns false if the end of the file has been reached.
+		 */
+		public boolean read(ProjectedRow row) throws IOException {
+			try {
+				row.read(this.in);
+				return true;
+			}
+			catch (EOFException e) {
+				return false;
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.in.close();
+		}
+	}
+}
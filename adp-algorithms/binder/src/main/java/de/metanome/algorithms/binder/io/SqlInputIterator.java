@@ -1,54 +1,80 @@
 package de.metanome.algorithms.binder.io;
 
+import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 
-import de.metanome.algorithm_integration.AlgorithmConfigurationException;
-import de.metanome.algorithm_integration.input.DatabaseConnectionGenerator;
 import de.metanome.algorithm_integration.input.InputGenerationException;
 import de.metanome.algorithm_integration.input.InputIterationException;
+import de.metanome.algorithm_integration.input.TableInputGenerator;
 import de.metanome.algorithms.binder.dao.DataAccessObject;
 import de.metanome.algorithms.binder.utils.DatabaseUtils;
 
+/**
+ * Streams the rows of a database table through a cursor that fetches fetchSize rows at a time, so that the driver does
+ * not buffer the entire table on the client. The values of a row are only valid until the next call of next().
+ */
 public class SqlInputIterator implements InputIterator {
-	
+
+	private final TableInputGenerator inputGenerator;
+	private final Connection connection;
+	private final boolean autoCommit;
+	private Statement statement = null;
 	private ResultSet resultSet = null;
-	private List<String> record = null;
-	
-	public SqlInputIterator(DatabaseConnectionGenerator inputGenerator, DataAccessObject dao, String tableName, int inputRowLimit) throws InputGenerationException, AlgorithmConfigurationException {
-		this.resultSet = inputGenerator.generateResultSetFromSql(dao.buildSelectEverythingQuery(tableName, inputRowLimit));
+	private final int numColumns;
+	private final List<String> record;
+
+	private int rowsRead = 0;
+	private final int inputRowLimit;
+
+	public SqlInputIterator(TableInputGenerator inputGenerator, DataAccessObject dao, String tableName, int fetchSize, int inputRowLimit) throws InputGenerationException {
+		this.inputGenerator = inputGenerator;
+		this.connection = inputGenerator.getDatabaseConnectionGenerator().getConnection();
+		this.inputRowLimit = inputRowLimit;
+		try {
+			this.autoCommit = this.connection.getAutoCommit();
+			this.statement = dao.createStreamingStatement(this.connection, fetchSize);
+			this.resultSet = this.statement.executeQuery(dao.buildSelectEverythingQuery(tableName)); // The row limit is not part of the query, because the DBMS would materialize a limited result instead of streaming it
+			this.numColumns = this.resultSet.getMetaData().getColumnCount();
+			this.record = new ArrayList<>(this.numColumns);
+		}
+		catch (SQLException e) {
+			InputGenerationException exception = new InputGenerationException("Could not stream table " + tableName, e);
+			try {
+				this.closeStatement();
+			}
+			catch (SQLException closeException) {
+				exception.addSuppressed(closeException);
+			}
+			throw exception;
+		}
 	}
 
 	@Override
 	public boolean next() throws InputIterationException {
+		if ((this.inputRowLimit > 0) && (this.rowsRead >= this.inputRowLimit))
+			return false;
+
 		try {
-			boolean hasNext = this.resultSet.next();
-			
-			if (hasNext) {
-				int numColumns = this.resultSet.getMetaData().getColumnCount();
-				this.record = new ArrayList<>(numColumns);
-				
-				for (int columnIndex = 1; columnIndex <= numColumns; columnIndex++) {
-					String value = this.resultSet.getString(columnIndex);
-					
-					// Replace line breaks with the zero-character, because these line breaks would otherwise split values when later written to plane-text buckets
-					if (value != null)
-						value = value.replaceAll("\n", "\0");
-					this.record.add(value);
-				}
-			}
-			
-			return hasNext;
+			if (!this.resultSet.next())
+				return false;
+
+			this.record.clear();
+			for (int columnIndex = 1; columnIndex <= this.numColumns; columnIndex++)
+				this.record.add(this.resultSet.getString(columnIndex));
+
+			this.rowsRead++;
+			return true;
 		}
 		catch (SQLException e) {
 			e.printStackTrace();
 			throw new InputIterationException(e.getMessage());
 		}
 	}
-	
+
 	@Override
 	public String getValue(int columnIndex) throws InputIterationException {
 		return this.record.get(columnIndex);
@@ -58,11 +84,25 @@ public class SqlInputIterator implements InputIterator {
 	public List<String> getValues() throws InputIterationException {
 		return this.record;
 	}
-	
+
 	@Override
 	public void close() throws Exception {
-		Statement statement = this.resultSet.getStatement();
+		try {
+			this.closeStatement();
+		}
+		finally {
+			this.inputGenerator.close();
+		}
+	}
+
+	private void closeStatement() throws SQLException {
 		DatabaseUtils.close(this.resultSet);
-		DatabaseUtils.close(statement);
+		DatabaseUtils.close(this.statement);
+
+		// Cursors may require a transaction; end it and restore the original commit mode of the connection
+		if (this.autoCommit && !this.connection.getAutoCommit()) {
+			this.connection.commit();
+			this.connection.setAutoCommit(true);
+		}
 	}
 }
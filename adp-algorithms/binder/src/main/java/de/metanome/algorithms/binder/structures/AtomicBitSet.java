@@ -0,0 +1,67 @@
+package de.metanome.algorithms.binder.structures;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size bit set whose bits can only be removed concurrently, e.g. by several threads that
+ * prune the same candidate set.
+ */
+public class AtomicBitSet {
+
+	private final AtomicLongArray words;
+
+	public AtomicBitSet(int size) {
+		this.words = new AtomicLongArray((size + Long.SIZE - 1) / Long.SIZE);
+	}
+
+	/**
+	 * Not thread-safe; only used to initialize the set.
+	 */
+	public void set(int index) {
+		this.words.set(index / Long.SIZE, this.words.get(index / Long.SIZE) | (1L << index));
+	}
+
+	public boolean get(int index) {
+		return (this.words.get(index / Long.SIZE) & (1L << index)) != 0;
+	}
+
+	public boolean isEmpty() {
+		for (int word = 0; word < this.words.length(); word++)
+			if (this.words.get(word) != 0)
+				return false;
+		return true;
+	}
+
+	public int nextSetBit(int from) {
+		int word = from / Long.SIZE;
+		if (word >= this.words.length())
+			return -1;
+
+		long bits = this.words.get(word) & (-1L << from);
+		while (true) {
+			if (bits != 0)
+				return word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+			if (++word == this.words.length())
+				return -1;
+			bits = this.words.get(word);
+		}
+	}
+
+	/**
+	 * Atomically keep only the bits that are also contained in the given ascending list.
+	 */
+	public void retainAll(IntArrayList sortedValues) {
+		int position = 0;
+		for (int word = 0; word < this.words.length(); word++) {
+			long mask = 0;
+			while (position < sortedValues.size() && sortedValues.getInt(position) / Long.SIZE == word) {
+				mask |= 1L << sortedValues.getInt(position);
+				position++;
+			}
+			if (this.words.get(word) != 0)
+				this.words.accumulateAndGet(word, mask, (current, other) -> current & other);
+		}
+	}
+}
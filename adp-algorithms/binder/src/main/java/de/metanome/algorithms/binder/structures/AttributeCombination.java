@@ -1,11 +1,14 @@
 package de.metanome.algorithms.binder.structures;
 
+import java.io.Serializable;
 import java.util.Arrays;
 import java.util.List;
 
 import de.metanome.algorithms.binder.utils.CollectionUtils;
 
-public class AttributeCombination implements Comparable<AttributeCombination> {
+public class AttributeCombination implements Comparable<AttributeCombination>, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	private int table;
 	private int[] attributes;
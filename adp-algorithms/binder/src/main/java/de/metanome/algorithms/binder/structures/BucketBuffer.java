@@ -0,0 +1,137 @@
+package de.metanome.algorithms.binder.structures;
+
+import de.metanome.algorithms.binder.utils.PartitioningFunction;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The values of a bucket in their binary on-disk representation: the encoded value bytes, the end offset of each value
+ * within these bytes and the partitioning hash of each value.
+ */
+public class BucketBuffer {
+
+	private byte[] data;
+	private int dataLength = 0;
+	private final IntArrayList hashes;
+	private final IntArrayList ends;
+
+	public BucketBuffer() {
+		this(16);
+	}
+
+	public BucketBuffer(int expectedSize) {
+		this.data = new byte[Math.max(16, expectedSize * 8)];
+		this.hashes = new IntArrayList(expectedSize);
+		this.ends = new IntArrayList(expectedSize);
+	}
+
+	public static BucketBuffer of(Collection<String> values, PartitioningFunction partitioningFunction) {
+		BucketBuffer buffer = new BucketBuffer(values.size());
+		for (String value : values)
+			buffer.add(value, partitioningFunction.hash(value));
+		return buffer;
+	}
+
+	public void add(String value, int hash) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		this.ensureCapacity(bytes.length);
+		System.arraycopy(bytes, 0, this.data, this.dataLength, bytes.length);
+		this.append(hash, bytes.length);
+	}
+
+	/**
+	 * Adds an already encoded value; the bytes are read from the given buffer starting at its current position.
+	 */
+	public void add(int hash, ByteBuffer source, int length) {
+		this.ensureCapacity(length);
+		source.get(this.data, this.dataLength, length);
+		this.append(hash, length);
+	}
+
+	public void add(int hash, byte[] bytes, int length) {
+		this.ensureCapacity(length);
+		System.arraycopy(bytes, 0, this.data, this.dataLength, length);
+		this.append(hash, length);
+	}
+
+	private void append(int hash, int length) {
+		this.dataLength = this.dataLength + length;
+		this.hashes.add(hash);
+		this.ends.add(this.dataLength);
+	}
+
+	private void ensureCapacity(int additionalBytes) {
+		if (this.dataLength + additionalBytes <= this.data.length)
+			return;
+
+		byte[] newData = new byte[Math.max(this.data.length * 2, this.dataLength + additionalBytes)];
+		System.arraycopy(this.data, 0, newData, 0, this.dataLength);
+		this.data = newData;
+	}
+
+	public int size() {
+		return this.hashes.size();
+	}
+
+	public boolean isEmpty() {
+		return this.hashes.isEmpty();
+	}
+
+	public int getHash(int index) {
+		return this.hashes.getInt(index);
+	}
+
+	public int getLength(int index) {
+		return this.ends.getInt(index) - this.getStart(index);
+	}
+
+	private int getStart(int index) {
+		return (index == 0) ? 0 : this.ends.getInt(index - 1);
+	}
+
+	/**
+	 * @return true if the encoded value at the given index equals the given bytes
+	 */
+	public boolean equals(int index, byte[] bytes, int length) {
+		if (this.getLength(index) != length)
+			return false;
+
+		int start = this.getStart(index);
+		for (int offset = 0; offset < length; offset++)
+			if (this.data[start + offset] != bytes[offset])
+				return false;
+		return true;
+	}
+
+	public String get(int index) {
+		return new String(this.data, this.getStart(index), this.getLength(index), StandardCharsets.UTF_8);
+	}
+
+	public List<String> toList() {
+		List<String> values = new ArrayList<>(this.size());
+		for (int index = 0; index < this.size(); index++)
+			values.add(this.get(index));
+		return values;
+	}
+
+	public byte[] getData() {
+		return this.data;
+	}
+
+	public int getDataLength() {
+		return this.dataLength;
+	}
+
+	public IntArrayList getHashes() {
+		return this.hashes;
+	}
+
+	public IntArrayList getEnds() {
+		return this.ends;
+	}
+}
@@ -0,0 +1,72 @@
+package de.metanome.algorithms.binder.structures;
+
+import it.unimi.dsi.fastutil.HashCommon;
+
+/**
+ * A hash set of encoded values. The values are kept in a BucketBuffer, so that adding a value that is already contained
+ * does not allocate anything and the set can be written to a bucket file as it is.
+ */
+public class EncodedValueSet {
+
+	private static final float LOAD_FACTOR = 0.75f;
+
+	private final BucketBuffer values;
+	private int[] table; // The index of the value + 1 for every used slot, 0 for every free slot
+	private int mask;
+
+	public EncodedValueSet() {
+		this(16);
+	}
+
+	public EncodedValueSet(int expectedSize) {
+		this.values = new BucketBuffer(expectedSize);
+		int capacity = HashCommon.arraySize(expectedSize, LOAD_FACTOR);
+		this.table = new int[capacity];
+		this.mask = capacity - 1;
+	}
+
+	/**
+	 * @return true if the value has not been contained yet
+	 */
+	public boolean add(byte[] bytes, int length, int hash) {
+		int slot = HashCommon.mix(hash) & this.mask;
+		while (this.table[slot] != 0) {
+			int index = this.table[slot] - 1;
+			if ((this.values.getHash(index) == hash) && this.values.equals(index, bytes, length))
+				return false;
+			slot = (slot + 1) & this.mask;
+		}
+
+		this.table[slot] = this.values.size() + 1;
+		this.values.add(hash, bytes, length);
+
+		if (this.values.size() > this.table.length * LOAD_FACTOR)
+			this.rehash();
+		return true;
+	}
+
+	private void rehash() {
+		int[] newTable = new int[this.table.length * 2];
+		int newMask = newTable.length - 1;
+		for (int index = 0; index < this.values.size(); index++) {
+			int slot = HashCommon.mix(this.values.getHash(index)) & newMask;
+			while (newTable[slot] != 0)
+				slot = (slot + 1) & newMask;
+			newTable[slot] = index + 1;
+		}
+		this.table = newTable;
+		this.mask = newMask;
+	}
+
+	public int size() {
+		return this.values.size();
+	}
+
+	public boolean isEmpty() {
+		return this.values.isEmpty();
+	}
+
+	public BucketBuffer getValues() {
+		return this.values;
+	}
+}
@@ -0,0 +1,64 @@
+package de.metanome.algorithms.binder.structures;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The memory that all bucket buffers may use together, also if they are filled by several threads. A buffer allocates
+ * the heap size of every value that it keeps and releases it when it is written to disk.
+ */
+public class MemoryBudget {
+
+	private static final int OBJECT_ALIGNMENT = 8;
+	private static final int STRING_SIZE = 24; // Header, value reference, hash and coder of a String
+	private static final int ARRAY_HEADER_SIZE = 16;
+	private static final int NODE_SIZE = 32; // Header, hash, key, value and next reference of a hash map node
+	private static final int TABLE_SLOT_SIZE = 8; // A compressed reference in a hash table with load factor 0.75, rounded up
+
+	private final long limit;
+	private final AtomicLong used = new AtomicLong();
+	private final AtomicLong peak = new AtomicLong();
+
+	public MemoryBudget(long limit) {
+		this.limit = limit;
+	}
+
+	public long getLimit() {
+		return this.limit;
+	}
+
+	public long getUsed() {
+		return this.used.get();
+	}
+
+	/**
+	 * The maximum number of bytes that have been in use at the same time.
+	 */
+	public long getPeak() {
+		return this.peak.get();
+	}
+
+	public void allocate(long bytes) {
+		long used = this.used.addAndGet(bytes);
+		this.peak.accumulateAndGet(used, Math::max);
+	}
+
+	public void release(long bytes) {
+		this.used.addAndGet(-bytes);
+	}
+
+	public boolean isExceeded() {
+		return this.used.get() > this.limit;
+	}
+
+	/**
+	 * The heap size of a value with the given number of characters in a hash set of a bucket, assuming compressed
+	 * references and two bytes per character.
+	 */
+	public static long heapSize(int length) {
+		return STRING_SIZE + align(ARRAY_HEADER_SIZE + 2L * length) + NODE_SIZE + TABLE_SLOT_SIZE;
+	}
+
+	private static long align(long size) {
+		return (size + OBJECT_ALIGNMENT - 1) / OBJECT_ALIGNMENT * OBJECT_ALIGNMENT;
+	}
+}
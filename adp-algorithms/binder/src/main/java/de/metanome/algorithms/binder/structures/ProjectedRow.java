@@ -0,0 +1,127 @@
+package de.metanome.algorithms.binder.structures;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One row of a table restricted to the columns that can still be part of n-ary INDs. Every value is kept in the
+ * encoding of the TupleEncoder together with its partitioning hash, so that the tuples of all attribute combinations
+ * can be assembled from the row without encoding or hashing its values again. The row is reused for all rows of a table.
+ */
+public class ProjectedRow {
+
+	private static final int NULL = -1;
+
+	private final int[] columns;
+	private final int[] starts;
+	private final int[] lengths;
+	private final int[] hashes;
+
+	private byte[] data = new byte[256];
+	private int dataLength = 0;
+
+	/**
+	 * @param numColumns the number of columns of the table
+	 * @param columns the projected columns; the other columns are always null
+	 */
+	public ProjectedRow(int numColumns, int[] columns) {
+		this.columns = columns;
+		this.starts = new int[numColumns];
+		this.lengths = new int[numColumns];
+		this.hashes = new int[numColumns];
+		Arrays.fill(this.lengths, NULL);
+	}
+
+	/**
+	 * Encodes the projected columns of the given input row.
+	 */
+	public void load(List<String> values, TupleEncoder encoder) {
+		this.dataLength = 0;
+		for (int column : this.columns) {
+			String value = values.get(column);
+			if (value == null) {
+				this.lengths[column] = NULL;
+				continue;
+			}
+			encoder.encode(value);
+			this.ensureCapacity(encoder.getLength());
+			System.arraycopy(encoder.getBytes(), 0, this.data, this.dataLength, encoder.getLength());
+			this.append(column, encoder.getLength(), encoder.getHash());
+		}
+	}
+
+	/**
+	 * Reads the projected columns of a row in the format of the projection file.
+	 */
+	public void read(DataInput in) throws IOException {
+		this.dataLength = 0;
+		for (int column : this.columns) {
+			int length = in.readInt();
+			if (length == NULL) {
+				this.lengths[column] = NULL;
+				continue;
+			}
+			int hash = in.readInt();
+			this.ensureCapacity(length);
+			in.readFully(this.data, this.dataLength, length);
+			this.append(column, length, hash);
+		}
+	}
+
+	/**
+	 * Writes the projected columns of the row: the length of every value, which is -1 for null values, followed by its
+	 * hash and its encoded bytes.
+	 */
+	public void write(DataOutput out) throws IOException {
+		for (int column : this.columns) {
+			out.writeInt(this.lengths[column]);
+			if (this.lengths[column] == NULL)
+				continue;
+			out.writeInt(this.hashes[column]);
+			out.write(this.data, this.starts[column], this.lengths[column]);
+		}
+	}
+
+	private void append(int column, int length, int hash) {
+		this.starts[column] = this.dataLength;
+		this.lengths[column] = length;
+		this.hashes[column] = hash;
+		this.dataLength = this.dataLength + length;
+	}
+
+	private void ensureCapacity(int additionalBytes) {
+		if (this.dataLength + additionalBytes <= this.data.length)
+			return;
+
+		byte[] newData = new byte[Math.max(this.data.length * 2, this.dataLength + additionalBytes)];
+		System.arraycopy(this.data, 0, newData, 0, this.dataLength);
+		this.data = newData;
+	}
+
+	public int[] getColumns() {
+		return this.columns;
+	}
+
+	public boolean isNull(int column) {
+		return this.lengths[column] == NULL;
+	}
+
+	public int getStart(int column) {
+		return this.starts[column];
+	}
+
+	public int getLength(int column) {
+		return this.lengths[column];
+	}
+
+	public int getHash(int column) {
+		return this.hashes[column];
+	}
+
+	public byte[] getData() {
+		return this.data;
+	}
+}
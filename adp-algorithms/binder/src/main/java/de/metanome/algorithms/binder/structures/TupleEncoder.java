@@ -0,0 +1,125 @@
+package de.metanome.algorithms.binder.structures;
+
+import de.metanome.algorithms.binder.utils.PartitioningFunction;
+import it.unimi.dsi.fastutil.HashCommon;
+
+/**
+ * Encodes the values of an attribute combination into one reusable byte array, so that n-ary values can be hashed and
+ * bucketized without building intermediate Strings.
+ *
+ * A tuple is encoded as the UTF-8 bytes of its values separated by 0 bytes; 0 and 1 bytes within the values are escaped
+ * by a 1 byte. In contrast to joining the values with a separator character, this encoding is injective, and because
+ * it is valid UTF-8, decoded n-ary values can be compared exactly like unary values.
+ */
+public class TupleEncoder {
+
+	private static final byte SEPARATOR = 0;
+	private static final byte ESCAPE = 1;
+
+	private final PartitioningFunction partitioningFunction;
+
+	private byte[] bytes = new byte[64];
+	private int length;
+	private int hash;
+
+	public TupleEncoder(PartitioningFunction partitioningFunction) {
+		this.partitioningFunction = partitioningFunction;
+	}
+
+	/**
+	 * Encodes a single value; its hash is the partitioning hash of the value.
+	 */
+	public void encode(String value) {
+		this.length = 0;
+		this.put(value);
+		this.hash = this.partitioningFunction.hash(value);
+	}
+
+	/**
+	 * Assembles the tuple of the given attributes from the encoded values of a row; the attributes are numbered relative
+	 * to the given offset.
+	 *
+	 * @return false if any of the values is null, i.e., if the tuple is not part of the attribute combination
+	 */
+	public boolean encode(ProjectedRow row, int[] attributes, int attributeOffset) {
+		this.length = 0;
+		this.hash = attributes.length;
+		for (int index = 0; index < attributes.length; index++) {
+			int column = attributes[index] - attributeOffset;
+			if (row.isNull(column))
+				return false;
+
+			if (index > 0)
+				this.put(SEPARATOR);
+			this.put(row.getData(), row.getStart(column), row.getLength(column));
+			this.hash = this.hash * 31 + row.getHash(column);
+		}
+		this.hash = HashCommon.mix(this.hash);
+		return true;
+	}
+
+	private void put(String value) {
+		this.ensureCapacity(3 * value.length());
+		for (int index = 0; index < value.length(); index++) {
+			char character = value.charAt(index);
+			if (character <= ESCAPE) {
+				this.bytes[this.length++] = ESCAPE;
+				this.bytes[this.length++] = (byte) (character + 1);
+			}
+			else if (character < 0x80) {
+				this.bytes[this.length++] = (byte) character;
+			}
+			else if (character < 0x800) {
+				this.bytes[this.length++] = (byte) (0xC0 | (character >> 6));
+				this.bytes[this.length++] = (byte) (0x80 | (character & 0x3F));
+			}
+			else if (Character.isHighSurrogate(character) && (index + 1 < value.length()) && Character.isLowSurrogate(value.charAt(index + 1))) {
+				int codePoint = Character.toCodePoint(character, value.charAt(++index));
+				this.bytes[this.length++] = (byte) (0xF0 | (codePoint >> 18));
+				this.bytes[this.length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+				this.bytes[this.length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+				this.bytes[this.length++] = (byte) (0x80 | (codePoint & 0x3F));
+			}
+			else if (Character.isSurrogate(character)) {
+				this.bytes[this.length++] = '?'; // Unpaired surrogates are replaced like String.getBytes() does
+			}
+			else {
+				this.bytes[this.length++] = (byte) (0xE0 | (character >> 12));
+				this.bytes[this.length++] = (byte) (0x80 | ((character >> 6) & 0x3F));
+				this.bytes[this.length++] = (byte) (0x80 | (character & 0x3F));
+			}
+		}
+	}
+
+	private void put(byte[] source, int start, int sourceLength) {
+		this.ensureCapacity(sourceLength);
+		System.arraycopy(source, start, this.bytes, this.length, sourceLength);
+		this.length = this.length + sourceLength;
+	}
+
+	private void put(byte value) {
+		this.ensureCapacity(1);
+		this.bytes[this.length++] = value;
+	}
+
+	private void ensureCapacity(int additionalBytes) {
+		if (this.length + additionalBytes <= this.bytes.length)
+			return;
+
+		byte[] newBytes = new byte[Math.max(this.bytes.length * 2, this.length + additionalBytes)];
+		System.arraycopy(this.bytes, 0, newBytes, 0, this.length);
+		this.bytes = newBytes;
+	}
+
+	public byte[] getBytes() {
+		return this.bytes;
+	}
+
+	public int getLength() {
+		return this.length;
+	}
+
+	public int getHash() {
+		return this.hash;
+	}
+}
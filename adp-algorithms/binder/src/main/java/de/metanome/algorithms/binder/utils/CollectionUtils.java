@@ -251,6 +251,26 @@ public class CollectionUtils {
 		return !intersection.isEmpty();
 	}
 
+	// Intersects two ascending lists of distinct values
+	public static IntArrayList intersectSorted(IntArrayList first, IntArrayList second) {
+		IntArrayList intersection = new IntArrayList(Math.min(first.size(), second.size()));
+		int i = 0, j = 0;
+		while ((i < first.size()) && (j < second.size())) {
+			int a = first.getInt(i);
+			int b = second.getInt(j);
+			if (a < b)
+				i++;
+			else if (a > b)
+				j++;
+			else {
+				intersection.add(a);
+				i++;
+				j++;
+			}
+		}
+		return intersection;
+	}
+
 	public static int max(int[] values) {
 		if (values == null)
 			throw new RuntimeException("The maximum of null is not defined!");
@@ -1,5 +1,10 @@
 package de.metanome.algorithms.binder.utils;
 
+import de.metanome.algorithms.binder.dao.DB2DataAccessObject;
+import de.metanome.algorithms.binder.dao.DataAccessObject;
+import de.metanome.algorithms.binder.dao.MySQLDataAccessObject;
+import de.metanome.algorithms.binder.dao.PostgreSQLDataAccessObject;
+
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -40,6 +45,20 @@ public class DatabaseUtils {
 		}
 	}
 
+	/**
+	 * Chooses the data access object for the database system of the given connection; returns null for unsupported systems.
+	 */
+	public static DataAccessObject getDataAccessObject(Connection connection) throws SQLException {
+		String productName = connection.getMetaData().getDatabaseProductName().toLowerCase();
+		if (productName.contains("postgresql"))
+			return new PostgreSQLDataAccessObject();
+		if (productName.contains("mysql"))
+			return new MySQLDataAccessObject();
+		if (productName.contains("db2"))
+			return new DB2DataAccessObject();
+		return null;
+	}
+
 	public static String[] generateAttributeNames(int numAttributes) {
 		String prefix = "A";
 		String[] names = new String[numAttributes];
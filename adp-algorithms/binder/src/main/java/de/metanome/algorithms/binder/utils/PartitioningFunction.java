@@ -0,0 +1,113 @@
+package de.metanome.algorithms.binder.utils;
+
+import it.unimi.dsi.fastutil.HashCommon;
+
+/**
+ * The hash functions that distribute the values of an attribute over its buckets and sub buckets.
+ *
+ * A seed of 0 produces the hash that is stored next to every value in the bucket files; other seeds produce independent
+ * hashes that are used to re-partition skewed bucket levels. The murmur3 and xxHash variants hash the UTF-16 characters
+ * of a value, so they do not need to encode it first.
+ */
+public enum PartitioningFunction {
+
+	STRING {
+		@Override
+		public int hash(String value, int seed) {
+			// Values with equal String hash codes always collide; a seed only changes how these hash codes are distributed
+			return (seed == 0) ? value.hashCode() : HashCommon.mix(value.hashCode() ^ seed);
+		}
+	},
+
+	MURMUR3 {
+		@Override
+		public int hash(String value, int seed) {
+			int hash = seed;
+			int length = value.length();
+			int index = 0;
+			for (; index + 1 < length; index += 2) {
+				int block = value.charAt(index) | (value.charAt(index + 1) << 16);
+				hash = hash ^ mixMurmur3Block(block);
+				hash = Integer.rotateLeft(hash, 13);
+				hash = hash * 5 + 0xe6546b64;
+			}
+			if (index < length)
+				hash = hash ^ mixMurmur3Block(value.charAt(index));
+
+			hash = hash ^ (2 * length);
+			return HashCommon.murmurHash3(hash);
+		}
+	},
+
+	XXHASH {
+		@Override
+		public int hash(String value, int seed) {
+			int length = value.length();
+			int index = 0;
+			int hash;
+			if (length >= 8) {
+				int v1 = seed + XXHASH_PRIME_1 + XXHASH_PRIME_2;
+				int v2 = seed + XXHASH_PRIME_2;
+				int v3 = seed;
+				int v4 = seed - XXHASH_PRIME_1;
+				for (; index + 8 <= length; index += 8) {
+					v1 = roundXxHash(v1, lane(value, index));
+					v2 = roundXxHash(v2, lane(value, index + 2));
+					v3 = roundXxHash(v3, lane(value, index + 4));
+					v4 = roundXxHash(v4, lane(value, index + 6));
+				}
+				hash = Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7) + Integer.rotateLeft(v3, 12) + Integer.rotateLeft(v4, 18);
+			}
+			else {
+				hash = seed + XXHASH_PRIME_5;
+			}
+
+			hash = hash + 2 * length;
+			for (; index + 2 <= length; index += 2) {
+				hash = hash + lane(value, index) * XXHASH_PRIME_3;
+				hash = Integer.rotateLeft(hash, 17) * XXHASH_PRIME_4;
+			}
+			if (index < length) {
+				char character = value.charAt(index);
+				hash = hash + (character & 0xFF) * XXHASH_PRIME_5;
+				hash = Integer.rotateLeft(hash, 11) * XXHASH_PRIME_1;
+				hash = hash + (character >>> 8) * XXHASH_PRIME_5;
+				hash = Integer.rotateLeft(hash, 11) * XXHASH_PRIME_1;
+			}
+
+			hash = hash ^ (hash >>> 15);
+			hash = hash * XXHASH_PRIME_2;
+			hash = hash ^ (hash >>> 13);
+			hash = hash * XXHASH_PRIME_3;
+			return hash ^ (hash >>> 16);
+		}
+	};
+
+	private static final int XXHASH_PRIME_1 = 0x9E3779B1;
+	private static final int XXHASH_PRIME_2 = 0x85EBCA77;
+	private static final int XXHASH_PRIME_3 = 0xC2B2AE3D;
+	private static final int XXHASH_PRIME_4 = 0x27D4EB2F;
+	private static final int XXHASH_PRIME_5 = 0x165667B1;
+
+	public abstract int hash(String value, int seed);
+
+	public int hash(String value) {
+		return this.hash(value, 0);
+	}
+
+	private static int mixMurmur3Block(int block) {
+		block = block * 0xcc9e2d51;
+		block = Integer.rotateLeft(block, 15);
+		return block * 0x1b873593;
+	}
+
+	private static int roundXxHash(int accumulator, int lane) {
+		accumulator = accumulator + lane * XXHASH_PRIME_2;
+		accumulator = Integer.rotateLeft(accumulator, 13);
+		return accumulator * XXHASH_PRIME_1;
+	}
+
+	private static int lane(String value, int index) {
+		return value.charAt(index) | (value.charAt(index + 1) << 16);
+	}
+}
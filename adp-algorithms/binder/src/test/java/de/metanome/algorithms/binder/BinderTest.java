@@ -0,0 +1,474 @@
+package de.metanome.algorithms.binder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+import de.metanome.algorithm_integration.input.FileInputGenerator;
+import de.metanome.algorithm_integration.input.InputGenerationException;
+import de.metanome.algorithm_integration.input.RelationalInput;
+import de.metanome.algorithm_integration.input.RelationalInputGenerator;
+import de.metanome.algorithm_integration.results.InclusionDependency;
+import de.metanome.algorithms.binder.utils.PartitioningFunction;
+import de.metanome.util.InclusionDependencyBuilder;
+import de.metanome.util.InclusionDependencyResultReceiverStub;
+import de.metanome.util.RelationalInputGeneratorStub;
+import de.metanome.util.Row;
+
+class BinderTest {
+
+	private static final String TABLE = "T";
+	private static final String TABLE_R = "R";
+	private static final String TABLE_S = "S";
+
+	private Path tempFolder;
+	private Path referenceTempFolder;
+	private InclusionDependencyResultReceiverStub resultReceiver;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		this.tempFolder = Files.createTempDirectory("binder");
+		this.referenceTempFolder = Files.createTempDirectory("binder");
+		this.resultReceiver = new InclusionDependencyResultReceiverStub();
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		delete(this.tempFolder);
+		delete(this.referenceTempFolder);
+	}
+
+	@Test
+	void tinyMemoryBudgetShouldFindAllInds() throws Exception {
+		final int numValues = 20000;
+		final RelationalInputGeneratorStub.RelationalInputGeneratorStubBuilder builder = RelationalInputGeneratorStub.builder()
+				.relationName(TABLE)
+				.columnName("A").columnName("B").columnName("C");
+		for (int i = 0; i < 2 * numValues; i++)
+			builder.row(Row.of(i < numValues ? String.valueOf(i) : null, String.valueOf(i), "x" + i));
+
+		final BinderFileAlgorithm binder = this.createBinder(builder.build());
+		binder.setIntegerConfigurationValue(BinderFileAlgorithm.Identifier.MEMORY_BUDGET.name(), Integer.valueOf(1));
+		binder.execute();
+
+		assertThat(this.resultReceiver.getReceivedResults()).containsExactly(
+				InclusionDependencyBuilder.dependent().column(TABLE, "A").referenced().column(TABLE, "B").build());
+	}
+
+	@ParameterizedTest
+	@EnumSource(PartitioningFunction.class)
+	void repartitionedLevelsShouldFindAllInds(final PartitioningFunction partitioningFunction) throws Exception {
+		// The stored hashes put all values into the first bucket level and into its first sub bucket for up to six sub buckets, so only another seed can split the level
+		final String longPrefix = String.format("%05000d", 0);
+		final RelationalInputGeneratorStub.RelationalInputGeneratorStubBuilder builder = RelationalInputGeneratorStub.builder()
+				.relationName(TABLE)
+				.columnName("C").columnName("D");
+		int numValues = 0;
+		for (int i = 0; numValues < 150; i++) {
+			final String value = longPrefix + i;
+			if (partitioningFunction.hash(value) % 600 == 0) {
+				builder.row(Row.of(value, value));
+				numValues++;
+			}
+		}
+		builder.row(Row.of(null, "x"));
+
+		final BinderFileAlgorithm binder = this.createBinder(builder.build());
+		binder.setIntegerConfigurationValue(BinderFileAlgorithm.Identifier.MEMORY_BUDGET.name(), Integer.valueOf(1));
+		binder.setStringConfigurationValue(BinderFileAlgorithm.Identifier.PARTITIONING_FUNCTION.name(), partitioningFunction.name());
+		binder.maxSubBucketSkew = 1.5;
+		binder.execute();
+
+		final BinderStatistics statistics = binder.getStatistics();
+		assertThat(statistics.getRepartitionings(0)).isPositive();
+		assertThat(statistics.getSubBucketSkew(0)).isLessThan(statistics.getSubBuckets(0) / (double) statistics.getRefinements(0));
+		assertThat(this.resultReceiver.getReceivedResults()).containsExactly(
+				InclusionDependencyBuilder.dependent().column(TABLE, "C").referenced().column(TABLE, "D").build());
+	}
+
+	@Test
+	void parallelBucketingShouldFindTheIndsOfASerialRun() throws Exception {
+		final RelationalInputGenerator[] tables = new RelationalInputGenerator[4];
+		for (int table = 0; table < tables.length; table++) {
+			final RelationalInputGeneratorStub.RelationalInputGeneratorStubBuilder builder = RelationalInputGeneratorStub.builder()
+					.relationName("T" + table)
+					.columnName("A").columnName("B");
+			for (int i = 0; i < 10000; i++)
+				builder.row(Row.of(String.valueOf(i % (2500 * (table + 1))), "x" + (i * (table + 1) % 10000)));
+			tables[table] = builder.build();
+		}
+
+		final InclusionDependencyResultReceiverStub referenceReceiver = new InclusionDependencyResultReceiverStub();
+		final BinderFileAlgorithm serialRun = this.createBinder(this.referenceTempFolder, referenceReceiver, tables);
+		serialRun.setIntegerConfigurationValue(BinderFileAlgorithm.Identifier.MEMORY_BUDGET.name(), Integer.valueOf(1));
+		serialRun.setIntegerConfigurationValue(BinderFileAlgorithm.Identifier.PARALLELISM.name(), Integer.valueOf(1));
+		serialRun.execute();
+
+		final BinderFileAlgorithm parallelRun = this.createBinder(tables);
+		parallelRun.setIntegerConfigurationValue(BinderFileAlgorithm.Identifier.MEMORY_BUDGET.name(), Integer.valueOf(1));
+		parallelRun.setIntegerConfigurationValue(BinderFileAlgorithm.Identifier.PARALLELISM.name(), Integer.valueOf(4));
+		parallelRun.execute();
+
+		assertThat(this.resultReceiver.getReceivedResults()).hasSameSizeAs(referenceReceiver.getReceivedResults()).hasSameElementsAs(referenceReceiver.getReceivedResults());
+		assertThat(this.resultReceiver.getReceivedResults()).contains(
+				InclusionDependencyBuilder.dependent().column("T0", "A").referenced().column("T3", "A").build(),
+				InclusionDependencyBuilder.dependent().column("T3", "B").referenced().column("T0", "B").build());
+	}
+
+	@Test
+	void parallelValidationOfRefinedLevelsShouldFindTheIndsOfASerialRun() throws Exception {
+		final int numValues = 50000;
+		final RelationalInputGeneratorStub.RelationalInputGeneratorStubBuilder builder = RelationalInputGeneratorStub.builder()
+				.relationName(TABLE)
+				.columnName("A").columnName("B").columnName("C");
+		for (int i = 0; i < 2 * numValues; i++)
+			builder.row(Row.of(i < numValues ? String.valueOf(i) : null, String.valueOf(i), "x" + i));
+		final RelationalInputGeneratorStub table = builder.build();
+
+		final InclusionDependencyResultReceiverStub referenceReceiver = new InclusionDependencyResultReceiverStub();
+		final BinderFileAlgorithm serialRun = this.createBinder(this.referenceTempFolder, referenceReceiver, table);
+		serialRun.setIntegerConfigurationValue(BinderFileAlgorithm.Identifier.MEMORY_BUDGET.name(), Integer.valueOf(1));
+		serialRun.execute();
+
+		final BinderFileAlgorithm parallelRun = this.createBinder(table);
+		parallelRun.setIntegerConfigurationValue(BinderFileAlgorithm.Identifier.MEMORY_BUDGET.name(), Integer.valueOf(1));
+		parallelRun.setIntegerConfigurationValue(BinderFileAlgorithm.Identifier.PARALLELISM.name(), Integer.valueOf(4));
+		parallelRun.execute();
+
+		// The levels do not fit into the budget, so they are checked sub bucket by sub bucket
+		final BinderStatistics statistics = parallelRun.getStatistics();
+		assertThat(IntStream.range(0, statistics.getNumBucketsPerColumn()).map(statistics::getRefinements).sum()).isPositive();
+		assertThat(this.resultReceiver.getReceivedResults()).hasSameSizeAs(referenceReceiver.getReceivedResults()).hasSameElementsAs(referenceReceiver.getReceivedResults());
+		assertThat(this.resultReceiver.getReceivedResults()).containsExactly(
+				InclusionDependencyBuilder.dependent().column(TABLE, "A").referenced().column(TABLE, "B").build());
+	}
+
+	@Test
+	void parallelIncrementalRunShouldFindTheIndsOfAFullRun() throws Exception {
+		final RelationalInputGeneratorStub.RelationalInputGeneratorStubBuilder r = RelationalInputGeneratorStub.builder()
+				.relationName(TABLE_R)
+				.columnName("A");
+		final RelationalInputGeneratorStub.RelationalInputGeneratorStubBuilder s = RelationalInputGeneratorStub.builder()
+				.relationName(TABLE_S)
+				.columnName("C");
+		for (int i = 0; i < 200; i++)
+			r.row(Row.of(String.valueOf(i)));
+		for (int i = 0; i < 100; i++)
+			s.row(Row.of(String.valueOf(i)));
+
+		final BinderFileAlgorithm firstRun = this.createBinder(this.tempFolder, new InclusionDependencyResultReceiverStub(), r.build(), s.build());
+		firstRun.setBooleanConfigurationValue(BinderFileAlgorithm.Identifier.INCREMENTAL.name(), Boolean.TRUE);
+		firstRun.setIntegerConfigurationValue(BinderFileAlgorithm.Identifier.PARALLELISM.name(), Integer.valueOf(4));
+		firstRun.execute();
+
+		// Once R.A < S.C is refuted, only the level that received the appended value needs to be checked, so the prefetched copies of the other levels are cancelled
+		final RelationalInputGenerator appendedS = s.row(Row.of("150")).build();
+		final BinderFileAlgorithm incrementalRun = this.createBinder(this.tempFolder, this.resultReceiver, r.build(), appendedS);
+		incrementalRun.setBooleanConfigurationValue(BinderFileAlgorithm.Identifier.INCREMENTAL.name(), Boolean.TRUE);
+		incrementalRun.setIntegerConfigurationValue(BinderFileAlgorithm.Identifier.PARALLELISM.name(), Integer.valueOf(4));
+		incrementalRun.execute();
+
+		final InclusionDependencyResultReceiverStub referenceReceiver = new InclusionDependencyResultReceiverStub();
+		this.createBinder(this.referenceTempFolder, referenceReceiver, r.build(), appendedS).execute();
+
+		assertThat(this.resultReceiver.getReceivedResults()).hasSameSizeAs(referenceReceiver.getReceivedResults()).hasSameElementsAs(referenceReceiver.getReceivedResults());
+		assertThat(this.resultReceiver.getReceivedResults()).containsExactly(
+				InclusionDependencyBuilder.dependent().column(TABLE_S, "C").referenced().column(TABLE_R, "A").build());
+	}
+
+	@Test
+	void statisticsFileShouldDescribeTheRun() throws Exception {
+		final int numValues = 20000;
+		final RelationalInputGeneratorStub.RelationalInputGeneratorStubBuilder builder = RelationalInputGeneratorStub.builder()
+				.relationName(TABLE)
+				.columnName("A").columnName("B").columnName("C");
+		for (int i = 0; i < 2 * numValues; i++)
+			builder.row(Row.of(i < numValues ? String.valueOf(i) : null, String.valueOf(i), "x" + i));
+		final Path statisticsFile = this.tempFolder.resolve("statistics.json");
+
+		final BinderFileAlgorithm binder = this.createBinder(builder.build());
+		binder.setIntegerConfigurationValue(BinderFileAlgorithm.Identifier.MEMORY_BUDGET.name(), Integer.valueOf(1));
+		binder.setStringConfigurationValue(BinderFileAlgorithm.Identifier.STATISTICS_FILE_PATH.name(), statisticsFile.toString());
+		binder.execute();
+
+		final JsonNode statistics = new ObjectMapper().readTree(statisticsFile.toFile());
+		for (final BinderStatistics.Phase phase : BinderStatistics.Phase.values())
+			assertThat(statistics.path("phases").path(phase.name()).path("wallTimeMs").isIntegralNumber()).isTrue();
+		assertThat(statistics.path("bucketLevels")).hasSize(10);
+		long spilledBytes = 0;
+		for (final JsonNode level : statistics.path("bucketLevels"))
+			spilledBytes += level.path("spilledBytes").asLong();
+		assertThat(spilledBytes).isPositive();
+		assertThat(statistics.path("unaryInds").asLong()).isEqualTo(1);
+		assertThat(statistics.path("naryLevels").isArray()).isTrue();
+		assertThat(statistics.path("naryLevels")).isEmpty();
+	}
+
+	@Test
+	void statisticsFileShouldDescribeTheNaryLevels() throws Exception {
+		final RelationalInputGeneratorStub r = RelationalInputGeneratorStub.builder()
+				.relationName(TABLE_R)
+				.columnName("A").columnName("B")
+				.row(Row.of("1", "a"))
+				.row(Row.of("2", "b"))
+				.build();
+		final RelationalInputGeneratorStub s = RelationalInputGeneratorStub.builder()
+				.relationName(TABLE_S)
+				.columnName("C").columnName("D")
+				.row(Row.of("1", "a"))
+				.row(Row.of("2", "b"))
+				.row(Row.of("3", "c"))
+				.build();
+		final Path statisticsFile = this.tempFolder.resolve("statistics.json");
+
+		final BinderFileAlgorithm binder = this.createBinder(r, s);
+		binder.setBooleanConfigurationValue(BinderFileAlgorithm.Identifier.DETECT_NARY.name(), Boolean.TRUE);
+		binder.setStringConfigurationValue(BinderFileAlgorithm.Identifier.STATISTICS_FILE_PATH.name(), statisticsFile.toString());
+		binder.execute();
+
+		// R.A < S.C and R.B < S.D combine to [R.A,R.B] < [S.C,S.D]
+		final JsonNode statistics = new ObjectMapper().readTree(statisticsFile.toFile());
+		assertThat(statistics.path("unaryInds").asLong()).isEqualTo(2);
+		assertThat(statistics.path("naryLevels")).hasSize(1);
+		final JsonNode binaryLevel = statistics.path("naryLevels").path(0);
+		assertThat(binaryLevel.path("arity").asInt()).isEqualTo(2);
+		assertThat(binaryLevel.path("inds").asLong()).isEqualTo(1);
+		assertThat(binaryLevel.path("prunedCandidates")).hasSize(10);
+	}
+
+	@Test
+	void incrementalRunShouldFindTheIndsOfAFullRun() throws Exception {
+		final RelationalInputGeneratorStub s = RelationalInputGeneratorStub.builder()
+				.relationName(TABLE_S)
+				.columnName("C").columnName("D")
+				.row(Row.of("1", "a"))
+				.row(Row.of("2", "b"))
+				.row(Row.of("3", "c"))
+				.build();
+		final RelationalInputGeneratorStub.RelationalInputGeneratorStubBuilder r = RelationalInputGeneratorStub.builder()
+				.relationName(TABLE_R)
+				.columnName("A").columnName("B")
+				.row(Row.of("1", "a"))
+				.row(Row.of("2", "b"));
+
+		final InclusionDependencyResultReceiverStub firstReceiver = new InclusionDependencyResultReceiverStub();
+		final BinderFileAlgorithm firstRun = this.createBinder(this.tempFolder, firstReceiver, r.build(), s);
+		firstRun.setBooleanConfigurationValue(BinderFileAlgorithm.Identifier.INCREMENTAL.name(), Boolean.TRUE);
+		firstRun.setBooleanConfigurationValue(BinderFileAlgorithm.Identifier.DETECT_NARY.name(), Boolean.TRUE);
+		firstRun.execute();
+		assertThat(firstReceiver.getReceivedResults()).contains(
+				InclusionDependencyBuilder.dependent().column(TABLE_R, "B").referenced().column(TABLE_S, "D").build(),
+				InclusionDependencyBuilder.dependent().column(TABLE_R, "A").column(TABLE_R, "B").referenced().column(TABLE_S, "C").column(TABLE_S, "D").build());
+
+		// The appended row breaks R.B < S.D and [R.A,R.B] < [S.C,S.D], but completes S.C < R.A
+		final RelationalInputGenerator appendedR = r.row(Row.of("3", "d")).build();
+		final BinderFileAlgorithm incrementalRun = this.createBinder(this.tempFolder, this.resultReceiver, appendedR, s);
+		incrementalRun.setBooleanConfigurationValue(BinderFileAlgorithm.Identifier.INCREMENTAL.name(), Boolean.TRUE);
+		incrementalRun.setBooleanConfigurationValue(BinderFileAlgorithm.Identifier.DETECT_NARY.name(), Boolean.TRUE);
+		incrementalRun.execute();
+
+		final InclusionDependencyResultReceiverStub referenceReceiver = new InclusionDependencyResultReceiverStub();
+		final BinderFileAlgorithm fullRun = this.createBinder(this.referenceTempFolder, referenceReceiver, appendedR, s);
+		fullRun.setBooleanConfigurationValue(BinderFileAlgorithm.Identifier.DETECT_NARY.name(), Boolean.TRUE);
+		fullRun.execute();
+
+		final List<InclusionDependency> inds = this.resultReceiver.getReceivedResults();
+		assertThat(inds).hasSameSizeAs(referenceReceiver.getReceivedResults()).hasSameElementsAs(referenceReceiver.getReceivedResults());
+		assertThat(inds).containsExactlyInAnyOrder(
+				InclusionDependencyBuilder.dependent().column(TABLE_R, "A").referenced().column(TABLE_S, "C").build(),
+				InclusionDependencyBuilder.dependent().column(TABLE_S, "C").referenced().column(TABLE_R, "A").build());
+	}
+
+	@Test
+	void incrementalRunWithOtherSettingsShouldFindTheIndsOfAFullRun() throws Exception {
+		final RelationalInputGeneratorStub r = RelationalInputGeneratorStub.builder()
+				.relationName(TABLE_R)
+				.columnName("A").columnName("B")
+				.row(Row.of("1", "1"))
+				.row(Row.of("1", "2"))
+				.build();
+
+		// The first run does not check R.A < R.B, because the referenced attribute is in the same table
+		final BinderFileAlgorithm firstRun = this.createBinder(this.tempFolder, new InclusionDependencyResultReceiverStub(), r);
+		firstRun.setBooleanConfigurationValue(BinderFileAlgorithm.Identifier.INCREMENTAL.name(), Boolean.TRUE);
+		firstRun.setBooleanConfigurationValue(BinderFileAlgorithm.Identifier.FILTER_KEY_FOREIGNKEYS.name(), Boolean.TRUE);
+		firstRun.execute();
+
+		final BinderFileAlgorithm incrementalRun = this.createBinder(this.tempFolder, this.resultReceiver, r);
+		incrementalRun.setBooleanConfigurationValue(BinderFileAlgorithm.Identifier.INCREMENTAL.name(), Boolean.TRUE);
+		incrementalRun.execute();
+
+		final InclusionDependencyResultReceiverStub referenceReceiver = new InclusionDependencyResultReceiverStub();
+		this.createBinder(this.referenceTempFolder, referenceReceiver, r).execute();
+
+		assertThat(this.resultReceiver.getReceivedResults()).hasSameSizeAs(referenceReceiver.getReceivedResults()).hasSameElementsAs(referenceReceiver.getReceivedResults());
+		assertThat(this.resultReceiver.getReceivedResults()).containsExactly(
+				InclusionDependencyBuilder.dependent().column(TABLE_R, "A").referenced().column(TABLE_R, "B").build());
+	}
+
+	@Test
+	void incrementalRunShouldNotReadUnchangedFiles() throws Exception {
+		final RelationalInputGeneratorStub.RelationalInputGeneratorStubBuilder r = RelationalInputGeneratorStub.builder()
+				.relationName(TABLE_R)
+				.columnName("A")
+				.row(Row.of("1"))
+				.row(Row.of("2"));
+		final FileInputGeneratorStub s = new FileInputGeneratorStub(this.referenceTempFolder.resolve("S.csv"), RelationalInputGeneratorStub.builder()
+				.relationName(TABLE_S)
+				.columnName("C")
+				.row(Row.of("1"))
+				.row(Row.of("2"))
+				.row(Row.of("3"))
+				.build());
+
+		final BinderFileAlgorithm firstRun = this.createBinder(this.tempFolder, new InclusionDependencyResultReceiverStub(), new FileInputGeneratorStub(this.referenceTempFolder.resolve("R.csv"), r.build()), s);
+		firstRun.setBooleanConfigurationValue(BinderFileAlgorithm.Identifier.INCREMENTAL.name(), Boolean.TRUE);
+		firstRun.execute();
+
+		// The appended row completes S.C < R.A; only R grows, so the incremental run must not scan S
+		final FileInputGeneratorStub appendedR = new FileInputGeneratorStub(this.referenceTempFolder.resolve("R.csv"), r.row(Row.of("3")).build());
+		final int sCopies = s.copies;
+		final BinderFileAlgorithm incrementalRun = this.createBinder(this.tempFolder, this.resultReceiver, appendedR, s);
+		incrementalRun.setBooleanConfigurationValue(BinderFileAlgorithm.Identifier.INCREMENTAL.name(), Boolean.TRUE);
+		incrementalRun.execute();
+		assertThat(s.copies - sCopies).isEqualTo(appendedR.copies - 1); // Both inputs are also opened to read their metadata
+
+		final InclusionDependencyResultReceiverStub referenceReceiver = new InclusionDependencyResultReceiverStub();
+		this.createBinder(this.referenceTempFolder, referenceReceiver, appendedR, s).execute();
+
+		assertThat(this.resultReceiver.getReceivedResults()).hasSameSizeAs(referenceReceiver.getReceivedResults()).hasSameElementsAs(referenceReceiver.getReceivedResults());
+		assertThat(this.resultReceiver.getReceivedResults()).containsExactlyInAnyOrder(
+				InclusionDependencyBuilder.dependent().column(TABLE_R, "A").referenced().column(TABLE_S, "C").build(),
+				InclusionDependencyBuilder.dependent().column(TABLE_S, "C").referenced().column(TABLE_R, "A").build());
+	}
+
+	@Test
+	void naryValuesShouldNotCollideOnSeparators() throws Exception {
+		// ("a#b", "c") and ("a", "b#c") are different tuples, even though they are the same values joined by "#"
+		final RelationalInputGeneratorStub r = RelationalInputGeneratorStub.builder()
+				.relationName(TABLE_R)
+				.columnName("A").columnName("B").columnName("X")
+				.row(Row.of("a#b", "c", "1"))
+				.row(Row.of("1", "2", "2"))
+				.build();
+		final RelationalInputGeneratorStub s = RelationalInputGeneratorStub.builder()
+				.relationName(TABLE_S)
+				.columnName("C").columnName("D").columnName("Y")
+				.row(Row.of("a", "b#c", "1"))
+				.row(Row.of("a#b", "x", "1"))
+				.row(Row.of("y", "c", "3"))
+				.row(Row.of("1", "2", "2"))
+				.build();
+
+		final BinderFileAlgorithm binder = this.createBinder(r, s);
+		binder.setBooleanConfigurationValue(BinderFileAlgorithm.Identifier.DETECT_NARY.name(), Boolean.TRUE);
+		binder.execute();
+
+		assertThat(this.resultReceiver.getReceivedResults()).containsExactlyInAnyOrder(
+				InclusionDependencyBuilder.dependent().column(TABLE_R, "A").referenced().column(TABLE_S, "C").build(),
+				InclusionDependencyBuilder.dependent().column(TABLE_R, "B").referenced().column(TABLE_S, "D").build(),
+				InclusionDependencyBuilder.dependent().column(TABLE_R, "X").referenced().column(TABLE_S, "Y").build(),
+				InclusionDependencyBuilder.dependent().column(TABLE_R, "A").column(TABLE_R, "X").referenced().column(TABLE_S, "C").column(TABLE_S, "Y").build());
+	}
+
+	@Test
+	void naryIndsShouldIgnoreTuplesWithNulls() throws Exception {
+		// The tuples of R that contain a null value are not part of the attribute combinations, so they cannot violate an IND
+		final RelationalInputGeneratorStub r = RelationalInputGeneratorStub.builder()
+				.relationName(TABLE_R)
+				.columnName("A").columnName("N").columnName("B")
+				.row(Row.of("1", null, "a"))
+				.row(Row.of("2", "x", "b"))
+				.row(Row.of("3", null, "c"))
+				.build();
+		final RelationalInputGeneratorStub s = RelationalInputGeneratorStub.builder()
+				.relationName(TABLE_S)
+				.columnName("C").columnName("M").columnName("D")
+				.row(Row.of("1", "y", "a"))
+				.row(Row.of("2", "x", "b"))
+				.row(Row.of("3", "z", "c"))
+				.row(Row.of("4", null, "d"))
+				.build();
+
+		final BinderFileAlgorithm binder = this.createBinder(r, s);
+		binder.setBooleanConfigurationValue(BinderFileAlgorithm.Identifier.DETECT_NARY.name(), Boolean.TRUE);
+		binder.execute();
+
+		assertThat(this.resultReceiver.getReceivedResults()).containsExactlyInAnyOrder(
+				InclusionDependencyBuilder.dependent().column(TABLE_R, "A").referenced().column(TABLE_S, "C").build(),
+				InclusionDependencyBuilder.dependent().column(TABLE_R, "N").referenced().column(TABLE_S, "M").build(),
+				InclusionDependencyBuilder.dependent().column(TABLE_R, "B").referenced().column(TABLE_S, "D").build(),
+				InclusionDependencyBuilder.dependent().column(TABLE_R, "A").column(TABLE_R, "N").referenced().column(TABLE_S, "C").column(TABLE_S, "M").build(),
+				InclusionDependencyBuilder.dependent().column(TABLE_R, "A").column(TABLE_R, "B").referenced().column(TABLE_S, "C").column(TABLE_S, "D").build(),
+				InclusionDependencyBuilder.dependent().column(TABLE_R, "N").column(TABLE_R, "B").referenced().column(TABLE_S, "M").column(TABLE_S, "D").build(),
+				InclusionDependencyBuilder.dependent().column(TABLE_R, "A").column(TABLE_R, "B").column(TABLE_R, "N").referenced().column(TABLE_S, "C").column(TABLE_S, "D").column(TABLE_S, "M").build());
+	}
+
+	private BinderFileAlgorithm createBinder(final RelationalInputGenerator... inputs) throws AlgorithmConfigurationException, IOException {
+		return this.createBinder(this.tempFolder, this.resultReceiver, inputs);
+	}
+
+	private BinderFileAlgorithm createBinder(final Path tempFolder, final InclusionDependencyResultReceiverStub resultReceiver, final RelationalInputGenerator... inputs) throws AlgorithmConfigurationException, IOException {
+		final BinderFileAlgorithm binder = new BinderFileAlgorithm();
+		binder.setRelationalInputConfigurationValue(BinderFileAlgorithm.Identifier.INPUT_FILES.name(), inputs);
+		binder.setResultReceiver(resultReceiver);
+		binder.setStringConfigurationValue(BinderFileAlgorithm.Identifier.TEMP_FOLDER_PATH.name(), tempFolder.toString());
+		return binder;
+	}
+
+	/**
+	 * A file input whose file holds one line per row and that counts how often it has been opened.
+	 */
+	private static class FileInputGeneratorStub implements FileInputGenerator {
+
+		private final File inputFile;
+		private final RelationalInputGeneratorStub rows;
+		private int copies = 0;
+
+		FileInputGeneratorStub(final Path inputFile, final RelationalInputGeneratorStub rows) throws IOException {
+			this.inputFile = inputFile.toFile();
+			this.rows = rows;
+			Files.write(inputFile, rows.rows.stream().map(row -> String.join(",", row.getValues())).collect(Collectors.toList()));
+		}
+
+		@Override
+		public File getInputFile() {
+			return this.inputFile;
+		}
+
+		@Override
+		public RelationalInput generateNewCopy() throws InputGenerationException, AlgorithmConfigurationException {
+			this.copies++;
+			return this.rows.generateNewCopy();
+		}
+
+		@Override
+		public void close() {
+			// no-op
+		}
+	}
+
+	private static void delete(final Path folder) throws IOException {
+		try (Stream<Path> paths = Files.walk(folder)) {
+			paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package de.metanome.algorithms.binder.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.metanome.algorithm_integration.input.DatabaseConnectionGenerator;
+import de.metanome.algorithm_integration.input.InputGenerationException;
+import de.metanome.algorithm_integration.input.TableInputGenerator;
+import de.metanome.algorithms.binder.dao.DataAccessObject;
+
+class SqlInputIteratorTest {
+
+	private TableInputGenerator inputGenerator;
+	private Connection connection;
+	private Statement statement;
+	private DataAccessObject dao;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		this.inputGenerator = mock(TableInputGenerator.class);
+		final DatabaseConnectionGenerator connectionGenerator = mock(DatabaseConnectionGenerator.class);
+		this.connection = mock(Connection.class);
+		this.statement = mock(Statement.class);
+		this.dao = mock(DataAccessObject.class);
+		given(this.inputGenerator.getDatabaseConnectionGenerator()).willReturn(connectionGenerator);
+		given(connectionGenerator.getConnection()).willReturn(this.connection);
+		given(this.dao.createStreamingStatement(this.connection, 10)).willReturn(this.statement);
+		given(this.dao.buildSelectEverythingQuery(anyString())).willReturn("SELECT * FROM T");
+
+		// The cursor switches the connection to manual commits, which closing the iterator has to undo
+		given(this.connection.getAutoCommit()).willReturn(true, false);
+	}
+
+	@Test
+	void closeShouldReportAFailingCommit() throws Exception {
+		final ResultSet resultSet = mock(ResultSet.class);
+		final ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+		given(this.statement.executeQuery(anyString())).willReturn(resultSet);
+		given(resultSet.getMetaData()).willReturn(metaData);
+		given(metaData.getColumnCount()).willReturn(1);
+		willThrow(new SQLException("commit failed")).given(this.connection).commit();
+
+		final SqlInputIterator iterator = new SqlInputIterator(this.inputGenerator, this.dao, "T", 10, 0);
+
+		assertThatThrownBy(iterator::close).isInstanceOf(SQLException.class).hasMessage("commit failed");
+		verify(this.inputGenerator).close();
+	}
+
+	@Test
+	void failingQueryShouldReportAFailingCommitAsSuppressed() throws Exception {
+		given(this.statement.executeQuery(anyString())).willThrow(new SQLException("query failed"));
+		willThrow(new SQLException("commit failed")).given(this.connection).setAutoCommit(true);
+
+		final Throwable thrown = catchThrowable(() -> new SqlInputIterator(this.inputGenerator, this.dao, "T", 10, 0));
+
+		assertThat(thrown).isInstanceOf(InputGenerationException.class).hasMessageContaining("Could not stream table T");
+		assertThat(thrown.getSuppressed()).extracting(Throwable::getMessage).containsExactly("commit failed");
+	}
+}
@@ -0,0 +1,56 @@
+package de.metanome.algorithms.binder.structures;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+class AtomicBitSetTest {
+
+	@Test
+	void nextSetBitShouldCrossWordBoundaries() {
+		final AtomicBitSet bits = new AtomicBitSet(130);
+		bits.set(0);
+		bits.set(63);
+		bits.set(64);
+		bits.set(129);
+
+		assertThat(bits.nextSetBit(0)).isEqualTo(0);
+		assertThat(bits.nextSetBit(1)).isEqualTo(63);
+		assertThat(bits.nextSetBit(64)).isEqualTo(64);
+		assertThat(bits.nextSetBit(65)).isEqualTo(129);
+		assertThat(bits.nextSetBit(130)).isEqualTo(-1);
+	}
+
+	@Test
+	void retainAllShouldKeepOnlyTheGivenBitsInEveryWord() {
+		final AtomicBitSet bits = new AtomicBitSet(130);
+		for (final int index : new int[] {1, 62, 63, 64, 65, 127, 128})
+			bits.set(index);
+
+		bits.retainAll(IntArrayList.wrap(new int[] {0, 63, 64, 128, 129}));
+
+		final List<Integer> retained = new ArrayList<>();
+		for (int index = bits.nextSetBit(0); index >= 0; index = bits.nextSetBit(index + 1))
+			retained.add(index);
+		assertThat(retained).containsExactly(63, 64, 128);
+		assertThat(bits.get(62)).isFalse();
+		assertThat(bits.get(65)).isFalse();
+	}
+
+	@Test
+	void retainAllWithNoValuesShouldClearTheSet() {
+		final AtomicBitSet bits = new AtomicBitSet(70);
+		bits.set(5);
+		bits.set(69);
+
+		bits.retainAll(new IntArrayList());
+
+		assertThat(bits.isEmpty()).isTrue();
+		assertThat(bits.nextSetBit(0)).isEqualTo(-1);
+	}
+}
@@ -1,43 +0,0 @@
-package de.metanome.algorithms.binder;
-
-public class BinderTest {
-
-/*	@Before
-	public void setUp() throws Exception {
-	}
-
-	@After
-	public void tearDown() throws Exception {
-	}
-
-	@Test
-	public void testGetConfigurationRequirements() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testExecute() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetConfigurationValue() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetTempFileGenerator() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetResultReceiverFunctionalDependencyResultReceiver() {
-		fail("Not yet implemented");
-	}
-
-	@Test
-	public void testSetResultReceiverUniqueColumnCombinationResultReceiver() {
-		fail("Not yet implemented");
-	}
-*/
-}
@@ -1,7 +1,5 @@
 package de.metanome.algorithms.demarchi;
 
-import de.metanome.algorithm_integration.input.RelationalInputGenerator;
-import de.metanome.algorithm_integration.input.TableInputGenerator;
 import lombok.Builder;
 import lombok.Data;
 
@@ -13,13 +11,4 @@ class Attribute {
   private final String tableName;
   private final String name;
   private final String type;
-  private final RelationalInputGenerator relationalInputGenerator;
-  private final TableInputGenerator tableInputGenerator;
-
-  public RelationalInputGenerator selectInputGenerator() {
-    if (tableInputGenerator != null) {
-      return tableInputGenerator;
-    }
-    return relationalInputGenerator;
-  }
 }
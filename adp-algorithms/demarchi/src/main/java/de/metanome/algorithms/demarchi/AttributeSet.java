@@ -0,0 +1,218 @@
+package de.metanome.algorithms.demarchi;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable set of the attributes which hold a value.
+ *
+ * <p>Most values occur in one or two attributes only, hence small sets are stored as sorted
+ * attribute arrays and only sets which would need more space that way are stored as bitmaps. The
+ * representation depends on the size alone, so equal sets are always stored alike. Sets are
+ * interned by an {@link AttributeSetPool}, which lets all values with the same attributes share
+ * one instance.</p>
+ */
+final class AttributeSet {
+
+  private static final long OBJECT_OVERHEAD = 24 + 16;
+  private static final long BITMAP_OVERHEAD = 24;
+
+  private final int[] attributes;
+  private final BitSet bitmap;
+  private final int hash;
+
+  /**
+   * @param bitmap a bitmap which is not shared; used only if the attributes are {@code null}
+   */
+  private AttributeSet(final int[] attributes, final BitSet bitmap) {
+    this.attributes = attributes;
+    this.bitmap = bitmap;
+    this.hash = attributes != null ? Arrays.hashCode(attributes) : bitmap.hashCode();
+  }
+
+  /**
+   * @param attributes the sorted attributes; the first {@code size} entries are used
+   */
+  static AttributeSet of(final int[] attributes, final int size, final int attributeCount) {
+    if (isSmall(size, attributeCount)) {
+      return new AttributeSet(Arrays.copyOf(attributes, size), null);
+    }
+    final BitSet bitmap = new BitSet(attributeCount);
+    for (int index = 0; index < size; ++index) {
+      bitmap.set(attributes[index]);
+    }
+    return new AttributeSet(null, bitmap);
+  }
+
+  static AttributeSet of(final BitSet attributes, final int attributeCount) {
+    final int size = attributes.cardinality();
+    if (isSmall(size, attributeCount)) {
+      return new AttributeSet(attributes.stream().toArray(), null);
+    }
+    return new AttributeSet(null, (BitSet) attributes.clone());
+  }
+
+  private static boolean isSmall(final int size, final int attributeCount) {
+    return (long) size * Integer.BYTES <= (long) wordCount(attributeCount) * Long.BYTES;
+  }
+
+  private static int wordCount(final int attributeCount) {
+    return (attributeCount + 63) >>> 6;
+  }
+
+  boolean contains(final int attribute) {
+    if (attributes != null) {
+      return Arrays.binarySearch(attributes, attribute) >= 0;
+    }
+    return bitmap.get(attribute);
+  }
+
+  int size() {
+    if (attributes != null) {
+      return attributes.length;
+    }
+    return bitmap.cardinality();
+  }
+
+  void forEach(final IntConsumer action) {
+    if (attributes != null) {
+      for (final int attribute : attributes) {
+        action.accept(attribute);
+      }
+      return;
+    }
+    for (int attribute = bitmap.nextSetBit(0); attribute >= 0;
+        attribute = bitmap.nextSetBit(attribute + 1)) {
+      action.accept(attribute);
+    }
+  }
+
+  BitSet toBitSet() {
+    if (bitmap != null) {
+      return (BitSet) bitmap.clone();
+    }
+    final BitSet set = new BitSet();
+    for (final int attribute : attributes) {
+      set.set(attribute);
+    }
+    return set;
+  }
+
+  /**
+   * Remove all attributes from the closure which are not part of this set.
+   */
+  void retainIn(final BitSet closure) {
+    if (bitmap != null) {
+      closure.and(bitmap);
+      return;
+    }
+    int index = 0;
+    for (int attribute = closure.nextSetBit(0); attribute >= 0;
+        attribute = closure.nextSetBit(attribute + 1)) {
+      while (index < attributes.length && attributes[index] < attribute) {
+        ++index;
+      }
+      if (index == attributes.length || attributes[index] != attribute) {
+        closure.clear(attribute);
+      }
+    }
+  }
+
+  AttributeSet with(final int attribute, final int attributeCount) {
+    if (contains(attribute)) {
+      return this;
+    }
+    if (bitmap != null) {
+      final BitSet extended = (BitSet) bitmap.clone();
+      extended.set(attribute);
+      return new AttributeSet(null, extended);
+    }
+    final int[] extended = new int[attributes.length + 1];
+    final int position = -Arrays.binarySearch(attributes, attribute) - 1;
+    System.arraycopy(attributes, 0, extended, 0, position);
+    extended[position] = attribute;
+    System.arraycopy(attributes, position, extended, position + 1, attributes.length - position);
+    return of(extended, extended.length, attributeCount);
+  }
+
+  AttributeSet union(final AttributeSet other, final int attributeCount) {
+    final BitSet union = toBitSet();
+    union.or(other.toBitSet());
+    return of(union, attributeCount);
+  }
+
+  /**
+   * @return the approximate heap size of the set
+   */
+  long sizeOf() {
+    if (attributes != null) {
+      return OBJECT_OVERHEAD + (long) attributes.length * Integer.BYTES;
+    }
+    return OBJECT_OVERHEAD + BITMAP_OVERHEAD + (long) bitmap.size() / Byte.SIZE;
+  }
+
+  /**
+   * Write the number of attributes followed by the attributes, or the negated number of words
+   * followed by the words of a bitmap.
+   */
+  void write(final DataOutput out) throws IOException {
+    if (bitmap == null) {
+      out.writeInt(attributes.length);
+      for (final int attribute : attributes) {
+        out.writeInt(attribute);
+      }
+      return;
+    }
+    final long[] words = bitmap.toLongArray();
+    out.writeInt(-words.length);
+    for (final long word : words) {
+      out.writeLong(word);
+    }
+  }
+
+  static AttributeSet read(final DataInput in) throws IOException {
+    final int length = in.readInt();
+    if (length >= 0) {
+      final int[] attributes = new int[length];
+      for (int index = 0; index < length; ++index) {
+        attributes[index] = in.readInt();
+      }
+      return new AttributeSet(attributes, null);
+    }
+    final long[] words = new long[-length];
+    for (int index = 0; index < words.length; ++index) {
+      words[index] = in.readLong();
+    }
+    return new AttributeSet(null, BitSet.valueOf(words));
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof AttributeSet)) {
+      return false;
+    }
+    final AttributeSet set = (AttributeSet) other;
+    if (hash != set.hash || (attributes == null) != (set.attributes == null)) {
+      return false;
+    }
+    return attributes != null ? Arrays.equals(attributes, set.attributes)
+        : bitmap.equals(set.bitmap);
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return toBitSet().toString();
+  }
+}
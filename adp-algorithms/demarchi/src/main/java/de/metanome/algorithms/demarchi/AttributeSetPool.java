@@ -0,0 +1,100 @@
+package de.metanome.algorithms.demarchi;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Interns {@link AttributeSet}s, so that each distinct set exists only once.
+ *
+ * <p>The pool also keeps the sets which values held only on their way to their final set. It is
+ * meant to live as long as the values which refer to its sets.</p>
+ *
+ * <p>For every interned set, the pool remembers the set it was last extended to. Values are mostly
+ * added attribute by attribute, so consecutive values tend to take the same transition, which
+ * then needs neither a new set nor an interning lookup.</p>
+ */
+class AttributeSetPool {
+
+  /**
+   * Hash map node and table slot of an interned set.
+   */
+  private static final long ENTRY_OVERHEAD = 32 + 8;
+  /**
+   * Transition object and the two table slots of its identity hash map entry.
+   */
+  private static final long TRANSITION_OVERHEAD = 24 + 16;
+
+  private final int attributeCount;
+  private final Map<AttributeSet, AttributeSet> sets = new HashMap<>();
+  private final AttributeSet[] singletons;
+  private final Map<AttributeSet, Transition> transitions = new IdentityHashMap<>();
+  private long bytes = 0;
+
+  AttributeSetPool(final int attributeCount) {
+    this.attributeCount = attributeCount;
+    this.singletons = new AttributeSet[attributeCount];
+  }
+
+  AttributeSet singleton(final int attribute) {
+    AttributeSet set = singletons[attribute];
+    if (set == null) {
+      set = intern(AttributeSet.of(new int[]{attribute}, 1, attributeCount));
+      singletons[attribute] = set;
+    }
+    return set;
+  }
+
+  /**
+   * @return the interned set which holds the attributes of the given interned set plus the given
+   * attribute
+   */
+  AttributeSet with(final AttributeSet set, final int attribute) {
+    Transition transition = transitions.get(set);
+    if (transition != null && transition.attribute == attribute) {
+      return transition.successor;
+    }
+    final AttributeSet extended = intern(set.with(attribute, attributeCount));
+    if (transition == null) {
+      transition = new Transition();
+      transitions.put(set, transition);
+      bytes += TRANSITION_OVERHEAD;
+    }
+    transition.attribute = attribute;
+    transition.successor = extended;
+    return extended;
+  }
+
+  AttributeSet union(final AttributeSet set, final AttributeSet other) {
+    if (set == other) {
+      return set;
+    }
+    return intern(set.union(other, attributeCount));
+  }
+
+  AttributeSet intern(final AttributeSet set) {
+    final AttributeSet existing = sets.putIfAbsent(set, set);
+    if (existing != null) {
+      return existing;
+    }
+    bytes += ENTRY_OVERHEAD + set.sizeOf();
+    return set;
+  }
+
+  int size() {
+    return sets.size();
+  }
+
+  /**
+   * @return the approximate heap size of all interned sets
+   */
+  long getBytes() {
+    return bytes;
+  }
+
+  private static final class Transition {
+
+    private int attribute;
+    private AttributeSet successor;
+  }
+}
@@ -1,5 +1,6 @@
 package de.metanome.algorithms.demarchi;
 
+import de.metanome.algorithm_integration.algorithm_execution.FileGenerator;
 import de.metanome.algorithm_integration.input.RelationalInputGenerator;
 import de.metanome.algorithm_integration.input.TableInputGenerator;
 import de.metanome.algorithm_integration.result_receiver.InclusionDependencyResultReceiver;
@@ -24,7 +25,26 @@ public class Configuration {
 
   private boolean processEmptyColumns;
   private int inputRowLimit;
+  /**
+   * Share of the maximum heap which the values of a domain may occupy before they are spilled to
+   * disk. Only used without a memory budget; non-positive values disable spilling.
+   */
+  private int maxMemoryUsagePercentage;
+  /**
+   * Bytes which the values of a domain may occupy before they are spilled to disk.
+   */
+  private long memoryBudget;
+  /**
+   * Number of hash partitions which spilled values are split into.
+   */
+  private int spillPartitions;
+  /**
+   * Number of threads which process type domains and closure shards concurrently; values up to one
+   * process everything on the calling thread.
+   */
+  private int parallelism;
 
+  private FileGenerator tempFileGenerator;
   private InclusionDependencyResultReceiver resultReceiver;
 
   public static Configuration withDefaults() {
@@ -32,6 +52,11 @@ public class Configuration {
         .relationalInputGenerators(Collections.emptyList())
         .processEmptyColumns(true)
         .inputRowLimit(-1)
+        .maxMemoryUsagePercentage(50)
+        .memoryBudget(0)
+        .spillPartitions(16)
+        .parallelism(1)
+        .tempFileGenerator(null)
         .resultReceiver(null)
         .build();
   }
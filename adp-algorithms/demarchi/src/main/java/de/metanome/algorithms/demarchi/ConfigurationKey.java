@@ -4,4 +4,8 @@ public enum ConfigurationKey {
   TABLE,
   PROCESS_EMPTY_COLUMNS,
   INPUT_ROW_LIMIT,
+  MAX_MEMORY_USAGE_PERCENTAGE,
+  MEMORY_BUDGET_MB,
+  SPILL_PARTITIONS,
+  PARALLELISM,
 }
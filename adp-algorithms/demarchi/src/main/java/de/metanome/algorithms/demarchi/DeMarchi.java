@@ -1,41 +1,42 @@
 package de.metanome.algorithms.demarchi;
 
-import static java.util.stream.Collectors.toSet;
-
 import com.google.common.annotations.VisibleForTesting;
 import de.metanome.algorithm_integration.AlgorithmExecutionException;
 import de.metanome.algorithm_integration.input.RelationalInput;
 import de.metanome.algorithm_integration.input.RelationalInputGenerator;
 import de.metanome.algorithm_integration.results.InclusionDependency;
-import de.metanome.util.AttributeHelper;
 import de.metanome.util.BitSetIterator;
 import de.metanome.util.InclusionDependencyBuilder;
+import de.metanome.util.InclusionDependencySink;
 import de.metanome.util.TableInfo;
 import de.metanome.util.TableInfoFactory;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 public class DeMarchi {
 
   private final TableInfoFactory tableInfoFactory;
-  private final AttributeHelper attributeHelper;
 
   private Configuration configuration;
   private int attributeCount;
   private Attribute[] attributeIndex;
+  private InclusionDependencySink sink;
+  private ForkJoinPool workers;
 
   public DeMarchi() {
     tableInfoFactory = new TableInfoFactory();
-    attributeHelper = new AttributeHelper();
   }
 
   @VisibleForTesting
   DeMarchi(final TableInfoFactory tableInfoFactory) {
     this.tableInfoFactory = tableInfoFactory;
-    attributeHelper = new AttributeHelper();
   }
 
   public void execute(final Configuration configuration) throws AlgorithmExecutionException {
@@ -47,15 +48,17 @@ public class DeMarchi {
     attributeIndex = new Attribute[attributeCount];
     fillAttributeIndex(tables);
 
-    if (onlyOneTypePresent(tables)) {
-      handleSingleDomain(tables);
-    } else {
-      handleMultipleDomains();
+    sink = new InclusionDependencySink(configuration.getResultReceiver());
+    workers = configuration.getParallelism() > 1
+        ? new ForkJoinPool(configuration.getParallelism()) : null;
+    try {
+      handleDomains(tables);
+    } finally {
+      if (workers != null) {
+        workers.shutdownNow();
+      }
     }
-  }
-
-  private boolean onlyOneTypePresent(final Collection<TableInfo> tables) {
-    return tables.stream().flatMap(t -> t.getColumnTypes().stream()).collect(toSet()).size() == 1;
+    sink.close();
   }
 
   private void fillAttributeIndex(final Collection<TableInfo> tables) {
@@ -67,8 +70,6 @@ public class DeMarchi {
             .tableName(table.getTableName())
             .name(table.getColumnNames().get(index))
             .type(table.getColumnTypes().get(index))
-            .relationalInputGenerator(table.getRelationalInputGenerator())
-            .tableInputGenerator(table.getTableInputGenerator())
             .build();
         ++attributeId;
       }
@@ -76,14 +77,56 @@ public class DeMarchi {
   }
 
   /**
-   * DeMarchi Fast Path: Given only a single attribute type (CSV, life science database) we can
-   * ignore the extraction contexts entirely. Savings: for CSV we then require only one scan per
-   * relation instead of relation scans in the number of attributes. For a database only one query
-   * per relation is required instead of queries in the number of attributes.
+   * Compute the INDs of all type domains with one scan per relation: each domain has its own value
+   * index, and the scan routes every value into the index of its attribute's domain. A file is
+   * thus read once instead of once per attribute, and a database receives one query per relation
+   * instead of one per attribute. File inputs type all columns as strings, so they form a single
+   * domain.
+   *
+   * <p>The domains share the memory budget in proportion to their number of attributes. Given a
+   * worker pool, the closures of the domains are computed concurrently.</p>
    */
-  private void handleSingleDomain(final List<TableInfo> tables) throws AlgorithmExecutionException {
+  private void handleDomains(final List<TableInfo> tables) throws AlgorithmExecutionException {
+    final List<BitSet> domains = new ArrayList<>(groupAttributesByType().values());
+    final ValueIndex[] valueIndexes = new ValueIndex[domains.size()];
+    final ValueIndex[] valueIndexByAttribute = new ValueIndex[attributeCount];
     final BitSet nonEmptyAttributes = new BitSet(attributeCount);
-    final Map<String, BitSet> attributesByValue = new HashMap<>();
+    try {
+      try {
+        for (int domain = 0; domain < domains.size(); ++domain) {
+          final BitSet attributes = domains.get(domain);
+          valueIndexes[domain] = createValueIndex(getMemoryBudget(attributes));
+          final BitSetIterator iterator = BitSetIterator.of(attributes);
+          while (iterator.hasNext()) {
+            valueIndexByAttribute[iterator.next()] = valueIndexes[domain];
+          }
+        }
+
+        scanRelations(tables, valueIndexByAttribute, nonEmptyAttributes);
+
+        if (configuration.isProcessEmptyColumns()) {
+          for (final BitSet attributes : domains) {
+            final BitSet emptyAttributes = (BitSet) attributes.clone();
+            emptyAttributes.andNot(nonEmptyAttributes);
+            final BitSetIterator iterator = BitSetIterator.of(emptyAttributes);
+            while (iterator.hasNext()) {
+              handleEmptyAttribute(iterator.next(), attributes);
+            }
+          }
+        }
+
+        computeInclusionDependencies(valueIndexes);
+      } finally {
+        close(valueIndexes);
+      }
+    } catch (final IOException e) {
+      throw new AlgorithmExecutionException("spilling values failed", e);
+    }
+  }
+
+  private void scanRelations(final List<TableInfo> tables,
+      final ValueIndex[] valueIndexByAttribute, final BitSet nonEmptyAttributes)
+      throws AlgorithmExecutionException {
 
     int attributeId = 0;
     for (final TableInfo table : tables) {
@@ -105,9 +148,7 @@ public class DeMarchi {
             final String value = values.get(index);
             if (value != null) {
               nonEmptyAttributes.set(attributeId + index);
-              attributesByValue
-                  .computeIfAbsent(value, v -> new BitSet(attributeCount))
-                  .set(attributeId + index);
+              valueIndexByAttribute[attributeId + index].add(value, attributeId + index);
             }
           }
         }
@@ -117,24 +158,88 @@ public class DeMarchi {
         throw new AlgorithmExecutionException("relation scan failed", e);
       }
     }
+  }
 
-    if (configuration.isProcessEmptyColumns()) {
-      nonEmptyAttributes.flip(0, attributeCount);
-      final BitSetIterator iterator = BitSetIterator.of(nonEmptyAttributes);
-      final BitSet allAttributes = new BitSet(attributeCount);
-      allAttributes.set(0, attributeCount);
-      while (iterator.hasNext()) {
-        handleEmptyAttribute(iterator.next(), allAttributes);
+  /**
+   * Type domains are independent of each other, hence their closures may be computed
+   * concurrently.
+   */
+  private void computeInclusionDependencies(final ValueIndex[] valueIndexes)
+      throws AlgorithmExecutionException, IOException {
+
+    if (workers == null) {
+      for (final ValueIndex valueIndex : valueIndexes) {
+        computeInclusionDependencies(valueIndex.computeClosures());
       }
+      return;
+    }
+
+    final List<ForkJoinTask<?>> tasks = new ArrayList<>(valueIndexes.length);
+    for (final ValueIndex valueIndex : valueIndexes) {
+      tasks.add(workers.submit(ForkJoinTask.adapt(() -> {
+        try {
+          computeInclusionDependencies(valueIndex.computeClosures());
+        } catch (final IOException e) {
+          throw new DomainFailure(new AlgorithmExecutionException("spilling values failed", e));
+        } catch (final AlgorithmExecutionException e) {
+          throw new DomainFailure(e);
+        }
+      })));
+    }
+    joinAll(tasks);
+  }
+
+  private void joinAll(final List<ForkJoinTask<?>> tasks) throws AlgorithmExecutionException {
+    AlgorithmExecutionException failure = null;
+    for (final ForkJoinTask<?> task : tasks) {
+      try {
+        task.join();
+      } catch (final DomainFailure e) {
+        if (failure == null) {
+          failure = e.getCause();
+        } else {
+          failure.addSuppressed(e.getCause());
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private static class DomainFailure extends RuntimeException {
+
+    private DomainFailure(final AlgorithmExecutionException cause) {
+      super(cause);
     }
 
-    computeInclusionDependencies(computeClosures(attributesByValue));
+    @Override
+    public synchronized AlgorithmExecutionException getCause() {
+      return (AlgorithmExecutionException) super.getCause();
+    }
   }
 
-  private void handleMultipleDomains() throws AlgorithmExecutionException {
-    final Map<String, BitSet> attributesByType = groupAttributesByType();
-    for (final BitSet attributes : attributesByType.values()) {
-      handleDomain(attributes);
+  /**
+   * Close all value indexes, even if some of them fail.
+   */
+  private void close(final ValueIndex[] valueIndexes) throws IOException {
+    IOException failure = null;
+    for (final ValueIndex valueIndex : valueIndexes) {
+      if (valueIndex == null) {
+        continue;
+      }
+      try {
+        valueIndex.close();
+      } catch (final IOException e) {
+        if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
     }
   }
 
@@ -152,31 +257,29 @@ public class DeMarchi {
     return info.stream().mapToInt(TableInfo::getColumnCount).sum();
   }
 
-  private void handleDomain(final BitSet attributes) throws AlgorithmExecutionException {
-    final Map<String, BitSet> attributesByValue = groupAttributesByValue(attributes);
-    final BitSet[] closures = computeClosures(attributesByValue);
-    computeInclusionDependencies(closures);
+  private ValueIndex createValueIndex(final long memoryBudget) {
+    return new ValueIndex(attributeCount, memoryBudget, configuration.getSpillPartitions(),
+        configuration.getTempFileGenerator(), workers);
   }
 
-  private Map<String, BitSet> groupAttributesByValue(final BitSet attributes)
-      throws AlgorithmExecutionException {
-
-    final Map<String, BitSet> attributesByValue = new HashMap<>();
-    final BitSet emptyAttributes = new BitSet(attributeIndex.length);
-
-    final BitSetIterator iterator = BitSetIterator.of(attributes);
-    while (iterator.hasNext()) {
-      addValues(iterator.next(), attributesByValue, emptyAttributes);
+  /**
+   * @return the share of the memory budget of a domain, which is positive unless spilling is
+   * disabled
+   */
+  private long getMemoryBudget(final BitSet domain) {
+    final long memoryBudget = getMemoryBudget();
+    if (memoryBudget <= 0) {
+      return memoryBudget;
     }
+    return Math.max(1, memoryBudget * domain.cardinality() / attributeCount);
+  }
 
-    if (configuration.isProcessEmptyColumns()) {
-      final BitSetIterator empty = BitSetIterator.of(emptyAttributes);
-      while (empty.hasNext()) {
-        handleEmptyAttribute(empty.next(), attributes);
-      }
+  private long getMemoryBudget() {
+    if (configuration.getMemoryBudget() > 0) {
+      return configuration.getMemoryBudget();
     }
-
-    return attributesByValue;
+    final long available = Runtime.getRuntime().maxMemory();
+    return (long) (available * (configuration.getMaxMemoryUsagePercentage() / 100.0d));
   }
 
   private void handleEmptyAttribute(final int attribute, final BitSet attributes)
@@ -191,25 +294,6 @@ public class DeMarchi {
     }
   }
 
-  private BitSet[] computeClosures(final Map<String, BitSet> attributesByValue) {
-    final BitSet[] closures = new BitSet[attributeCount];
-
-    for (Map.Entry<String, BitSet> entry : attributesByValue.entrySet()) {
-      final BitSetIterator iterator = BitSetIterator.of(entry.getValue());
-      while (iterator.hasNext()) {
-        final int attribute = iterator.next();
-        if (closures[attribute] == null) {
-          final BitSet set = new BitSet(attributeCount);
-          set.or(entry.getValue());
-          closures[attribute] = set;
-        } else {
-          closures[attribute].and(entry.getValue());
-        }
-      }
-    }
-    return closures;
-  }
-
   private void computeInclusionDependencies(final BitSet[] closures)
       throws AlgorithmExecutionException {
 
@@ -236,23 +320,6 @@ public class DeMarchi {
         .referenced().column(rhs.getTableName(), rhs.getName())
         .build();
 
-    configuration.getResultReceiver().receiveResult(ind);
-  }
-
-  private void addValues(final int attributeId,
-      final Map<String, BitSet> attributesByValue,
-      final BitSet emptyAttributes) throws AlgorithmExecutionException {
-
-    final Attribute attribute = attributeIndex[attributeId];
-    final boolean hasValue = attributeHelper.getValues(attribute.selectInputGenerator(),
-        attribute.getTableName(), attribute.getName(), configuration.getInputRowLimit(), value -> {
-          attributesByValue
-              .computeIfAbsent(value, v -> new BitSet(attributeCount))
-              .set(attributeId);
-        });
-
-    if (!hasValue) {
-      emptyAttributes.set(attributeId);
-    }
+    sink.receive(ind);
   }
 }
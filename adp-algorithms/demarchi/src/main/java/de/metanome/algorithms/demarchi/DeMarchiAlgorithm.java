@@ -5,10 +5,12 @@ import static java.util.Arrays.asList;
 import com.google.common.base.Joiner;
 import de.metanome.algorithm_integration.AlgorithmConfigurationException;
 import de.metanome.algorithm_integration.AlgorithmExecutionException;
+import de.metanome.algorithm_integration.algorithm_execution.FileGenerator;
 import de.metanome.algorithm_integration.algorithm_types.BooleanParameterAlgorithm;
 import de.metanome.algorithm_integration.algorithm_types.InclusionDependencyAlgorithm;
 import de.metanome.algorithm_integration.algorithm_types.IntegerParameterAlgorithm;
 import de.metanome.algorithm_integration.algorithm_types.RelationalInputParameterAlgorithm;
+import de.metanome.algorithm_integration.algorithm_types.TempFileAlgorithm;
 import de.metanome.algorithm_integration.configuration.ConfigurationRequirement;
 import de.metanome.algorithm_integration.configuration.ConfigurationRequirementBoolean;
 import de.metanome.algorithm_integration.configuration.ConfigurationRequirementInteger;
@@ -21,7 +23,10 @@ import java.util.ArrayList;
 public class DeMarchiAlgorithm implements InclusionDependencyAlgorithm,
     RelationalInputParameterAlgorithm,
     BooleanParameterAlgorithm,
-    IntegerParameterAlgorithm {
+    IntegerParameterAlgorithm,
+    TempFileAlgorithm {
+
+  private static final long MB = 1024L * 1024L;
 
   private final DeMarchi impl;
   private final Configuration defaultValues;
@@ -39,6 +44,10 @@ public class DeMarchiAlgorithm implements InclusionDependencyAlgorithm,
     requirements.add(relationalInput());
     requirements.add(processEmptyColumns());
     requirements.add(rowCount());
+    requirements.add(maxMemoryUsagePercentage());
+    requirements.add(memoryBudget());
+    requirements.add(spillPartitions());
+    requirements.add(parallelism());
     return requirements;
   }
 
@@ -53,6 +62,34 @@ public class DeMarchiAlgorithm implements InclusionDependencyAlgorithm,
     return requirement;
   }
 
+  private ConfigurationRequirement<?> maxMemoryUsagePercentage() {
+    final ConfigurationRequirementInteger requirement = new ConfigurationRequirementInteger(
+        ConfigurationKey.MAX_MEMORY_USAGE_PERCENTAGE.name());
+    requirement.setDefaultValues(new Integer[]{defaultValues.getMaxMemoryUsagePercentage()});
+    return requirement;
+  }
+
+  private ConfigurationRequirement<?> memoryBudget() {
+    final ConfigurationRequirementInteger requirement = new ConfigurationRequirementInteger(
+        ConfigurationKey.MEMORY_BUDGET_MB.name());
+    requirement.setDefaultValues(new Integer[]{(int) (defaultValues.getMemoryBudget() / MB)});
+    return requirement;
+  }
+
+  private ConfigurationRequirement<?> spillPartitions() {
+    final ConfigurationRequirementInteger requirement = new ConfigurationRequirementInteger(
+        ConfigurationKey.SPILL_PARTITIONS.name());
+    requirement.setDefaultValues(new Integer[]{defaultValues.getSpillPartitions()});
+    return requirement;
+  }
+
+  private ConfigurationRequirement<?> parallelism() {
+    final ConfigurationRequirementInteger requirement = new ConfigurationRequirementInteger(
+        ConfigurationKey.PARALLELISM.name());
+    requirement.setDefaultValues(new Integer[]{defaultValues.getParallelism()});
+    return requirement;
+  }
+
   private ConfigurationRequirement<?> tableInput() {
     return new ConfigurationRequirementTableInput(
         ConfigurationKey.TABLE.name(),
@@ -99,11 +136,24 @@ public class DeMarchiAlgorithm implements InclusionDependencyAlgorithm,
 
     if (identifier.equals(ConfigurationKey.INPUT_ROW_LIMIT.name())) {
       builder.inputRowLimit(values[0]);
+    } else if (identifier.equals(ConfigurationKey.MAX_MEMORY_USAGE_PERCENTAGE.name())) {
+      builder.maxMemoryUsagePercentage(values[0]);
+    } else if (identifier.equals(ConfigurationKey.MEMORY_BUDGET_MB.name())) {
+      builder.memoryBudget(values[0] * MB);
+    } else if (identifier.equals(ConfigurationKey.SPILL_PARTITIONS.name())) {
+      builder.spillPartitions(values[0]);
+    } else if (identifier.equals(ConfigurationKey.PARALLELISM.name())) {
+      builder.parallelism(values[0]);
     } else {
       handleUnknownConfiguration(identifier, values);
     }
   }
 
+  @Override
+  public void setTempFileGenerator(final FileGenerator tempFileGenerator) {
+    builder.tempFileGenerator(tempFileGenerator);
+  }
+
   @SafeVarargs
   private final <T> void handleUnknownConfiguration(final String identifier, final T... values)
       throws AlgorithmConfigurationException {
@@ -0,0 +1,371 @@
+package de.metanome.algorithms.demarchi;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import de.metanome.algorithm_integration.algorithm_execution.FileGenerator;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Groups the attributes of a domain by value within a memory budget.
+ *
+ * <p>As long as the budget suffices, all values are kept in memory. Once it is exceeded, the
+ * buffered values are hash partitioned into spill files together with their attributes, and so
+ * are all further values when the buffer fills up again. The closures are then computed partition
+ * by partition: a value falls into exactly one partition, so the closure of an attribute is the
+ * intersection of its partial closures. A partition which still exceeds the budget on its own is
+ * partitioned again with another hash.</p>
+ *
+ * <p>The attribute sets of the values are interned, as most values share a few sets. Each closure
+ * is an intersection, which does not change when a set is intersected twice, hence the closures
+ * are computed once per distinct set rather than once per value.</p>
+ *
+ * <p>Given a worker pool, the distinct sets are split into shards by hash. Each shard yields
+ * partial closures, which are intersected just like the ones of spill partitions.</p>
+ */
+class ValueIndex implements Closeable {
+
+  /**
+   * Headers of the string and its characters plus the hash map node and table slot; the attribute
+   * sets are accounted for by their pool.
+   */
+  private static final long ENTRY_OVERHEAD = 24 + 16 + 32 + 8;
+  private static final int MAX_DEPTH = 4;
+  private static final int BUFFER_SIZE = 8 * 1024;
+  /**
+   * Fewer distinct sets per shard do not pay off the task overhead.
+   */
+  static final int MIN_SHARD_SIZE = 1024;
+
+  private final int attributeCount;
+  private final long memoryBudget;
+  private final int partitions;
+  private final FileGenerator tempFileGenerator;
+  private final ForkJoinPool workers;
+
+  private Map<String, AttributeSet> attributesByValue = new HashMap<>();
+  private AttributeSetPool pool;
+  private long bufferedBytes = 0;
+  private Path[] spillFiles;
+  private DataOutputStream[] spillWriters;
+  private final List<Path> subPartitionFiles = new ArrayList<>();
+
+  /**
+   * @param memoryBudget bytes the buffered values may occupy; non-positive values disable spilling
+   * @param tempFileGenerator source of the spill files; {@code null} uses the default temporary
+   * directory
+   * @param workers pool which computes the closures of shards; {@code null} computes them on the
+   * calling thread
+   */
+  ValueIndex(final int attributeCount, final long memoryBudget, final int partitions,
+      final FileGenerator tempFileGenerator, final ForkJoinPool workers) {
+
+    this.attributeCount = attributeCount;
+    this.memoryBudget = memoryBudget;
+    this.partitions = Math.max(2, partitions);
+    this.tempFileGenerator = tempFileGenerator;
+    this.workers = workers;
+    this.pool = new AttributeSetPool(attributeCount);
+  }
+
+  void add(final String value, final int attribute) {
+    final AttributeSet attributes = attributesByValue.get(value);
+    if (attributes == null) {
+      attributesByValue.put(value, pool.singleton(attribute));
+      bufferedBytes += sizeOf(value);
+    } else if (!attributes.contains(attribute)) {
+      attributesByValue.put(value, pool.with(attributes, attribute));
+    } else {
+      return;
+    }
+
+    if (isExceeded(bufferedBytes + pool.getBytes())) {
+      try {
+        spill();
+      } catch (final IOException e) {
+        throw new UncheckedIOException("spilling values failed", e);
+      }
+    }
+  }
+
+  boolean hasSpilled() {
+    return spillFiles != null;
+  }
+
+  /**
+   * @return the closure of every attribute, i.e. the attributes which contain all of its values, or
+   * {@code null} for attributes without values
+   */
+  BitSet[] computeClosures() throws IOException {
+    if (!hasSpilled()) {
+      return computeClosures(attributesByValue);
+    }
+
+    spill();
+    for (final DataOutputStream writer : spillWriters) {
+      writer.close();
+    }
+    spillWriters = null;
+
+    final BitSet[] closures = new BitSet[attributeCount];
+    for (int partition = 0; partition < partitions; ++partition) {
+      computeClosures(spillFiles[partition], 1, closures);
+      Files.deleteIfExists(spillFiles[partition]);
+    }
+    return closures;
+  }
+
+  private void computeClosures(final Path file, final int depth, final BitSet[] closures)
+      throws IOException {
+
+    final Map<String, AttributeSet> partition = new HashMap<>();
+    final AttributeSetPool partitionPool = new AttributeSetPool(attributeCount);
+    long partitionBytes = 0;
+    boolean oversized = false;
+    try (DataInputStream in = openReader(file)) {
+      String value;
+      while (!oversized && (value = readValue(in)) != null) {
+        final AttributeSet attributes = partitionPool.intern(AttributeSet.read(in));
+        final AttributeSet existing = partition.putIfAbsent(value, attributes);
+        if (existing != null) {
+          partition.put(value, partitionPool.union(existing, attributes));
+        } else {
+          partitionBytes += sizeOf(value);
+        }
+        // Beyond the maximum depth, the values most likely share their hash code.
+        oversized = isExceeded(partitionBytes + partitionPool.getBytes()) && depth < MAX_DEPTH;
+      }
+    }
+
+    if (oversized) {
+      partition.clear();
+      for (final Path subPartition : repartition(file, depth)) {
+        computeClosures(subPartition, depth + 1, closures);
+        Files.deleteIfExists(subPartition);
+      }
+      return;
+    }
+
+    intersect(closures, computeClosures(partition));
+  }
+
+  private BitSet[] computeClosures(final Map<String, AttributeSet> attributesByValue) {
+    final Set<AttributeSet> distinct = distinct(attributesByValue.values());
+    final int shards = workers == null ? 1
+        : Math.min(workers.getParallelism(), distinct.size() / MIN_SHARD_SIZE);
+    if (shards <= 1) {
+      return computeClosures(distinct);
+    }
+
+    final List<List<AttributeSet>> sharded = new ArrayList<>(shards);
+    for (int shard = 0; shard < shards; ++shard) {
+      sharded.add(new ArrayList<>(distinct.size() / shards + 1));
+    }
+    for (final AttributeSet attributes : distinct) {
+      sharded.get(Math.floorMod(attributes.hashCode(), shards)).add(attributes);
+    }
+
+    final List<ForkJoinTask<BitSet[]>> tasks = new ArrayList<>(shards);
+    for (final List<AttributeSet> shard : sharded) {
+      tasks.add(workers.submit(() -> computeClosures(shard)));
+    }
+    final BitSet[] closures = new BitSet[attributeCount];
+    for (final ForkJoinTask<BitSet[]> task : tasks) {
+      intersect(closures, task.join());
+    }
+    return closures;
+  }
+
+  private BitSet[] computeClosures(final Collection<AttributeSet> distinct) {
+    final BitSet[] closures = new BitSet[attributeCount];
+    for (final AttributeSet attributes : distinct) {
+      attributes.forEach(attribute -> {
+        if (closures[attribute] == null) {
+          closures[attribute] = attributes.toBitSet();
+        } else {
+          attributes.retainIn(closures[attribute]);
+        }
+      });
+    }
+    return closures;
+  }
+
+  /**
+   * The pool also holds sets which no value refers to anymore; those must not restrict the
+   * closures.
+   */
+  private Set<AttributeSet> distinct(final Collection<AttributeSet> sets) {
+    final Set<AttributeSet> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+    distinct.addAll(sets);
+    return distinct;
+  }
+
+  /**
+   * Intersect the closures with the partial closures of a partition or shard. An attribute without
+   * values in the partition does not restrict its closure.
+   */
+  private void intersect(final BitSet[] closures, final BitSet[] partial) {
+    for (int attribute = 0; attribute < attributeCount; ++attribute) {
+      if (partial[attribute] == null) {
+        continue;
+      }
+      if (closures[attribute] == null) {
+        closures[attribute] = partial[attribute];
+      } else {
+        closures[attribute].and(partial[attribute]);
+      }
+    }
+  }
+
+  private void spill() throws IOException {
+    if (spillFiles == null) {
+      spillFiles = createFiles();
+      spillWriters = openWriters(spillFiles);
+    }
+    for (final Map.Entry<String, AttributeSet> entry : attributesByValue.entrySet()) {
+      write(spillWriters[partitionOf(entry.getKey(), 0)], entry.getKey(), entry.getValue());
+    }
+    attributesByValue = new HashMap<>();
+    pool = new AttributeSetPool(attributeCount);
+    bufferedBytes = 0;
+  }
+
+  private Path[] repartition(final Path file, final int depth) throws IOException {
+    final Path[] files = new Path[partitions];
+    for (int partition = 0; partition < partitions; ++partition) {
+      files[partition] = createFile();
+      subPartitionFiles.add(files[partition]);
+    }
+    final DataOutputStream[] writers = openWriters(files);
+    try (DataInputStream in = openReader(file)) {
+      String value;
+      while ((value = readValue(in)) != null) {
+        write(writers[partitionOf(value, depth)], value, AttributeSet.read(in));
+      }
+    } finally {
+      for (final DataOutputStream writer : writers) {
+        writer.close();
+      }
+    }
+    return files;
+  }
+
+  /**
+   * Each depth uses another hash, so that the values of an oversized partition are spread.
+   */
+  private int partitionOf(final String value, final int depth) {
+    int hash = value.hashCode() + depth * 0x9E3779B9;
+    hash ^= hash >>> 16;
+    hash *= 0x85EBCA6B;
+    hash ^= hash >>> 13;
+    hash *= 0xC2B2AE35;
+    hash ^= hash >>> 16;
+    return Math.floorMod(hash, partitions);
+  }
+
+  private boolean isExceeded(final long bytes) {
+    return memoryBudget > 0 && bytes > memoryBudget;
+  }
+
+  private long sizeOf(final String value) {
+    return ENTRY_OVERHEAD + 2L * value.length();
+  }
+
+  private Path[] createFiles() throws IOException {
+    final Path[] files = new Path[partitions];
+    for (int partition = 0; partition < partitions; ++partition) {
+      files[partition] = createFile();
+    }
+    return files;
+  }
+
+  private Path createFile() throws IOException {
+    if (tempFileGenerator == null) {
+      return Files.createTempFile("demarchi", ".part");
+    }
+    try {
+      return tempFileGenerator.getTemporaryFile().toPath();
+    } catch (final Exception e) {
+      throw new IOException("creating spill file failed", e);
+    }
+  }
+
+  private DataOutputStream[] openWriters(final Path[] files) throws IOException {
+    final DataOutputStream[] writers = new DataOutputStream[files.length];
+    for (int index = 0; index < files.length; ++index) {
+      writers[index] = new DataOutputStream(
+          new BufferedOutputStream(Files.newOutputStream(files[index]), BUFFER_SIZE));
+    }
+    return writers;
+  }
+
+  private DataInputStream openReader(final Path file) throws IOException {
+    return new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+  }
+
+  /**
+   * A record holds the byte length and the UTF-8 bytes of the value, followed by its attribute
+   * set.
+   */
+  private void write(final DataOutputStream out, final String value,
+      final AttributeSet attributes) throws IOException {
+
+    final byte[] bytes = value.getBytes(UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+    attributes.write(out);
+  }
+
+  private String readValue(final DataInputStream in) throws IOException {
+    final int length;
+    try {
+      length = in.readInt();
+    } catch (final EOFException e) {
+      return null;
+    }
+    final byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  /**
+   * Remove the spill files and sub partitions which are left after a failure.
+   */
+  @Override
+  public void close() throws IOException {
+    if (spillWriters != null) {
+      for (final DataOutputStream writer : spillWriters) {
+        writer.close();
+      }
+      spillWriters = null;
+    }
+    if (spillFiles != null) {
+      for (final Path file : spillFiles) {
+        Files.deleteIfExists(file);
+      }
+    }
+    for (final Path file : subPartitionFiles) {
+      Files.deleteIfExists(file);
+    }
+    subPartitionFiles.clear();
+  }
+}
@@ -0,0 +1,82 @@
+package de.metanome.algorithms.demarchi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.BitSet;
+import org.junit.jupiter.api.Test;
+
+class AttributeSetTest {
+
+  private static final int ATTRIBUTE_COUNT = 130;
+
+  @Test
+  void setsShouldBeEqualRegardlessOfConstruction() {
+    final AttributeSetPool pool = new AttributeSetPool(ATTRIBUTE_COUNT);
+    AttributeSet grown = pool.singleton(3);
+    for (int attribute = 0; attribute < ATTRIBUTE_COUNT; attribute += 5) {
+      grown = pool.with(grown, attribute);
+    }
+
+    final BitSet expected = new BitSet();
+    expected.set(3);
+    for (int attribute = 0; attribute < ATTRIBUTE_COUNT; attribute += 5) {
+      expected.set(attribute);
+    }
+
+    assertThat(grown.toBitSet()).isEqualTo(expected);
+    assertThat(grown.size()).isEqualTo(expected.cardinality());
+    assertThat(pool.intern(AttributeSet.of(expected, ATTRIBUTE_COUNT))).isSameAs(grown);
+  }
+
+  @Test
+  void poolShouldReuseTransitions() {
+    final AttributeSetPool pool = new AttributeSetPool(ATTRIBUTE_COUNT);
+    final AttributeSet first = pool.with(pool.singleton(1), 7);
+    final AttributeSet second = pool.with(pool.singleton(7), 1);
+
+    assertThat(second).isSameAs(first);
+    assertThat(pool.with(pool.singleton(1), 7)).isSameAs(first);
+    assertThat(pool.size()).isEqualTo(3);
+  }
+
+  @Test
+  void retainInShouldIntersectSmallAndDenseSets() {
+    final BitSet closure = new BitSet();
+    closure.set(0, ATTRIBUTE_COUNT);
+
+    final BitSet dense = new BitSet();
+    dense.set(0, 100);
+    AttributeSet.of(dense, ATTRIBUTE_COUNT).retainIn(closure);
+    assertThat(closure).isEqualTo(dense);
+
+    AttributeSet.of(new int[]{2, 50, 120}, 3, ATTRIBUTE_COUNT).retainIn(closure);
+    assertThat(closure.stream().toArray()).containsExactly(2, 50);
+  }
+
+  @Test
+  void setsShouldSurviveSerialization() throws Exception {
+    final BitSet dense = new BitSet();
+    dense.set(10, 90);
+    final AttributeSet[] sets = {
+        AttributeSet.of(new int[]{4, 129}, 2, ATTRIBUTE_COUNT),
+        AttributeSet.of(dense, ATTRIBUTE_COUNT)};
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      for (final AttributeSet set : sets) {
+        set.write(out);
+      }
+    }
+
+    try (DataInputStream in = new DataInputStream(
+        new ByteArrayInputStream(bytes.toByteArray()))) {
+      for (final AttributeSet set : sets) {
+        assertThat(AttributeSet.read(in)).isEqualTo(set);
+      }
+    }
+  }
+}
@@ -84,6 +84,20 @@ class DeMarchiFastPathTest {
         .contains(emptyColumnOnLhs());
   }
 
+  @Test
+  void runDeMarchiWithSpilling() throws Exception {
+    final Configuration configuration = getConfiguration();
+    configuration.setMemoryBudget(1);
+    configuration.setSpillPartitions(2);
+
+    impl.execute(configuration);
+
+    verify(resultReceiver, atLeastOnce()).receiveResult(ind.capture());
+    assertThat(ind.getAllValues())
+        .hasSize(3)
+        .contains(expectedInd());
+  }
+
   private List<TableInfo> tableFixture() {
     return asList(TableInfo.builder().relationalInputGenerator(generator)
         .tableName(TABLE_NAME)
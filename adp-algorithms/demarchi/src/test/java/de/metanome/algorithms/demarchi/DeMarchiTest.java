@@ -5,6 +5,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import de.metanome.algorithm_integration.input.RelationalInputGenerator;
@@ -46,13 +48,13 @@ class DeMarchiTest {
 
     columnNames = asList("a", "b", "c", "d");
     columnTypes = asList("str", "int", "int", "str");
-    generator = RelationalInputGeneratorStub.builder()
+    generator = spy(RelationalInputGeneratorStub.builder()
         .relationName("Test")
         .columnNames(columnNames)
         .row(Row.of("1", "1", "1", null))
         .row(Row.of("1", "1", "3", null))
         .row(Row.of(null, "2", "2", null))
-        .build();
+        .build());
 
     given(tableInfoFactory.create(anyList(), anyList())).willReturn(tableFixture());
 
@@ -71,6 +73,28 @@ class DeMarchiTest {
         .isEqualTo(expectedInd());
   }
 
+  @Test
+  void typedRelationShouldBeScannedOnce() throws Exception {
+
+    impl.execute(getConfiguration());
+
+    verify(generator, times(1)).generateNewCopy();
+  }
+
+  @Test
+  void runDeMarchiWithParallelDomains() throws Exception {
+    final Configuration configuration = getConfiguration();
+    configuration.setProcessEmptyColumns(true);
+    configuration.setParallelism(2);
+
+    impl.execute(configuration);
+
+    verify(resultReceiver, atLeastOnce()).receiveResult(ind.capture());
+    assertThat(ind.getAllValues())
+        .hasSize(2)
+        .contains(expectedInd(), emptyColumnOnLhs());
+  }
+
   @Test
   void runDeMarchiProcessEmptyColumns() throws Exception {
     final Configuration configuration = getConfiguration();
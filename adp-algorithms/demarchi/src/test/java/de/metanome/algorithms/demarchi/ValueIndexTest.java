@@ -0,0 +1,139 @@
+package de.metanome.algorithms.demarchi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.metanome.algorithm_integration.algorithm_execution.FileCreationException;
+import de.metanome.util.FileGeneratorFake;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class ValueIndexTest {
+
+  private static final int ATTRIBUTE_COUNT = 6;
+
+  @Test
+  void spilledIndexShouldComputeSameClosures() throws Exception {
+    final BitSet[] expected;
+    try (ValueIndex index = new ValueIndex(ATTRIBUTE_COUNT, 0, 4, null, null)) {
+      fill(index);
+      assertThat(index.hasSpilled()).isFalse();
+      expected = index.computeClosures();
+    }
+
+    try (ValueIndex index = new ValueIndex(ATTRIBUTE_COUNT, 4 * 1024, 4, null, null)) {
+      fill(index);
+      assertThat(index.hasSpilled()).isTrue();
+      assertThat(index.computeClosures()).containsExactly(expected);
+    }
+  }
+
+  @Test
+  void oversizedPartitionsShouldBeRepartitioned() throws Exception {
+    final BitSet[] expected;
+    try (ValueIndex index = new ValueIndex(ATTRIBUTE_COUNT, 0, 2, null, null)) {
+      fill(index);
+      expected = index.computeClosures();
+    }
+
+    try (ValueIndex index = new ValueIndex(ATTRIBUTE_COUNT, 1, 2, null, null)) {
+      fill(index);
+      assertThat(index.computeClosures()).containsExactly(expected);
+    }
+  }
+
+  @Test
+  void subPartitionsShouldBeRemovedAfterFailure() throws Exception {
+    final List<File> files = new ArrayList<>();
+    final FileGeneratorFake tempFileGenerator = new FileGeneratorFake() {
+      @Override
+      public File getTemporaryFile() throws FileCreationException {
+        // The spill files and the first sub partitions can be created, the next ones fail.
+        if (files.size() == 5) {
+          throw new FileCreationException("disk full");
+        }
+        final File file = super.getTemporaryFile();
+        files.add(file);
+        return file;
+      }
+    };
+
+    try (ValueIndex index = new ValueIndex(ATTRIBUTE_COUNT, 1, 2, tempFileGenerator, null)) {
+      fill(index);
+      assertThatThrownBy(index::computeClosures).isInstanceOf(IOException.class);
+    }
+
+    assertThat(files).hasSize(5).extracting(File::exists).containsOnly(false);
+  }
+
+  @Test
+  void attributeWithoutValuesShouldHaveNoClosure() throws Exception {
+    try (ValueIndex index = new ValueIndex(ATTRIBUTE_COUNT, 1, 2, null, null)) {
+      index.add("a", 0);
+      index.add("a", 1);
+      index.add("b", 1);
+
+      final BitSet[] closures = index.computeClosures();
+
+      assertThat(closures[0]).isEqualTo(BitSet.valueOf(new long[]{0b11}));
+      assertThat(closures[1]).isEqualTo(BitSet.valueOf(new long[]{0b10}));
+      assertThat(closures[2]).isNull();
+    }
+  }
+
+  @Test
+  void shardedClosuresShouldEqualSequentialOnes() throws Exception {
+    final int attributeCount = 16;
+    final BitSet[] expected;
+    try (ValueIndex index = new ValueIndex(attributeCount, 0, 2, null, null)) {
+      fillRandomly(index, attributeCount);
+      expected = index.computeClosures();
+    }
+
+    final ForkJoinPool workers = new ForkJoinPool(4);
+    try (ValueIndex index = new ValueIndex(attributeCount, 0, 2, null, workers)) {
+      fillRandomly(index, attributeCount);
+      assertThat(index.computeClosures()).containsExactly(expected);
+    } finally {
+      workers.shutdownNow();
+    }
+  }
+
+  /**
+   * Attribute 0 holds the values 0 to 99, attribute {@code n} the values up to {@code 100 * n} and
+   * attribute 5 a random sample.
+   */
+  private void fill(final ValueIndex index) {
+    for (int attribute = 0; attribute < ATTRIBUTE_COUNT - 1; ++attribute) {
+      for (int value = 0; value < 100 * (attribute + 1); ++value) {
+        index.add(Integer.toString(value), attribute);
+      }
+    }
+    final Random random = new Random(42);
+    for (int value = 0; value < 200; ++value) {
+      index.add(Integer.toString(random.nextInt(1000)), ATTRIBUTE_COUNT - 1);
+    }
+  }
+
+  /**
+   * Every value is held by a random subset of the attributes, which yields enough distinct sets
+   * for several shards; the first attribute holds all values.
+   */
+  private void fillRandomly(final ValueIndex index, final int attributeCount) {
+    final Random random = new Random(42);
+    for (int value = 0; value < 8 * ValueIndex.MIN_SHARD_SIZE; ++value) {
+      final int attributes = random.nextInt(1 << attributeCount) | 1;
+      for (int attribute = 0; attribute < attributeCount; ++attribute) {
+        if ((attributes & (1 << attribute)) != 0) {
+          index.add(Integer.toString(value), attribute);
+        }
+      }
+    }
+  }
+}
@@ -3,6 +3,10 @@ package de.metanome.algorithms.demarchi;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Random;
+import java.util.Set;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
@@ -15,6 +19,10 @@ import org.openjdk.jmh.infra.Blackhole;
 /**
  * Setup: Create k sets of type X. Each set has exactly one element less than its predecessor.
  * Test: Create a copy of the first set and measure how long it takes to intersect all remaining sets.
+ *
+ * The closure benchmarks model DeMarchi's value index instead: many values, each held by one to
+ * three attributes out of a few common patterns. They compute the closures of all attributes
+ * once with a full-width BitSet per value and once with interned AttributeSets.
  */
 @Fork(warmups = 1, value = 1)
 @Warmup(iterations = 3)
@@ -25,13 +33,22 @@ public class SetsBenchmark {
   private static final int ITEM_COUNT = 10_000;
   private static final int SET_COUNT = 10_000;
 
+  private static final int VALUE_COUNT = 100_000;
+  private static final int ATTRIBUTE_COUNT = 1_000;
+  private static final int PATTERN_COUNT = 200;
+
   private IntSet[] intSets;
   private BitSet[] bitSets;
+  private AttributeSet[] attributeSets;
+
+  private BitSet[] valueBitSets;
+  private AttributeSet[] valueAttributeSets;
 
   @Setup
   public void setUp() {
     intSets = new IntSet[SET_COUNT];
     bitSets = new BitSet[SET_COUNT];
+    attributeSets = new AttributeSet[SET_COUNT];
 
     for (int index = 0; index < SET_COUNT; ++index) {
 
@@ -42,6 +59,31 @@ public class SetsBenchmark {
         intSets[index].add(k);
         bitSets[index].set(k);
       }
+      attributeSets[index] = AttributeSet.of(bitSets[index], ITEM_COUNT);
+    }
+
+    setUpValues();
+  }
+
+  private void setUpValues() {
+    final Random random = new Random(42);
+    final BitSet[] patterns = new BitSet[PATTERN_COUNT];
+    for (int index = 0; index < PATTERN_COUNT; ++index) {
+      patterns[index] = new BitSet(ATTRIBUTE_COUNT);
+      final int size = 1 + random.nextInt(3);
+      for (int k = 0; k < size; ++k) {
+        patterns[index].set(random.nextInt(ATTRIBUTE_COUNT));
+      }
+    }
+
+    final AttributeSetPool pool = new AttributeSetPool(ATTRIBUTE_COUNT);
+    valueBitSets = new BitSet[VALUE_COUNT];
+    valueAttributeSets = new AttributeSet[VALUE_COUNT];
+    for (int index = 0; index < VALUE_COUNT; ++index) {
+      final BitSet pattern = patterns[random.nextInt(PATTERN_COUNT)];
+      valueBitSets[index] = new BitSet(ATTRIBUTE_COUNT);
+      valueBitSets[index].or(pattern);
+      valueAttributeSets[index] = pool.intern(AttributeSet.of(pattern, ATTRIBUTE_COUNT));
     }
   }
 
@@ -70,6 +112,56 @@ public class SetsBenchmark {
     checkLength(set.cardinality());
   }
 
+  @Benchmark
+  public void testAttributeSets(final Blackhole blackhole) {
+    final BitSet set = attributeSets[0].toBitSet();
+
+    for (int index = 1; index < SET_COUNT; ++index) {
+      attributeSets[index].retainIn(set);
+    }
+
+    blackhole.consume(set);
+    checkLength(set.cardinality());
+  }
+
+  @Benchmark
+  public void testBitSetClosures(final Blackhole blackhole) {
+    final BitSet[] closures = new BitSet[ATTRIBUTE_COUNT];
+
+    for (final BitSet attributes : valueBitSets) {
+      for (int attribute = attributes.nextSetBit(0); attribute >= 0;
+          attribute = attributes.nextSetBit(attribute + 1)) {
+        if (closures[attribute] == null) {
+          closures[attribute] = new BitSet(ATTRIBUTE_COUNT);
+          closures[attribute].or(attributes);
+        } else {
+          closures[attribute].and(attributes);
+        }
+      }
+    }
+
+    blackhole.consume(closures);
+  }
+
+  @Benchmark
+  public void testAttributeSetClosures(final Blackhole blackhole) {
+    final BitSet[] closures = new BitSet[ATTRIBUTE_COUNT];
+
+    final Set<AttributeSet> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+    Collections.addAll(distinct, valueAttributeSets);
+    for (final AttributeSet attributes : distinct) {
+      attributes.forEach(attribute -> {
+        if (closures[attribute] == null) {
+          closures[attribute] = attributes.toBitSet();
+        } else {
+          attributes.retainIn(closures[attribute]);
+        }
+      });
+    }
+
+    blackhole.consume(closures);
+  }
+
   private void checkLength(final int length) {
     if (length != 1) {
       throw new IllegalStateException("Expected only one remaining element but was " + length);
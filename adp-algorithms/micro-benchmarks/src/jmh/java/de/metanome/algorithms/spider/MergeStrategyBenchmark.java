@@ -0,0 +1,103 @@
+package de.metanome.algorithms.spider;
+
+import de.metanome.util.RunCodec;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Setup: Create n sorted columns over a shared domain. Column k contains every value whose index is
+ * divisible by (k mod 8) + 1, so groups of very different sizes occur.
+ * Test: Measure how long it takes to sweep all columns with the given merge strategy.
+ */
+@Fork(warmups = 1, value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class MergeStrategyBenchmark {
+
+  private static final int DOMAIN_SIZE = 2_000;
+
+  @Param({"1000", "4000"})
+  private int columnCount;
+
+  @Param({"HEAP", "TOURNAMENT_TREE"})
+  private MergeStrategyType strategy;
+
+  private String[] domain;
+  private List<Attribute> attributes;
+
+  @Setup(Level.Trial)
+  public void setUpDomain() {
+    domain = new String[DOMAIN_SIZE];
+    for (int index = 0; index < DOMAIN_SIZE; ++index) {
+      domain[index] = String.format("http://example.org/resource/%08d", index);
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void setUpColumns() throws IOException {
+    attributes = new ArrayList<>(columnCount);
+    for (int column = 0; column < columnCount; ++column) {
+      final Attribute attribute = new Attribute(column, "table", "column" + column,
+          new ReadPointer(new DomainReader(domain, column % 8 + 1)));
+      attribute.initializeRoles(columnCount);
+      attributes.add(attribute);
+    }
+  }
+
+  @Benchmark
+  public void sweep(final Blackhole blackhole) {
+    final MergeStrategy merge = strategy.create(attributes, MergeStrategyBenchmark::compare);
+    final List<Attribute> group = new ArrayList<>();
+    while (merge.nextGroup(group)) {
+      blackhole.consume(group.size());
+      for (final Attribute attribute : group) {
+        attribute.nextValue();
+      }
+    }
+  }
+
+  private static int compare(final Attribute a1, final Attribute a2) {
+    if (a1.getCurrentValue() == null || a2.getCurrentValue() == null) {
+      return Boolean.compare(a1.getCurrentValue() == null, a2.getCurrentValue() == null);
+    }
+    return a1.getCurrentValue().compareTo(a2.getCurrentValue());
+  }
+
+  private static class DomainReader implements RunCodec.RunReader {
+
+    private final String[] domain;
+    private final int step;
+    private int position = 0;
+
+    private DomainReader(final String[] domain, final int step) {
+      this.domain = domain;
+      this.step = step;
+    }
+
+    @Override
+    public String read() {
+      if (position >= domain.length) {
+        return null;
+      }
+      final String value = domain[position];
+      position += step;
+      return value;
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
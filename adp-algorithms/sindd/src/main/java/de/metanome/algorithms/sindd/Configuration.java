@@ -23,6 +23,10 @@ public class Configuration {
 
   private final int openFileNr;
   private final int partitionNr;
+  /**
+   * Number of partitions which are merged and scanned concurrently.
+   */
+  private final int parallelism;
 
   private final boolean processEmptyColumns;
 
@@ -35,6 +39,7 @@ public class Configuration {
         .tableInputGenerators(Collections.emptyList())
         .openFileNr(100)
         .partitionNr(1)
+        .parallelism(1)
         .processEmptyColumns(true)
         .tpmmsConfiguration(TPMMSConfiguration.withDefaults())
         .build();
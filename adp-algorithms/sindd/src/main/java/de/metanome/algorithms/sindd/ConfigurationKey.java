@@ -4,5 +4,6 @@ enum ConfigurationKey {
   TABLE,
   OPEN_FILE_NR,
   PARTITION_NR,
+  PARALLELISM,
   PROCESS_EMPTY_COLUMNS
 }
@@ -13,18 +13,24 @@ import de.metanome.algorithms.sindd.sindd.UnaryINDsGenerator;
 import de.metanome.algorithms.sindd.util.CommonObjects;
 import de.metanome.algorithms.sindd.util.PartitionPerformance;
 import de.metanome.algorithms.sindd.util.Performance;
+import de.metanome.util.InclusionDependencySink;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 
 
 class Sindd {
 
   private Configuration configuration;
+  private InclusionDependencySink sink;
   private final static Logger LOGGER = Logger.getLogger("Sindd");
 
   void execute(final Configuration configuration) throws AlgorithmExecutionException {
@@ -62,10 +68,11 @@ class Sindd {
     final ColumnIdentifier rightColumn = new ColumnIdentifier(rhs.getTableName(), rhs.getName());
     final InclusionDependency ind = new InclusionDependency(new ColumnPermutation(leftColumn),
         new ColumnPermutation(rightColumn));
-    configuration.getResultReceiver().receiveResult(ind);
+    sink.receive(ind);
   }
 
   private void printUnaryINDs() throws AlgorithmExecutionException {
+    sink = new InclusionDependencySink(configuration.getResultReceiver());
     List<Attribute> attributes = CommonObjects.getAttributes();
     for (Attribute att : attributes) {
       Set<Attribute> refAtts = att.getRefAttributes();
@@ -78,33 +85,83 @@ class Sindd {
         }
       }
     }
+    sink.close();
   }
 
-  private void discoverUnaryINDs() throws IOException, InterruptedException {
+  /**
+   * Partitions hold disjoint values and are merged and scanned independently, by up to
+   * parallelism threads at a time. The threads share the open file budget evenly. Each partition
+   * yields its own referenced attributes, which are intersected on the calling thread in partition
+   * order.
+   */
+  private void discoverUnaryINDs()
+      throws IOException, InterruptedException, ExecutionException {
     LOGGER.info("......discoverying ... ");
 
     if(configuration.isProcessEmptyColumns())
       initAttributes();
 
+    List<Partition> partitions = CommonObjects.getPartitions();
+    int threadNumber = getThreadNumber(partitions.size());
     int openFileNumber = configuration.getOpenFileNr();
-    Merger merger = new Merger(openFileNumber);
+    if (threadNumber > 1) {
+      openFileNumber = Math.max(2, openFileNumber / threadNumber);
+    }
 
     Map<String, Attribute> id2attMap = CommonObjects.getId2attributeMap();
     UnaryINDsGenerator uindsGenerator = new UnaryINDsGenerator(id2attMap);
 
     Performance performance = de.metanome.algorithms.sindd.util.CommonObjects.getPerformance();
-    List<Partition> partitions = CommonObjects.getPartitions();
-    for (Partition partition : partitions) {
-      LOGGER.info("partition " + partition.getId() + ": ");
+    ExecutorService executor = Executors.newFixedThreadPool(threadNumber);
+    try {
+      List<Future<PartitionResult>> results = new ArrayList<Future<PartitionResult>>();
+      for (Partition partition : partitions) {
+        Merger merger = new Merger(openFileNumber);
+        results.add(executor.submit(() -> discoverUnaryINDs(merger, uindsGenerator, partition)));
+      }
+      for (Future<PartitionResult> result : results) {
+        PartitionResult partitionResult = result.get();
+        uindsGenerator.updateReferencedAttributes(partitionResult.refAttributes);
+        performance.addPartitionPerformance(partitionResult.performance);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    LOGGER.info("total needed time: " + performance.toStringWithoutExport() + "\n");
+  }
+
+  private PartitionResult discoverUnaryINDs(Merger merger, UnaryINDsGenerator uindsGenerator,
+      Partition partition) throws IOException, InterruptedException {
+    LOGGER.info("partition " + partition.getId() + ": ");
 
-      PartitionPerformance partitionPerformance = new PartitionPerformance(partition.getId());
-      merge(merger, partition, partitionPerformance);
-      computeUinds(uindsGenerator, partition, partitionPerformance);
-      performance.addPartitionPerformance(partitionPerformance);
+    PartitionPerformance partitionPerformance = new PartitionPerformance(partition.getId());
+    merge(merger, partition, partitionPerformance);
+    Map<Attribute, Set<Attribute>> refAttributes =
+        computeUinds(uindsGenerator, partition, partitionPerformance);
 
-      LOGGER.info("needed time: " + partitionPerformance);
+    LOGGER.info("partition " + partition.getId() + " needed time: " + partitionPerformance);
+    return new PartitionResult(refAttributes, partitionPerformance);
+  }
+
+  /**
+   * Each thread needs at least two open files to merge.
+   */
+  private int getThreadNumber(int partitionNumber) {
+    int threadNumber = Math.min(configuration.getParallelism(), partitionNumber);
+    threadNumber = Math.min(threadNumber, configuration.getOpenFileNr() / 2);
+    return Math.max(1, threadNumber);
+  }
+
+  private static class PartitionResult {
+
+    private final Map<Attribute, Set<Attribute>> refAttributes;
+    private final PartitionPerformance performance;
+
+    private PartitionResult(Map<Attribute, Set<Attribute>> refAttributes,
+        PartitionPerformance performance) {
+      this.refAttributes = refAttributes;
+      this.performance = performance;
     }
-    LOGGER.info("total needed time: " + performance.toStringWithoutExport() + "\n");
   }
 
   private void merge(Merger merger, Partition partition, PartitionPerformance partitionPerformance)
@@ -117,14 +174,15 @@ class Sindd {
     partitionPerformance.setMerginTime(st, et);
   }
 
-  private void computeUinds(UnaryINDsGenerator generator, Partition partition,
-      PartitionPerformance partitionPerformance) throws IOException {
+  private Map<Attribute, Set<Attribute>> computeUinds(UnaryINDsGenerator generator,
+      Partition partition, PartitionPerformance partitionPerformance) throws IOException {
     long st = System.currentTimeMillis();
 
-    generator.generateFrom(partition);
+    Map<Attribute, Set<Attribute>> refAttributes = generator.generateFrom(partition);
 
     long et = System.currentTimeMillis();
     partitionPerformance.setUindsGenTime(st, et);
+    return refAttributes;
   }
 
   private void exportData() throws IOException {
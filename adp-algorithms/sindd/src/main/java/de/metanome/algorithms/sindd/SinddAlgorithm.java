@@ -1,6 +1,7 @@
 package de.metanome.algorithms.sindd;
 
 import static de.metanome.algorithms.sindd.ConfigurationKey.OPEN_FILE_NR;
+import static de.metanome.algorithms.sindd.ConfigurationKey.PARALLELISM;
 import static de.metanome.algorithms.sindd.ConfigurationKey.PARTITION_NR;
 import static java.util.Arrays.asList;
 
@@ -53,6 +54,11 @@ public class SinddAlgorithm implements
     partitions.setDefaultValues(new Integer[]{defaultValues.getPartitionNr()});
     requirements.add(partitions);
 
+    final ConfigurationRequirementInteger parallelism = new ConfigurationRequirementInteger(
+        PARALLELISM.name());
+    parallelism.setDefaultValues(new Integer[]{defaultValues.getParallelism()});
+    requirements.add(parallelism);
+
     final ConfigurationRequirementBoolean processEmptyColumns = new ConfigurationRequirementBoolean(
         ConfigurationKey.PROCESS_EMPTY_COLUMNS.name());
 
@@ -84,6 +90,10 @@ public class SinddAlgorithm implements
 
   @Override
   public void setBooleanConfigurationValue(String identifier, Boolean... values) {
+    if (TPMMSConfigurationRequirements.acceptBoolean(identifier, values, tpmmsConfiguration)) {
+      return;
+    }
+
     if (identifier.equals(ConfigurationKey.PROCESS_EMPTY_COLUMNS.name())) {
       builder.processEmptyColumns(values[0]);
     }
@@ -100,6 +110,8 @@ public class SinddAlgorithm implements
       builder.openFileNr(values[0]);
     } else if (identifier.equals(ConfigurationKey.PARTITION_NR.name())) {
       builder.partitionNr(values[0]);
+    } else if (identifier.equals(ConfigurationKey.PARALLELISM.name())) {
+      builder.parallelism(values[0]);
     }
   }
 
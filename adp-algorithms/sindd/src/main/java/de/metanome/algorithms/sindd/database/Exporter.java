@@ -21,7 +21,9 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.apache.log4j.Logger;
@@ -154,12 +156,13 @@ public class Exporter {
   private static void uniqueAndSort(final Configuration configuration, final List<Writer> writers)
       throws IOException {
 
-    final TPMMS tpmms = new TPMMS(configuration.getTpmmsConfiguration());
+    final Map<Path, TPMMS.Output> outputs = new LinkedHashMap<>();
     for (final Writer writer : writers) {
       for (final Path written : writer.getWritten()) {
-        tpmms.uniqueAndSort(written, new CsvTpmmsOutput(writer.getAttributeId()));
+        outputs.put(written, new CsvTpmmsOutput(writer.getAttributeId()));
       }
     }
+    new TPMMS(configuration.getTpmmsConfiguration()).uniqueAndSort(outputs);
   }
 
   private interface Writer extends Closeable {
@@ -264,4 +267,4 @@ public class Exporter {
       writer.close();
     }
   }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -12,6 +12,11 @@ import com.opencsv.CSVWriter;
 import de.metanome.algorithms.sindd.sindd.Partition;
 import de.metanome.algorithms.sindd.util.FileUtil;
 
+/**
+ * Merges the sorted files of a partition until at most k files remain, so that all of them can be
+ * read at once. A merger keeps the state of the partition at hand; partitions which are merged
+ * concurrently need a merger each.
+ */
 public class Merger {
 
   private static final String MERGED_FILE_NAME_PREFIX = "merged-";
@@ -39,7 +44,7 @@ public class Merger {
     }
   }
 
-  private synchronized void merge(File inDir, File outDir) throws IOException, InterruptedException {
+  private void merge(File inDir, File outDir) throws IOException, InterruptedException {
 
     List<File> remainingInputFiles = new ArrayList<File>(Arrays.asList(inDir.listFiles()));
     List<File> processedFiles = new ArrayList<File>();
@@ -54,7 +59,7 @@ public class Merger {
     removeProcessedFiles(processedFiles);
   }
 
-  private synchronized void merge(List<File> inputFiles, File outputFile) throws IOException {
+  private void merge(List<File> inputFiles, File outputFile) throws IOException {
     AttributeSetCollector collector = null;
     CSVWriter writer = null;
     try {
@@ -2,6 +2,7 @@ package de.metanome.algorithms.sindd.sindd;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -9,6 +10,11 @@ import java.util.Set;
 
 import de.metanome.algorithms.sindd.database.metadata.Attribute;
 
+/**
+ * Computes the referenced attributes per partition. Partitions hold disjoint values, so the
+ * referenced attributes of an attribute are the intersection of its partial results, which may be
+ * computed concurrently and applied in any order.
+ */
 public class UnaryINDsGenerator {
 
   private Map<String, Attribute> id2attMap;
@@ -17,27 +23,53 @@ public class UnaryINDsGenerator {
     this.id2attMap = id2attMap;
   }
 
-  public void generateFrom(Partition partition) throws IOException {
+  /**
+   * @return the attributes which contain all values of an attribute within the partition, for
+   * each attribute with values in it
+   */
+  public Map<Attribute, Set<Attribute>> generateFrom(Partition partition) throws IOException {
     List<File> partitionFiles = partition.getPartitionFiles();
-    computeUnaryINDs(partitionFiles);
+    return computeUnaryINDs(partitionFiles);
   }
 
-  private void computeUnaryINDs(List<File> partitionFiles) throws IOException {
+  /**
+   * Restrict the referenced attributes to the partial result of a partition.
+   */
+  public void updateReferencedAttributes(Map<Attribute, Set<Attribute>> refAttributes) {
+    for (Map.Entry<Attribute, Set<Attribute>> entry : refAttributes.entrySet()) {
+      Attribute attObj = entry.getKey();
+      if (attObj.isRefAttsInitialized()) {
+        attObj.updateRefAttributes(entry.getValue());
+      } else {
+        attObj.initRefAttributes(entry.getValue());
+      }
+    }
+  }
+
+  private Map<Attribute, Set<Attribute>> computeUnaryINDs(List<File> partitionFiles)
+      throws IOException {
+    Map<Attribute, Set<Attribute>> refAttributes = new HashMap<Attribute, Set<Attribute>>();
     AttributeSetCollector collector = new AttributeSetCollector(partitionFiles);
-    while (collector.hasNext()) {
-      Set<String> nextAttSet = collector.nextCluster();
-      updateReferencedAttributes(nextAttSet);
+    try {
+      while (collector.hasNext()) {
+        Set<String> nextAttSet = collector.nextCluster();
+        updateReferencedAttributes(refAttributes, nextAttSet);
+      }
+    } finally {
+      collector.close();
     }
-    collector.close();
+    return refAttributes;
   }
 
-  private void updateReferencedAttributes(Set<String> attSet) {
+  private void updateReferencedAttributes(Map<Attribute, Set<Attribute>> refAttributes,
+      Set<String> attSet) {
     Set<Attribute> attObjects = getAttObjects(attSet);
     for (Attribute attObj : attObjects) {
-      if (attObj.isRefAttsInitialized()) {
-        attObj.updateRefAttributes(attObjects);
+      Set<Attribute> refAtts = refAttributes.get(attObj);
+      if (refAtts == null) {
+        refAttributes.put(attObj, new HashSet<Attribute>(attObjects));
       } else {
-        attObj.initRefAttributes(attObjects);
+        refAtts.retainAll(attObjects);
       }
     }
   }
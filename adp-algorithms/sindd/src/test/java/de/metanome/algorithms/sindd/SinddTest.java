@@ -63,12 +63,28 @@ class SinddTest {
         .containsOnlyElementsOf(expectedInd());
   }
 
+  @Test
+  void runSinddInParallel() throws Exception {
+    impl.execute(getConfiguration(4, 2));
+
+    verify(resultReceiver, atLeastOnce()).receiveResult(ind.capture());
+    assertThat(ind.getAllValues())
+        .hasSize(3)
+        .containsOnlyElementsOf(expectedInd());
+  }
+
   private Configuration getConfiguration() throws Exception {
+    return getConfiguration(3, 1);
+  }
+
+  private Configuration getConfiguration(final int openFileNr, final int parallelism)
+      throws Exception {
     return Configuration.builder()
         .relationalInputGenerator(generator)
         .resultReceiver(resultReceiver)
-        .openFileNr(3)
+        .openFileNr(openFileNr)
         .partitionNr(2)
+        .parallelism(parallelism)
         .processEmptyColumns(true)
         .tpmmsConfiguration(TPMMSConfiguration.withDefaults())
         .build();
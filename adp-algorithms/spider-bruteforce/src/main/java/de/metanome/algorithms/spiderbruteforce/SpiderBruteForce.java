@@ -6,14 +6,16 @@ import de.metanome.algorithm_integration.input.RelationalInput;
 import de.metanome.algorithm_integration.input.RelationalInputGenerator;
 import de.metanome.algorithm_integration.results.InclusionDependency;
 import de.metanome.util.InclusionDependencyBuilder;
+import de.metanome.util.InclusionDependencySink;
+import de.metanome.util.RunCodec;
 import de.metanome.util.TPMMS;
 import de.metanome.util.TableInfo;
 import de.metanome.util.TableInfoFactory;
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -25,7 +27,9 @@ class SpiderBruteForce {
   private int attributeCount;
   private Attribute[] attributes;
   private Path[] attributeValues;
+  private RunCodec codec;
   private Configuration configuration;
+  private InclusionDependencySink sink;
 
   SpiderBruteForce() {
     tableInfoFactory = new TableInfoFactory();
@@ -111,12 +115,12 @@ class SpiderBruteForce {
 
   private void sortAndDistinct() throws IOException {
     final TPMMS tpmms = new TPMMS(configuration.getTpmmsConfiguration());
-    for (final Path path : attributeValues) {
-      tpmms.uniqueAndSort(path);
-    }
+    tpmms.uniqueAndSort(Arrays.asList(attributeValues));
+    codec = tpmms.getCodec();
   }
 
   private void computeInclusionDependencies() throws AlgorithmExecutionException {
+    sink = new InclusionDependencySink(configuration.getResultReceiver());
     for (final Attribute dep : attributes) {
       for (final Attribute ref : attributes) {
 
@@ -129,16 +133,17 @@ class SpiderBruteForce {
         }
       }
     }
+    sink.close();
   }
 
   private boolean isIncluded(final Attribute dependent, final Attribute referenced)
       throws AlgorithmExecutionException {
 
-    try (BufferedReader depReader = Files.newBufferedReader(attributeValues[dependent.getId()]);
-        BufferedReader refReader = Files.newBufferedReader(attributeValues[referenced.getId()])) {
+    try (RunCodec.RunReader depReader = codec.newReader(attributeValues[dependent.getId()]);
+        RunCodec.RunReader refReader = codec.newReader(attributeValues[referenced.getId()])) {
 
-      String dep = depReader.readLine();
-      String ref = refReader.readLine();
+      String dep = depReader.read();
+      String ref = refReader.read();
 
       if (dep == null) {
         return configuration.isProcessEmptyColumns();
@@ -163,11 +168,11 @@ class SpiderBruteForce {
           return false;
         } else if (result > 0) {
           // DEP is greater - advance REF until the value is (possibly) read
-          ref = refReader.readLine();
+          ref = refReader.read();
         } else {
           // DEP == REF: advance both
-          dep = depReader.readLine();
-          ref = refReader.readLine();
+          dep = depReader.read();
+          ref = refReader.read();
         }
       }
     } catch (final Exception e) {
@@ -183,6 +188,6 @@ class SpiderBruteForce {
         .referenced().column(ref.getTable(), ref.getColumn())
         .build();
 
-    configuration.getResultReceiver().receiveResult(ind);
+    sink.receive(ind);
   }
 }
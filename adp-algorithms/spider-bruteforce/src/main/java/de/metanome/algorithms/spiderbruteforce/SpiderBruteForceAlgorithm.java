@@ -83,6 +83,10 @@ public class SpiderBruteForceAlgorithm implements InclusionDependencyAlgorithm,
 
   @Override
   public void setBooleanConfigurationValue(final String identifier, final Boolean... values) {
+    if (TPMMSConfigurationRequirements.acceptBoolean(identifier, values, tpmmsConfiguration)) {
+      return;
+    }
+
     if (ConfigurationKey.PROCESS_EMPTY_COLUMNS.name().equals(identifier)) {
       builder.processEmptyColumns(values[0]);
     } else {
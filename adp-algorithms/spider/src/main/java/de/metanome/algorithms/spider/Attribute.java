@@ -1,20 +1,38 @@
 package de.metanome.algorithms.spider;
 
-import it.unimi.dsi.fastutil.ints.IntIterator;
-import it.unimi.dsi.fastutil.ints.IntLinkedOpenHashSet;
-import it.unimi.dsi.fastutil.ints.IntSet;
 import java.io.IOException;
 import lombok.Data;
 
+/**
+ * A column taking part in the sweep.
+ *
+ * <p>The referenced attributes are kept as a dense bitmap row, one bit per attribute. Only the
+ * number of dependent attributes is tracked: it is all the sweep needs to detect that an attribute
+ * no longer takes part in any candidate.</p>
+ */
 @Data
 class Attribute {
 
   private final int id;
   private final String tableName;
   private final String columnName;
-  private final IntSet referenced;
-  private final IntSet dependent;
+  /**
+   * Absent if the attribute was restored from a checkpoint of a dictionary encoded execution, or if
+   * it has no values in a partition of the sweep.
+   */
   private final ReadPointer readPointer;
+  /**
+   * Replaces {@link #readPointer} once the values have been dictionary encoded.
+   */
+  private EncodedReadPointer encodedReadPointer;
+  /**
+   * Number of values consumed by the sweep.
+   */
+  private long position = 0;
+
+  private long[] referenced = new long[0];
+  private int referencedCount = 0;
+  private int dependentCount = 0;
 
   Attribute(final int id, final String tableName, final String columnName,
       final ReadPointer readPointer) {
@@ -23,54 +41,109 @@ class Attribute {
     this.readPointer = readPointer;
     this.tableName = tableName;
     this.columnName = columnName;
-    dependent = new IntLinkedOpenHashSet();
-    referenced = new IntLinkedOpenHashSet();
   }
 
-  void addDependent(final IntSet dependent) {
-    this.dependent.addAll(dependent);
+  /**
+   * Start with every other attribute as both referenced and dependent candidate.
+   */
+  void initializeRoles(final int attributeCount) {
+    referenced = Bitmaps.create(attributeCount);
+    Bitmaps.setAll(referenced, attributeCount);
+    Bitmaps.clear(referenced, id);
+    referencedCount = attributeCount - 1;
+    dependentCount = attributeCount - 1;
   }
 
-  void removeDependent(final int dependent) {
-    this.dependent.remove(dependent);
+  /**
+   * Continue with the candidates of the given attribute instead of the own ones.
+   */
+  void copyRoles(final Attribute other) {
+    referenced = other.referenced.clone();
+    referencedCount = other.referencedCount;
+    dependentCount = other.dependentCount;
   }
 
-  void addReferenced(final IntSet referenced) {
-    this.referenced.addAll(referenced);
+  String getCurrentValue() {
+    return readPointer == null ? null : readPointer.getCurrentValue();
   }
 
-  void removeReferenced(final int referenced) {
-    this.referenced.remove(referenced);
+  int getCurrentId() {
+    return encodedReadPointer.getCurrentId();
   }
 
-  String getCurrentValue() {
-    return readPointer.getCurrentValue();
+  boolean hasValue() {
+    if (encodedReadPointer != null) {
+      return encodedReadPointer.hasNext();
+    }
+    return readPointer != null && readPointer.hasNext();
   }
 
   void nextValue() {
-    if (readPointer.hasNext()) {
+    if (encodedReadPointer != null) {
+      if (encodedReadPointer.hasNext()) {
+        encodedReadPointer.next();
+        ++position;
+      }
+    } else if (readPointer != null && readPointer.hasNext()) {
       readPointer.next();
+      ++position;
     }
   }
 
-  void intersectReferenced(final IntSet attributes, final Attribute[] attributeIndex) {
-    final IntIterator referencedIterator = referenced.iterator();
-    while (referencedIterator.hasNext()) {
-      final int ref = referencedIterator.nextInt();
-      if (attributes.contains(ref)) {
+  void skip(final long count) {
+    for (long index = 0; index < count; ++index) {
+      nextValue();
+    }
+  }
+
+  /**
+   * Retain only the referenced attributes contained in the given group. Each dropped attribute
+   * loses this attribute as dependent.
+   *
+   * @param group bitmap of all attributes sharing the current value
+   */
+  void intersectReferenced(final long[] group, final Attribute[] attributeIndex) {
+    if (referencedCount == 0) {
+      return;
+    }
+
+    for (int word = 0; word < referenced.length; ++word) {
+      long removed = referenced[word] & ~group[word];
+      if (removed == 0) {
         continue;
       }
 
-      referencedIterator.remove();
-      attributeIndex[ref].removeDependent(id);
+      referenced[word] &= group[word];
+      referencedCount -= Long.bitCount(removed);
+      while (removed != 0) {
+        final int bit = Long.numberOfTrailingZeros(removed);
+        --attributeIndex[word * Long.SIZE + bit].dependentCount;
+        removed &= removed - 1;
+      }
     }
   }
 
+  boolean hasReferenced() {
+    return referencedCount > 0;
+  }
+
+  /**
+   * @return the first referenced attribute id not smaller than {@code from}, or -1 if there is none
+   */
+  int nextReferenced(final int from) {
+    return Bitmaps.nextSetBit(referenced, from);
+  }
+
   boolean isFinished() {
-    return !readPointer.hasNext() || (referenced.isEmpty() && dependent.isEmpty());
+    return !hasValue() || (referencedCount == 0 && dependentCount == 0);
   }
 
   void close() throws IOException {
-    readPointer.close();
+    if (readPointer != null) {
+      readPointer.close();
+    }
+    if (encodedReadPointer != null) {
+      encodedReadPointer.close();
+    }
   }
 }
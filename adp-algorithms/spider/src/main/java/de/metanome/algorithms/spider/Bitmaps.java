@@ -0,0 +1,58 @@
+package de.metanome.algorithms.spider;
+
+/**
+ * Helpers for dense bitmaps stored as {@code long[]}, bit {@code i} being bit {@code i % 64} of
+ * word {@code i / 64}.
+ */
+final class Bitmaps {
+
+  private Bitmaps() {
+  }
+
+  static long[] create(final int size) {
+    return new long[(size + Long.SIZE - 1) / Long.SIZE];
+  }
+
+  static void set(final long[] bitmap, final int index) {
+    bitmap[index / Long.SIZE] |= 1L << index;
+  }
+
+  static boolean get(final long[] bitmap, final int index) {
+    return (bitmap[index / Long.SIZE] & 1L << index) != 0;
+  }
+
+  static void clear(final long[] bitmap, final int index) {
+    bitmap[index / Long.SIZE] &= ~(1L << index);
+  }
+
+  /**
+   * Set the bits {@code 0} to {@code size - 1}.
+   */
+  static void setAll(final long[] bitmap, final int size) {
+    final int fullWords = size / Long.SIZE;
+    for (int word = 0; word < fullWords; ++word) {
+      bitmap[word] = -1L;
+    }
+    if (size % Long.SIZE != 0) {
+      bitmap[fullWords] = (1L << size) - 1;
+    }
+  }
+
+  static int nextSetBit(final long[] bitmap, final int from) {
+    int word = from / Long.SIZE;
+    if (word >= bitmap.length) {
+      return -1;
+    }
+
+    long bits = bitmap[word] & (-1L << from);
+    while (true) {
+      if (bits != 0) {
+        return word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+      }
+      if (++word == bitmap.length) {
+        return -1;
+      }
+      bits = bitmap[word];
+    }
+  }
+}
@@ -0,0 +1,210 @@
+package de.metanome.algorithms.spider;
+
+import de.metanome.algorithm_integration.input.FileInputGenerator;
+import de.metanome.algorithm_integration.input.RelationalInputGenerator;
+import de.metanome.algorithm_integration.input.TableInputGenerator;
+import de.metanome.util.TPMMSConfiguration;
+import de.metanome.util.TableInfo;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persists the progress of the sweep, so an interrupted execution can be resumed.
+ *
+ * <p>The manifest is written once the sorted (and possibly encoded) column files are complete. It
+ * describes the input and every setting which affects these files; a later execution only reuses
+ * them if its manifest is identical. Besides the schema, the input is identified by the size and
+ * modification time of each input file and the row count of each database table. Other inputs
+ * carry no fingerprint, so changes to their rows go unnoticed. The state holds the number of values
+ * each attribute has consumed and its candidates. It is replaced atomically at most once per
+ * interval, between two groups of the sweep.</p>
+ */
+class Checkpoint {
+
+  private static final String MANIFEST = "manifest";
+  private static final String STATE = "state";
+  private static final String TEMPORARY_SUFFIX = ".tmp";
+
+  private final Path directory;
+  private final String manifest;
+  private final long intervalNanos;
+  private long lastSave;
+
+  private Checkpoint(final Path directory, final String manifest, final long intervalNanos) {
+    this.directory = directory;
+    this.manifest = manifest;
+    this.intervalNanos = intervalNanos;
+    this.lastSave = System.nanoTime();
+  }
+
+  /**
+   * @return the checkpoint of this execution, or null if checkpointing is disabled
+   */
+  static Checkpoint of(final SpiderConfiguration configuration, final List<TableInfo> tables)
+      throws IOException {
+
+    if (configuration.getCheckpointDirectory() == null) {
+      return null;
+    }
+
+    final Path directory = Paths.get(configuration.getCheckpointDirectory());
+    Files.createDirectories(directory);
+    return new Checkpoint(directory, describe(configuration, tables),
+        TimeUnit.SECONDS.toNanos(Math.max(0, configuration.getCheckpointInterval())));
+  }
+
+  private static String describe(final SpiderConfiguration configuration,
+      final List<TableInfo> tables) throws IOException {
+
+    final TPMMSConfiguration tpmms = configuration.getTpmmsConfiguration();
+    final StringBuilder description = new StringBuilder()
+        .append("inputRowLimit=").append(tpmms.getInputRowLimit()).append('\n')
+        .append("binaryRuns=").append(tpmms.isBinaryRuns()).append('\n')
+        .append("frontCoding=").append(tpmms.isFrontCoding()).append('\n')
+        .append("compressRuns=").append(tpmms.isCompressRuns()).append('\n')
+        .append("dictionaryEncoding=").append(configuration.isDictionaryEncoding()).append('\n')
+        .append("processEmptyColumns=").append(configuration.isProcessEmptyColumns()).append('\n');
+    for (final TableInfo table : tables) {
+      description.append("table=").append(table.getTableName()).append('\n');
+      final String fingerprint = fingerprint(table);
+      if (fingerprint != null) {
+        description.append("fingerprint=").append(fingerprint).append('\n');
+      }
+      for (final String column : table.getColumnNames()) {
+        description.append("column=").append(column).append('\n');
+      }
+    }
+    return description.toString();
+  }
+
+  /**
+   * @return a cheap description of the data of a table, or null if the input offers none
+   */
+  private static String fingerprint(final TableInfo table) throws IOException {
+    final RelationalInputGenerator generator = table.selectInputGenerator();
+    if (generator instanceof FileInputGenerator) {
+      final File file = ((FileInputGenerator) generator).getInputFile();
+      return "size:" + file.length() + ",modified:" + file.lastModified();
+    }
+    if (generator instanceof TableInputGenerator) {
+      final String query = "SELECT COUNT(*) FROM " + table.getTableName();
+      try (ResultSet resultSet = ((TableInputGenerator) generator)
+          .getDatabaseConnectionGenerator().generateResultSetFromSql(query)) {
+        resultSet.next();
+        return "rows:" + resultSet.getLong(1);
+      } catch (final Exception e) {
+        throw new IOException("counting rows of " + table.getTableName() + " failed", e);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return whether the column files of a previous execution on the same input can be reused
+   */
+  boolean isResumable() throws IOException {
+    final Path path = directory.resolve(MANIFEST);
+    return Files.exists(path)
+        && new String(Files.readAllBytes(path), StandardCharsets.UTF_8).equals(manifest);
+  }
+
+  /**
+   * Forget any previous execution before its column files are overwritten.
+   */
+  void reset() throws IOException {
+    Files.deleteIfExists(directory.resolve(MANIFEST));
+    Files.deleteIfExists(directory.resolve(STATE));
+  }
+
+  void writeManifest() throws IOException {
+    replace(MANIFEST, path -> Files.write(path, manifest.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  /**
+   * Restore positions and candidates of the attributes, whose read pointers have just been opened.
+   *
+   * @return false if no state has been saved yet
+   */
+  boolean restore(final Attribute[] attributes) throws IOException {
+    final Path path = directory.resolve(STATE);
+    if (!Files.exists(path)) {
+      return false;
+    }
+
+    try (DataInputStream input = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(path)))) {
+      if (input.readInt() != attributes.length) {
+        throw new IOException("checkpoint does not match the attributes: " + path);
+      }
+      for (final Attribute attribute : attributes) {
+        final long position = input.readLong();
+        final long[] referenced = new long[input.readInt()];
+        for (int word = 0; word < referenced.length; ++word) {
+          referenced[word] = input.readLong();
+        }
+        attribute.setReferenced(referenced);
+        attribute.setReferencedCount(input.readInt());
+        attribute.setDependentCount(input.readInt());
+        attribute.skip(position);
+      }
+    }
+    return true;
+  }
+
+  void maybeSave(final Attribute[] attributes) throws IOException {
+    if (System.nanoTime() - lastSave >= intervalNanos) {
+      save(attributes);
+    }
+  }
+
+  void save(final Attribute[] attributes) throws IOException {
+    replace(STATE, path -> {
+      try (DataOutputStream output = new DataOutputStream(
+          new BufferedOutputStream(Files.newOutputStream(path)))) {
+        output.writeInt(attributes.length);
+        for (final Attribute attribute : attributes) {
+          output.writeLong(attribute.getPosition());
+          output.writeInt(attribute.getReferenced().length);
+          for (final long word : attribute.getReferenced()) {
+            output.writeLong(word);
+          }
+          output.writeInt(attribute.getReferencedCount());
+          output.writeInt(attribute.getDependentCount());
+        }
+      }
+    });
+    lastSave = System.nanoTime();
+  }
+
+  /**
+   * Remove manifest and state once the execution has completed.
+   */
+  void delete() throws IOException {
+    reset();
+  }
+
+  @FunctionalInterface
+  private interface Writer {
+
+    void write(Path path) throws IOException;
+  }
+
+  private void replace(final String name, final Writer writer) throws IOException {
+    final Path temporary = directory.resolve(name + TEMPORARY_SUFFIX);
+    writer.write(temporary);
+    Files.move(temporary, directory.resolve(name), StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+  }
+}
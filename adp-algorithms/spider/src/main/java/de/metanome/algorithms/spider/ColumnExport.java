@@ -0,0 +1,181 @@
+package de.metanome.algorithms.spider;
+
+import de.metanome.util.TPMMS;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Feeds the values of a single relation scan into one {@link TPMMS.Sorter} per column.
+ *
+ * <p>The scan runs on the calling thread and hands values over in batches. Columns are assigned
+ * round-robin to a fixed number of workers, each draining a bounded queue, so sorting overlaps the
+ * scan while the amount of queued values stays bounded. Once the scan is complete, every worker
+ * merges the runs of its columns.</p>
+ */
+class ColumnExport {
+
+  private static final int BATCH_SIZE = 1024;
+  private static final int QUEUE_CAPACITY = 4;
+  private static final Batch END = new Batch(-1, new String[0], 0);
+
+  private final TPMMS.Sorter[] sorters;
+  private final List<BlockingQueue<Batch>> queues;
+  private final List<Future<?>> workers;
+  private final ExecutorService executor;
+  private final String[][] batches;
+  private final int[] batchSizes;
+
+  private volatile boolean aborted = false;
+
+  ColumnExport(final TPMMS.Sorter[] sorters, final int workerCount) {
+    this.sorters = sorters;
+    this.batches = new String[sorters.length][];
+    this.batchSizes = new int[sorters.length];
+
+    final int count = Math.max(1, Math.min(workerCount, sorters.length));
+    queues = new ArrayList<>(count);
+    workers = new ArrayList<>(count);
+    executor = Executors.newFixedThreadPool(count);
+    for (int worker = 0; worker < count; ++worker) {
+      final int index = worker;
+      queues.add(new ArrayBlockingQueue<>(QUEUE_CAPACITY));
+      workers.add(executor.submit(() -> drain(index)));
+    }
+  }
+
+  void add(final int column, final String value) throws InterruptedException {
+    if (batches[column] == null) {
+      batches[column] = new String[BATCH_SIZE];
+    }
+    batches[column][batchSizes[column]++] = value;
+    if (batchSizes[column] == BATCH_SIZE) {
+      flush(column);
+    }
+  }
+
+  /**
+   * Hand over the remaining values and wait until all sorters have written their result.
+   */
+  void finish() throws IOException, InterruptedException {
+    for (int column = 0; column < sorters.length; ++column) {
+      if (batchSizes[column] > 0) {
+        flush(column);
+      }
+    }
+    for (final BlockingQueue<Batch> queue : queues) {
+      queue.put(END);
+    }
+    awaitWorkers();
+  }
+
+  /**
+   * Stop all workers and discard the sorted runs. Safe to call after {@link #finish()}.
+   */
+  void abort() {
+    aborted = true;
+    try {
+      for (int worker = 0; worker < workers.size(); ++worker) {
+        if (!workers.get(worker).isDone()) {
+          queues.get(worker).put(END);
+        }
+      }
+      awaitWorkers();
+    } catch (final IOException | InterruptedException e) {
+      // The export already failed; the original cause is reported by the caller.
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void flush(final int column) throws InterruptedException {
+    queues.get(column % queues.size()).put(new Batch(column, batches[column], batchSizes[column]));
+    batches[column] = null;
+    batchSizes[column] = 0;
+  }
+
+  private void awaitWorkers() throws IOException, InterruptedException {
+    try {
+      IOException failure = null;
+      for (final Future<?> worker : workers) {
+        try {
+          worker.get();
+        } catch (final ExecutionException e) {
+          final IOException cause = asIOException(e.getCause());
+          if (failure == null) {
+            failure = cause;
+          } else {
+            failure.addSuppressed(cause);
+          }
+        }
+      }
+      if (failure != null) {
+        throw failure;
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static IOException asIOException(final Throwable cause) {
+    return cause instanceof IOException ? (IOException) cause : new IOException(cause);
+  }
+
+  /**
+   * Sort the batches of the columns owned by the given worker. After a failure, batches are still
+   * taken from the queue so the scan never blocks on a dead worker.
+   */
+  private Void drain(final int worker) throws IOException, InterruptedException {
+    final BlockingQueue<Batch> queue = queues.get(worker);
+    IOException failure = null;
+
+    Batch batch;
+    while ((batch = queue.take()) != END) {
+      if (failure == null && !aborted) {
+        try {
+          for (int index = 0; index < batch.size; ++index) {
+            sorters[batch.column].add(batch.values[index]);
+          }
+        } catch (final IOException e) {
+          failure = e;
+        }
+      }
+    }
+
+    for (int column = worker; column < sorters.length; column += queues.size()) {
+      try {
+        if (failure == null && !aborted) {
+          sorters[column].finish();
+        } else {
+          sorters[column].close();
+        }
+      } catch (final IOException e) {
+        if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+
+    if (failure != null) {
+      throw failure;
+    }
+    return null;
+  }
+
+  @RequiredArgsConstructor
+  private static class Batch {
+
+    private final int column;
+    private final String[] values;
+    private final int size;
+  }
+}
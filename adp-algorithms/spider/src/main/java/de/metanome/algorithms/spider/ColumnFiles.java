@@ -0,0 +1,66 @@
+package de.metanome.algorithms.spider;
+
+import de.metanome.algorithm_integration.algorithm_execution.FileCreationException;
+import de.metanome.algorithm_integration.algorithm_execution.FileGenerator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Locates the sorted and the dictionary encoded file of each attribute.
+ *
+ * <p>Without a checkpoint directory, temporary files of the algorithm are used. Otherwise the files
+ * are named after the attribute id inside the checkpoint directory, so a later execution finds them
+ * again.</p>
+ */
+class ColumnFiles {
+
+  private final FileGenerator tempFileGenerator;
+  private final Path directory;
+
+  private ColumnFiles(final FileGenerator tempFileGenerator, final Path directory) {
+    this.tempFileGenerator = tempFileGenerator;
+    this.directory = directory;
+  }
+
+  static ColumnFiles of(final SpiderConfiguration configuration) {
+    final String directory = configuration.getCheckpointDirectory();
+    return new ColumnFiles(configuration.getTempFileGenerator(),
+        directory == null ? null : Paths.get(directory));
+  }
+
+  synchronized Path sorted(final int attributeId) throws FileCreationException {
+    return directory == null ? temporary() : directory.resolve(attributeId + ".run");
+  }
+
+  synchronized Path encoded(final int attributeId) throws FileCreationException {
+    return directory == null ? temporary() : directory.resolve(attributeId + ".ids");
+  }
+
+  /**
+   * @return the file holding the values of an attribute which fall into a partition of the sweep
+   */
+  synchronized Path range(final int attributeId, final int range) throws FileCreationException {
+    return directory == null ? temporary()
+        : directory.resolve(attributeId + "." + range + ".part");
+  }
+
+  /**
+   * Remove the files of all attributes from the checkpoint directory. Temporary files are left to
+   * the file generator.
+   */
+  void delete(final int attributeCount) throws IOException {
+    if (directory == null) {
+      return;
+    }
+    for (int attributeId = 0; attributeId < attributeCount; ++attributeId) {
+      Files.deleteIfExists(directory.resolve(attributeId + ".run"));
+      Files.deleteIfExists(directory.resolve(attributeId + ".ids"));
+    }
+  }
+
+  private Path temporary() throws FileCreationException {
+    return tempFileGenerator.getTemporaryFile().toPath();
+  }
+}
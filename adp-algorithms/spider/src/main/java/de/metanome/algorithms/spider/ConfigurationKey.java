@@ -2,5 +2,12 @@ package de.metanome.algorithms.spider;
 
 enum ConfigurationKey {
   TABLE,
-  PROCESS_EMPTY_COLUMNS
+  PROCESS_EMPTY_COLUMNS,
+  EXPORT_PARALLELISM,
+  MAX_OPEN_FILES,
+  DICTIONARY_ENCODING,
+  MERGE_STRATEGY,
+  CHECKPOINT_DIRECTORY,
+  CHECKPOINT_INTERVAL,
+  PARTITIONS
 }
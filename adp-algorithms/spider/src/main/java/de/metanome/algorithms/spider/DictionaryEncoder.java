@@ -0,0 +1,95 @@
+package de.metanome.algorithms.spider;
+
+import de.metanome.algorithm_integration.AlgorithmExecutionException;
+import it.unimi.dsi.fastutil.objects.ObjectHeapPriorityQueue;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Replaces the values of all attributes by order-preserving integer ids.
+ *
+ * <p>The sorted columns are merged into one global order and every distinct value is assigned its
+ * rank. Each column is rewritten as the sequence of its ids, so the sweep compares primitives
+ * instead of strings. Only the ranks are needed to discover INDs, hence the dictionary itself is
+ * never materialised.</p>
+ */
+class DictionaryEncoder {
+
+  private static final int BUFFER_SIZE = 8 * 1024;
+
+  void encode(final Attribute[] attributes, final ColumnFiles files)
+      throws AlgorithmExecutionException {
+
+    final Path[] paths = new Path[attributes.length];
+    final DataOutputStream[] outputs = new DataOutputStream[attributes.length];
+    try {
+      for (int index = 0; index < attributes.length; ++index) {
+        paths[index] = files.encoded(index);
+        outputs[index] = new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(paths[index]), BUFFER_SIZE));
+      }
+      writeIds(attributes, outputs);
+    } catch (final IOException e) {
+      throw new AlgorithmExecutionException("cannot write dictionary encoded values", e);
+    } finally {
+      close(outputs);
+    }
+
+    try {
+      for (final Attribute attribute : attributes) {
+        attribute.setEncodedReadPointer(EncodedReadPointer.of(paths[attribute.getId()]));
+      }
+    } catch (final IOException e) {
+      throw new AlgorithmExecutionException("cannot open file for reading", e);
+    }
+  }
+
+  private void writeIds(final Attribute[] attributes, final DataOutputStream[] outputs)
+      throws IOException, AlgorithmExecutionException {
+
+    final ObjectHeapPriorityQueue<Attribute> queue = new ObjectHeapPriorityQueue<>(
+        attributes.length, (a1, a2) -> a1.getCurrentValue().compareTo(a2.getCurrentValue()));
+    for (final Attribute attribute : attributes) {
+      if (attribute.getReadPointer().hasNext()) {
+        queue.enqueue(attribute);
+      }
+    }
+
+    String previousValue = null;
+    int id = -1;
+    while (!queue.isEmpty()) {
+      final Attribute attribute = queue.first();
+      final String value = attribute.getCurrentValue();
+      if (!value.equals(previousValue)) {
+        if (id == Integer.MAX_VALUE) {
+          throw new AlgorithmExecutionException("too many distinct values for dictionary encoding");
+        }
+        ++id;
+        previousValue = value;
+      }
+      outputs[attribute.getId()].writeInt(id);
+
+      attribute.getReadPointer().next();
+      if (attribute.getReadPointer().hasNext()) {
+        queue.changed();
+      } else {
+        queue.dequeue();
+      }
+    }
+  }
+
+  private void close(final DataOutputStream[] outputs) throws AlgorithmExecutionException {
+    try {
+      for (final DataOutputStream output : outputs) {
+        if (output != null) {
+          output.close();
+        }
+      }
+    } catch (final IOException e) {
+      throw new AlgorithmExecutionException("cannot close", e);
+    }
+  }
+}
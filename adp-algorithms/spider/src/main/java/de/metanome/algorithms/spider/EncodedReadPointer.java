@@ -0,0 +1,80 @@
+package de.metanome.algorithms.spider;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Iterates over a column whose values have been replaced by integer ids, see {@link
+ * DictionaryEncoder}. The file is memory-mapped in windows, so columns larger than a single mapping
+ * are supported.
+ */
+class EncodedReadPointer {
+
+  private static final long WINDOW_SIZE = 1L << 28;
+
+  private final Path path;
+  private final FileChannel channel;
+  private final long size;
+  private long position = 0;
+  private IntBuffer buffer;
+  private int currentId;
+  private boolean hasCurrent;
+
+  private EncodedReadPointer(final Path path, final FileChannel channel) throws IOException {
+    this.path = path;
+    this.channel = channel;
+    this.size = channel.size();
+    advance();
+  }
+
+  int getCurrentId() {
+    return currentId;
+  }
+
+  boolean hasNext() {
+    return hasCurrent;
+  }
+
+  void next() {
+    try {
+      advance();
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void advance() throws IOException {
+    if (buffer == null || !buffer.hasRemaining()) {
+      if (position >= size) {
+        hasCurrent = false;
+        return;
+      }
+      final long length = Math.min(WINDOW_SIZE, size - position);
+      buffer = channel.map(MapMode.READ_ONLY, position, length).asIntBuffer();
+      position += length;
+    }
+    currentId = buffer.get();
+    hasCurrent = true;
+  }
+
+  void close() throws IOException {
+    buffer = null;
+    channel.close();
+  }
+
+  /**
+   * @return an independent pointer positioned at the first id of the same file
+   */
+  EncodedReadPointer reopen() throws IOException {
+    return of(path);
+  }
+
+  static EncodedReadPointer of(final Path path) throws IOException {
+    return new EncodedReadPointer(path, FileChannel.open(path, StandardOpenOption.READ));
+  }
+}
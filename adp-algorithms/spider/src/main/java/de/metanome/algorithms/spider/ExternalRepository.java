@@ -1,83 +1,138 @@
 package de.metanome.algorithms.spider;
 
 import de.metanome.algorithm_integration.AlgorithmExecutionException;
-import de.metanome.algorithm_integration.algorithm_execution.FileCreationException;
 import de.metanome.algorithm_integration.input.InputIterationException;
 import de.metanome.algorithm_integration.input.RelationalInput;
 import de.metanome.algorithm_integration.input.RelationalInputGenerator;
+import de.metanome.util.RunCodec;
 import de.metanome.util.TPMMS;
-import de.metanome.util.TPMMSConfiguration;
 import de.metanome.util.TableInfo;
-import java.io.BufferedWriter;
-import java.io.Closeable;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
 class ExternalRepository {
 
-  ReadPointer[] uniqueAndSort(final SpiderConfiguration configuration, final TableInfo table)
-      throws AlgorithmExecutionException {
-
-    final Path[] paths = store(configuration, table);
-    try {
-      uniqueAndSort(paths, configuration.getTpmmsConfiguration());
-      return open(paths);
-    } catch (final IOException e) {
-      throw new AlgorithmExecutionException("TPMMS failure", e);
+  /**
+   * Export, sort and deduplicate the columns of all tables. Each table is scanned once; its values
+   * are sorted while the scan is running.
+   *
+   * <p>Up to {@link SpiderConfiguration#getExportParallelism()} tables are exported concurrently,
+   * as long as their columns fit into {@link SpiderConfiguration#getMaxOpenFiles()}. All sorters
+   * share the memory budget of the TPMMS configuration.</p>
+   *
+   * @param files locates the sorted file of each attribute; attribute ids are assigned
+   *     consecutively in the order of the tables
+   * @return the read pointers of each table, in the order of the given tables
+   */
+  ReadPointer[][] uniqueAndSort(final SpiderConfiguration configuration,
+      final List<TableInfo> tables, final ColumnFiles files) throws AlgorithmExecutionException {
+
+    final TPMMS tpmms = new TPMMS(configuration.getTpmmsConfiguration());
+    final int maxOpenFiles = getMaxOpenFiles(configuration);
+    final Semaphore openFiles = new Semaphore(maxOpenFiles);
+
+    final int[] firstIds = new int[tables.size()];
+    for (int index = 1; index < firstIds.length; ++index) {
+      firstIds[index] = firstIds[index - 1] + tables.get(index - 1).getColumnCount();
     }
-  }
 
-  private void uniqueAndSort(final Path[] paths, final TPMMSConfiguration configuration)
-      throws IOException {
+    final List<Path[]> paths = new ArrayList<>(tables.size());
+    if (configuration.getExportParallelism() <= 1) {
+      for (int index = 0; index < tables.size(); ++index) {
+        paths.add(export(configuration, tpmms, tables.get(index), firstIds[index], files));
+      }
+    } else {
+      final ExecutorService executor = Executors.newFixedThreadPool(
+          Math.max(1, Math.min(configuration.getExportParallelism(), tables.size())));
+      try {
+        final List<Future<Path[]>> exports = new ArrayList<>(tables.size());
+        for (int index = 0; index < tables.size(); ++index) {
+          final TableInfo table = tables.get(index);
+          final int firstId = firstIds[index];
+          final int permits = Math.min(table.getColumnCount(), maxOpenFiles);
+          exports.add(executor.submit(() -> {
+            openFiles.acquire(permits);
+            try {
+              return export(configuration, tpmms, table, firstId, files);
+            } finally {
+              openFiles.release(permits);
+            }
+          }));
+        }
+        for (final Future<Path[]> export : exports) {
+          paths.add(await(export));
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+    }
 
-    final TPMMS tpmms = new TPMMS(configuration);
-    for (final Path path : paths) {
-      tpmms.uniqueAndSort(path);
+    final ReadPointer[][] result = new ReadPointer[tables.size()][];
+    for (int index = 0; index < result.length; ++index) {
+      result[index] = open(paths.get(index), tpmms.getCodec());
     }
+    return result;
   }
 
-  private Path[] store(final SpiderConfiguration configuration, final TableInfo table)
-      throws AlgorithmExecutionException {
-
-    final Path[] paths = new Path[table.getColumnCount()];
-    final BufferedWriter[] writers = new BufferedWriter[table.getColumnCount()];
-    openForWriting(configuration, paths, writers);
-    write(table.selectInputGenerator(), writers);
-    close(writers);
-    return paths;
+  private int getMaxOpenFiles(final SpiderConfiguration configuration) {
+    return configuration.getMaxOpenFiles() > 0 ? configuration.getMaxOpenFiles()
+        : Integer.MAX_VALUE;
   }
 
-  private void openForWriting(final SpiderConfiguration configuration, final Path[] paths,
-      final BufferedWriter[] writers) throws AlgorithmExecutionException {
-
+  private Path[] await(final Future<Path[]> export) throws AlgorithmExecutionException {
     try {
-      for (int index = 0; index < paths.length; ++index) {
-        final Path path = getPath(configuration);
-        paths[index] = path;
-        writers[index] = Files.newBufferedWriter(path);
+      return export.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AlgorithmExecutionException("interrupted while storing attributes to disk", e);
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof AlgorithmExecutionException) {
+        throw (AlgorithmExecutionException) e.getCause();
       }
-    } catch (final IOException e) {
-      throw new AlgorithmExecutionException("cannot open file for writing", e);
+      throw new AlgorithmExecutionException("error while storing attributes to disk",
+          e.getCause());
     }
   }
 
-  private void write(final RelationalInputGenerator generator, final BufferedWriter[] writers)
+  private Path[] export(final SpiderConfiguration configuration, final TPMMS tpmms,
+      final TableInfo table, final int firstId, final ColumnFiles files)
       throws AlgorithmExecutionException {
 
+    final Path[] paths = new Path[table.getColumnCount()];
+    final TPMMS.Sorter[] sorters = new TPMMS.Sorter[table.getColumnCount()];
+    for (int index = 0; index < paths.length; ++index) {
+      paths[index] = files.sorted(firstId + index);
+      sorters[index] = tpmms.newSorter(paths[index]);
+    }
+
+    final int workers = Math.max(1, configuration.getTpmmsConfiguration().getParallelism());
+    write(table.selectInputGenerator(), new ColumnExport(sorters, workers), paths.length);
+    return paths;
+  }
+
+  private void write(final RelationalInputGenerator generator, final ColumnExport export,
+      final int columnCount) throws AlgorithmExecutionException {
+
     try (RelationalInput input = generator.generateNewCopy()) {
       while (input.hasNext()) {
         final List<String> next = input.next();
-        for (int index = 0; index < writers.length; ++index) {
+        for (int index = 0; index < columnCount; ++index) {
           final String value = index >= next.size() ? null : next.get(index);
           if (value != null) {
-            writers[index].write(escape(value));
-            writers[index].newLine();
+            export.add(index, escape(value));
           }
         }
       }
+      export.finish();
     } catch (final Exception e) {
+      export.abort();
       throw new AlgorithmExecutionException("error while storing attributes to disk", e);
     } finally {
       // FIXME
@@ -89,23 +144,13 @@ class ExternalRepository {
     }
   }
 
-  private void close(final Closeable[] toClose) throws AlgorithmExecutionException {
-    try {
-      for (final Closeable item : toClose) {
-        item.close();
-      }
-    } catch (final IOException e) {
-      throw new AlgorithmExecutionException("cannot close", e);
-    }
-  }
-
-  private ReadPointer[] open(final Path[] paths)
+  ReadPointer[] open(final Path[] paths, final RunCodec codec)
       throws AlgorithmExecutionException {
 
     try {
       final ReadPointer[] result = new ReadPointer[paths.length];
       for (int index = 0; index < paths.length; ++index) {
-        result[index] = ReadPointer.of(paths[index]);
+        result[index] = ReadPointer.of(paths[index], codec);
       }
       return result;
     } catch (final IOException e) {
@@ -116,10 +161,4 @@ class ExternalRepository {
   private String escape(final String value) {
     return value.replace('\n', '\0');
   }
-
-  private Path getPath(final SpiderConfiguration configuration)
-      throws FileCreationException {
-
-    return configuration.getTempFileGenerator().getTemporaryFile().toPath();
-  }
 }
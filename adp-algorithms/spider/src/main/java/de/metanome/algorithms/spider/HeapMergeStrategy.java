@@ -0,0 +1,42 @@
+package de.metanome.algorithms.spider;
+
+import it.unimi.dsi.fastutil.PriorityQueue;
+import it.unimi.dsi.fastutil.objects.ObjectHeapPriorityQueue;
+import java.util.Comparator;
+import java.util.List;
+
+class HeapMergeStrategy implements MergeStrategy {
+
+  private final Comparator<Attribute> order;
+  private final PriorityQueue<Attribute> queue;
+
+  HeapMergeStrategy(final List<Attribute> attributes, final Comparator<Attribute> order) {
+    this.order = order;
+    queue = new ObjectHeapPriorityQueue<>(Math.max(1, attributes.size()),
+        order.thenComparingInt(Attribute::getId));
+    for (final Attribute attribute : attributes) {
+      queue.enqueue(attribute);
+    }
+  }
+
+  @Override
+  public boolean nextGroup(final List<Attribute> group) {
+    for (final Attribute attribute : group) {
+      if (!attribute.isFinished()) {
+        queue.enqueue(attribute);
+      }
+    }
+    group.clear();
+
+    if (queue.isEmpty()) {
+      return false;
+    }
+
+    final Attribute first = queue.dequeue();
+    group.add(first);
+    while (!queue.isEmpty() && order.compare(queue.first(), first) == 0) {
+      group.add(queue.dequeue());
+    }
+    return true;
+  }
+}
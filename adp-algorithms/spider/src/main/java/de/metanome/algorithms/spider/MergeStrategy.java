@@ -0,0 +1,21 @@
+package de.metanome.algorithms.spider;
+
+import java.util.List;
+
+/**
+ * Merges the sorted attributes of the sweep and yields them grouped by their current value, in
+ * ascending order.
+ */
+interface MergeStrategy {
+
+  /**
+   * Collect all attributes sharing the smallest current value.
+   *
+   * <p>The attributes of the previous group are repositioned first, so callers advance them between
+   * two calls. Finished attributes leave the merge.</p>
+   *
+   * @param group receives the attributes of the next group; its previous content is the last group
+   * @return false once all attributes are finished
+   */
+  boolean nextGroup(List<Attribute> group);
+}
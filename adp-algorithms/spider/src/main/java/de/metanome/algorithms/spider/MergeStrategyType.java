@@ -0,0 +1,32 @@
+package de.metanome.algorithms.spider;
+
+import java.util.Comparator;
+import java.util.List;
+
+public enum MergeStrategyType {
+
+  /**
+   * A binary heap which dequeues and re-enqueues every attribute of a group.
+   */
+  HEAP {
+    @Override
+    MergeStrategy create(final List<Attribute> attributes, final Comparator<Attribute> order) {
+      return new HeapMergeStrategy(attributes, order);
+    }
+  },
+
+  /**
+   * A tournament tree which collects a group in one traversal and repositions it in one pass.
+   */
+  TOURNAMENT_TREE {
+    @Override
+    MergeStrategy create(final List<Attribute> attributes, final Comparator<Attribute> order) {
+      return new TournamentTreeMergeStrategy(attributes, order);
+    }
+  };
+
+  /**
+   * @param order compares the current values only, finished attributes last
+   */
+  abstract MergeStrategy create(List<Attribute> attributes, Comparator<Attribute> order);
+}
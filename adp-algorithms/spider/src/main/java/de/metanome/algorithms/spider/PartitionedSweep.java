@@ -0,0 +1,413 @@
+package de.metanome.algorithms.spider;
+
+import de.metanome.algorithm_integration.AlgorithmExecutionException;
+import de.metanome.util.RunCodec;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the sweep on disjoint value ranges concurrently.
+ *
+ * <p>Split points are taken from an evenly spaced sample of every column, weighted by the number of
+ * values each sampled value stands for, so that the ranges hold roughly the same number of values.
+ * Each column is cut into one file per range and every range is swept on its own copy of the
+ * attributes. An attribute is included in another one iff it is so within every range, hence the
+ * referenced candidates of all ranges are intersected afterwards. The result equals the one of the
+ * sequential sweep.</p>
+ */
+class PartitionedSweep {
+
+  private static final int SAMPLE_SIZE = 64;
+  private static final int BUFFER_SIZE = 8 * 1024;
+
+  private final SpiderConfiguration configuration;
+  private final Attribute[] attributeIndex;
+  private final ColumnFiles files;
+  private final RunCodec codec;
+  private final int partitions;
+
+  PartitionedSweep(final SpiderConfiguration configuration, final Attribute[] attributeIndex,
+      final ColumnFiles files) {
+
+    this.configuration = configuration;
+    this.attributeIndex = attributeIndex;
+    this.files = files;
+    this.codec = RunCodec.of(configuration.getTpmmsConfiguration());
+    this.partitions = configuration.getPartitions();
+  }
+
+  void run() throws AlgorithmExecutionException {
+    final long[] emptyAttributes = Bitmaps.create(attributeIndex.length);
+    for (final Attribute attribute : attributeIndex) {
+      if (!attribute.hasValue()) {
+        Bitmaps.set(emptyAttributes, attribute.getId());
+      }
+    }
+
+    final ExecutorService executor = Executors.newFixedThreadPool(partitions);
+    final Path[][] ranges = new Path[attributeIndex.length][];
+    try {
+      if (configuration.isDictionaryEncoding()) {
+        final int[] splits = toInts(chooseSplits(invokeAll(executor, this::sampleIds)));
+        invokeAll(executor, attribute -> ranges[attribute.getId()] = splitIds(attribute, splits));
+      } else {
+        final List<String> splits = chooseSplits(invokeAll(executor, this::sampleValues));
+        invokeAll(executor, attribute -> ranges[attribute.getId()] = splitValues(attribute,
+            splits.toArray(new String[0])));
+      }
+
+      final List<Future<Attribute[]>> sweeps = new ArrayList<>(partitions);
+      for (int range = 0; range < partitions; ++range) {
+        final int index = range;
+        sweeps.add(executor.submit(() -> sweep(ranges, index)));
+      }
+      final List<Attribute[]> results = new ArrayList<>(partitions);
+      for (final Future<Attribute[]> sweep : sweeps) {
+        results.add(await(sweep));
+      }
+      combine(results, emptyAttributes);
+    } finally {
+      executor.shutdownNow();
+      delete(ranges);
+    }
+  }
+
+  private Sample<String> sampleValues(final Attribute attribute) throws IOException {
+    final Sample<String> sample = new Sample<>();
+    if (attribute.getReadPointer() == null || !attribute.hasValue()) {
+      return sample;
+    }
+    final ReadPointer pointer = attribute.getReadPointer().reopen();
+    try {
+      skip(pointer, attribute.getPosition());
+      while (pointer.hasNext()) {
+        sample.offer(pointer.getCurrentValue());
+        pointer.next();
+      }
+    } finally {
+      pointer.close();
+    }
+    return sample;
+  }
+
+  private Sample<Integer> sampleIds(final Attribute attribute) throws IOException {
+    final Sample<Integer> sample = new Sample<>();
+    if (!attribute.hasValue()) {
+      return sample;
+    }
+    final EncodedReadPointer pointer = attribute.getEncodedReadPointer().reopen();
+    try {
+      for (long index = 0; index < attribute.getPosition() && pointer.hasNext(); ++index) {
+        pointer.next();
+      }
+      while (pointer.hasNext()) {
+        if (sample.accepts()) {
+          sample.add(pointer.getCurrentId());
+        } else {
+          sample.skip();
+        }
+        pointer.next();
+      }
+    } finally {
+      pointer.close();
+    }
+    return sample;
+  }
+
+  private void skip(final ReadPointer pointer, final long count) {
+    for (long index = 0; index < count && pointer.hasNext(); ++index) {
+      pointer.next();
+    }
+  }
+
+  /**
+   * Choose up to {@code partitions - 1} distinct split points at the weighted quantiles of all
+   * samples. Range {@code r} holds the values {@code v} with {@code splits[r - 1] <= v <
+   * splits[r]}.
+   */
+  private <T extends Comparable<T>> List<T> chooseSplits(final List<Sample<T>> samples) {
+    final List<Weighted<T>> values = new ArrayList<>();
+    long total = 0;
+    for (final Sample<T> sample : samples) {
+      for (final T value : sample.values) {
+        values.add(new Weighted<>(value, sample.stride));
+        total += sample.stride;
+      }
+    }
+    values.sort(Comparator.comparing(weighted -> weighted.value));
+
+    final List<T> splits = new ArrayList<>(partitions - 1);
+    long cumulative = 0;
+    int next = 1;
+    for (final Weighted<T> weighted : values) {
+      cumulative += weighted.weight;
+      while (next < partitions && cumulative * partitions >= next * total) {
+        ++next;
+        if (splits.isEmpty() || splits.get(splits.size() - 1).compareTo(weighted.value) < 0) {
+          splits.add(weighted.value);
+        }
+      }
+    }
+    return splits;
+  }
+
+  private int[] toInts(final List<Integer> values) {
+    final int[] result = new int[values.size()];
+    for (int index = 0; index < result.length; ++index) {
+      result[index] = values.get(index);
+    }
+    return result;
+  }
+
+  /**
+   * Write the remaining values of an attribute into one file per range. As the values are sorted,
+   * each range is a contiguous section of the column.
+   *
+   * @return the file of each range or {@code null} if the range holds no value of the attribute
+   */
+  private Path[] splitValues(final Attribute attribute, final String[] splits) throws IOException {
+    final Path[] paths = new Path[partitions];
+    int range = 0;
+    RunCodec.RunWriter writer = null;
+    try {
+      while (attribute.hasValue()) {
+        final String value = attribute.getCurrentValue();
+        int valueRange = range;
+        while (valueRange < splits.length && value.compareTo(splits[valueRange]) >= 0) {
+          ++valueRange;
+        }
+        if (writer == null || valueRange != range) {
+          if (writer != null) {
+            writer.close();
+          }
+          range = valueRange;
+          paths[range] = files.range(attribute.getId(), range);
+          writer = codec.newWriter(paths[range]);
+        }
+        writer.write(value);
+        attribute.getReadPointer().next();
+      }
+    } catch (final AlgorithmExecutionException e) {
+      throw new IOException(e);
+    } finally {
+      if (writer != null) {
+        writer.close();
+      }
+    }
+    return paths;
+  }
+
+  private Path[] splitIds(final Attribute attribute, final int[] splits) throws IOException {
+    final Path[] paths = new Path[partitions];
+    final EncodedReadPointer pointer = attribute.getEncodedReadPointer();
+    int range = 0;
+    DataOutputStream output = null;
+    try {
+      while (pointer.hasNext()) {
+        final int id = pointer.getCurrentId();
+        int idRange = range;
+        while (idRange < splits.length && id >= splits[idRange]) {
+          ++idRange;
+        }
+        if (output == null || idRange != range) {
+          if (output != null) {
+            output.close();
+          }
+          range = idRange;
+          paths[range] = files.range(attribute.getId(), range);
+          output = new DataOutputStream(
+              new BufferedOutputStream(Files.newOutputStream(paths[range]), BUFFER_SIZE));
+        }
+        output.writeInt(id);
+        pointer.next();
+      }
+    } catch (final AlgorithmExecutionException e) {
+      throw new IOException(e);
+    } finally {
+      if (output != null) {
+        output.close();
+      }
+    }
+    return paths;
+  }
+
+  /**
+   * Sweep a single range on copies of the attributes, starting from the current candidates.
+   */
+  private Attribute[] sweep(final Path[][] ranges, final int range)
+      throws AlgorithmExecutionException, IOException {
+
+    final Attribute[] copies = new Attribute[attributeIndex.length];
+    final List<Attribute> toMerge = new ArrayList<>();
+    try {
+      for (final Attribute attribute : attributeIndex) {
+        final Path path = ranges[attribute.getId()][range];
+        final Attribute copy = new Attribute(attribute.getId(), attribute.getTableName(),
+            attribute.getColumnName(),
+            path == null || configuration.isDictionaryEncoding() ? null
+                : ReadPointer.of(path, codec));
+        if (path != null && configuration.isDictionaryEncoding()) {
+          copy.setEncodedReadPointer(EncodedReadPointer.of(path));
+        }
+        copy.copyRoles(attribute);
+        copies[attribute.getId()] = copy;
+        if (copy.hasValue() && !copy.isFinished()) {
+          toMerge.add(copy);
+        }
+      }
+
+      final MergeStrategy mergeStrategy = Sweep.mergeStrategyType(configuration)
+          .create(toMerge, Sweep.order(configuration));
+      Sweep.run(mergeStrategy, copies, () -> {
+      });
+    } finally {
+      for (final Attribute copy : copies) {
+        if (copy != null) {
+          copy.close();
+        }
+      }
+    }
+    return copies;
+  }
+
+  /**
+   * Intersect the candidates of all ranges. Without processing empty columns, the sequential sweep
+   * finally groups the columns that were empty from the start, which is repeated here.
+   */
+  private void combine(final List<Attribute[]> results, final long[] emptyAttributes) {
+    for (final Attribute attribute : attributeIndex) {
+      final long[] referenced = attribute.getReferenced();
+      for (final Attribute[] copies : results) {
+        final long[] rangeReferenced = copies[attribute.getId()].getReferenced();
+        for (int word = 0; word < referenced.length; ++word) {
+          referenced[word] &= rangeReferenced[word];
+        }
+      }
+      if (!configuration.isProcessEmptyColumns()
+          && Bitmaps.get(emptyAttributes, attribute.getId())) {
+        for (int word = 0; word < referenced.length; ++word) {
+          referenced[word] &= emptyAttributes[word];
+        }
+        Bitmaps.clear(referenced, attribute.getId());
+      }
+
+      int count = 0;
+      for (final long word : referenced) {
+        count += Long.bitCount(word);
+      }
+      attribute.setReferencedCount(count);
+    }
+  }
+
+  private void delete(final Path[][] ranges) throws AlgorithmExecutionException {
+    try {
+      for (final Path[] paths : ranges) {
+        if (paths == null) {
+          continue;
+        }
+        for (final Path path : paths) {
+          if (path != null) {
+            Files.deleteIfExists(path);
+          }
+        }
+      }
+    } catch (final IOException e) {
+      throw new AlgorithmExecutionException("cannot delete partition files", e);
+    }
+  }
+
+  private <T> List<T> invokeAll(final ExecutorService executor, final Task<T> task)
+      throws AlgorithmExecutionException {
+
+    final List<Future<T>> futures = new ArrayList<>(attributeIndex.length);
+    for (final Attribute attribute : attributeIndex) {
+      futures.add(executor.submit((Callable<T>) () -> task.apply(attribute)));
+    }
+    final List<T> results = new ArrayList<>(futures.size());
+    for (final Future<T> future : futures) {
+      results.add(await(future));
+    }
+    return results;
+  }
+
+  private <T> T await(final Future<T> future) throws AlgorithmExecutionException {
+    try {
+      return future.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AlgorithmExecutionException("interrupted during partitioned sweep", e);
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof AlgorithmExecutionException) {
+        throw (AlgorithmExecutionException) e.getCause();
+      }
+      throw new AlgorithmExecutionException("error during partitioned sweep", e.getCause());
+    }
+  }
+
+  @FunctionalInterface
+  private interface Task<T> {
+
+    T apply(Attribute attribute) throws IOException;
+  }
+
+  /**
+   * Keeps every {@code stride}-th value of a column of unknown length. Whenever the sample is full,
+   * every other value is dropped and the stride doubles.
+   */
+  private static class Sample<T> {
+
+    private final List<T> values = new ArrayList<>(2 * SAMPLE_SIZE);
+    private long stride = 1;
+    private long index = 0;
+
+    void offer(final T value) {
+      if (accepts()) {
+        add(value);
+      } else {
+        skip();
+      }
+    }
+
+    boolean accepts() {
+      return index % stride == 0;
+    }
+
+    void add(final T value) {
+      values.add(value);
+      ++index;
+      if (values.size() == 2 * SAMPLE_SIZE) {
+        for (int keep = 0; keep < SAMPLE_SIZE; ++keep) {
+          values.set(keep, values.get(2 * keep));
+        }
+        values.subList(SAMPLE_SIZE, values.size()).clear();
+        stride *= 2;
+      }
+    }
+
+    void skip() {
+      ++index;
+    }
+  }
+
+  private static class Weighted<T> {
+
+    private final T value;
+    private final long weight;
+
+    Weighted(final T value, final long weight) {
+      this.value = value;
+      this.weight = weight;
+    }
+  }
+}
@@ -1,19 +1,28 @@
 package de.metanome.algorithms.spider;
 
-import java.io.BufferedReader;
+import de.metanome.util.RunCodec;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Iterator;
 
 class ReadPointer implements Iterator<String> {
 
-  private final BufferedReader reader;
+  private final RunCodec.RunReader reader;
+  private final Path path;
+  private final RunCodec codec;
   private String currentValue;
 
-  ReadPointer(final BufferedReader reader) throws IOException {
+  ReadPointer(final RunCodec.RunReader reader) throws IOException {
+    this(reader, null, null);
+  }
+
+  private ReadPointer(final RunCodec.RunReader reader, final Path path, final RunCodec codec)
+      throws IOException {
+
     this.reader = reader;
-    currentValue = reader.readLine();
+    this.path = path;
+    this.codec = codec;
+    currentValue = reader.read();
   }
 
   String getCurrentValue() {
@@ -31,7 +40,7 @@ class ReadPointer implements Iterator<String> {
       return null;
     }
     try {
-      currentValue = reader.readLine();
+      currentValue = reader.read();
       return currentValue;
     } catch (final IOException e) {
       throw new RuntimeException(e);
@@ -42,7 +51,17 @@ class ReadPointer implements Iterator<String> {
     reader.close();
   }
 
-  static ReadPointer of(final Path path) throws IOException {
-    return new ReadPointer(Files.newBufferedReader(path));
+  /**
+   * @return an independent pointer positioned at the first value of the same file
+   */
+  ReadPointer reopen() throws IOException {
+    if (path == null) {
+      throw new IllegalStateException("read pointer is not backed by a file");
+    }
+    return of(path, codec);
+  }
+
+  static ReadPointer of(final Path path, final RunCodec codec) throws IOException {
+    return new ReadPointer(codec.newReader(path), path, codec);
   }
 }
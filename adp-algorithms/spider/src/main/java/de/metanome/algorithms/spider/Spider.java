@@ -1,34 +1,35 @@
 package de.metanome.algorithms.spider;
 
 import de.metanome.algorithm_integration.AlgorithmExecutionException;
-import de.metanome.algorithm_integration.result_receiver.ColumnNameMismatchException;
-import de.metanome.algorithm_integration.result_receiver.CouldNotReceiveResultException;
 import de.metanome.algorithm_integration.results.InclusionDependency;
 import de.metanome.util.InclusionDependencyBuilder;
+import de.metanome.util.InclusionDependencySink;
+import de.metanome.util.RunCodec;
 import de.metanome.util.TableInfo;
 import de.metanome.util.TableInfoFactory;
-import it.unimi.dsi.fastutil.PriorityQueue;
-import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
-import it.unimi.dsi.fastutil.ints.IntSet;
-import it.unimi.dsi.fastutil.objects.ObjectHeapPriorityQueue;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
 public class Spider {
 
 
   private final TableInfoFactory tableInfoFactory;
   private final ExternalRepository externalRepository;
+  private final DictionaryEncoder dictionaryEncoder;
 
   private SpiderConfiguration configuration;
   private Attribute[] attributeIndex;
-  private PriorityQueue<Attribute> priorityQueue;
+  private MergeStrategy mergeStrategy;
+  private InclusionDependencySink sink;
+  private long[] emitted;
 
 
   public Spider() {
     tableInfoFactory = new TableInfoFactory();
     externalRepository = new ExternalRepository();
+    dictionaryEncoder = new DictionaryEncoder();
   }
 
 
@@ -37,49 +38,143 @@ public class Spider {
     final List<TableInfo> table = tableInfoFactory
         .create(configuration.getRelationalInputGenerators(),
             configuration.getTableInputGenerators());
-    initializeAttributes(table);
-    calculateInclusionDependencies();
+    final ColumnFiles files = ColumnFiles.of(configuration);
+    final Checkpoint checkpoint = createCheckpoint(table);
+    if (checkpoint != null && isResumable(checkpoint)) {
+      restoreAttributes(table, files, checkpoint);
+    } else {
+      initializeAttributes(table, files, checkpoint);
+    }
+    sink = new InclusionDependencySink(configuration.getResultReceiver());
+    emitted = Bitmaps.create(attributeIndex.length);
+    calculateInclusionDependencies(checkpoint, files);
     collectResults();
+    sink.close();
     shutdown();
+    if (checkpoint != null) {
+      deleteCheckpoint(checkpoint, files);
+    }
+  }
+
+  private void initializeAttributes(final List<TableInfo> tables, final ColumnFiles files,
+      final Checkpoint checkpoint) throws AlgorithmExecutionException {
+
+    try {
+      if (checkpoint != null) {
+        checkpoint.reset();
+      }
+      attributeIndex = new Attribute[getTotalColumnCount(tables)];
+      createAttributes(tables, externalRepository.uniqueAndSort(configuration, tables, files));
+      if (configuration.isDictionaryEncoding()) {
+        dictionaryEncoder.encode(attributeIndex, files);
+      }
+      initializeRoles();
+      if (checkpoint != null) {
+        checkpoint.writeManifest();
+      }
+    } catch (final IOException e) {
+      throw new AlgorithmExecutionException("cannot write checkpoint", e);
+    }
   }
 
-  private void initializeAttributes(final List<TableInfo> tables)
+  /**
+   * Reopen the column files of an interrupted execution and continue from its last state.
+   */
+  private void restoreAttributes(final List<TableInfo> tables, final ColumnFiles files,
+      final Checkpoint checkpoint) throws AlgorithmExecutionException {
+
+    attributeIndex = new Attribute[getTotalColumnCount(tables)];
+    final RunCodec codec = RunCodec.of(configuration.getTpmmsConfiguration());
+    final ReadPointer[][] readPointers = new ReadPointer[tables.size()][];
+    int attributeId = 0;
+    for (int index = 0; index < tables.size(); ++index) {
+      final Path[] paths = new Path[tables.get(index).getColumnCount()];
+      for (int column = 0; column < paths.length; ++column) {
+        paths[column] = files.sorted(attributeId++);
+      }
+      readPointers[index] = configuration.isDictionaryEncoding() ? new ReadPointer[paths.length]
+          : externalRepository.open(paths, codec);
+    }
+    createAttributes(tables, readPointers);
+
+    try {
+      if (configuration.isDictionaryEncoding()) {
+        for (final Attribute attribute : attributeIndex) {
+          attribute.setEncodedReadPointer(
+              EncodedReadPointer.of(files.encoded(attribute.getId())));
+        }
+      }
+      initializeRoles();
+      checkpoint.restore(attributeIndex);
+    } catch (final IOException e) {
+      throw new AlgorithmExecutionException("cannot restore checkpoint", e);
+    }
+  }
+
+  private Checkpoint createCheckpoint(final List<TableInfo> tables)
       throws AlgorithmExecutionException {
 
-    final int columnCount = getTotalColumnCount(tables);
-    attributeIndex = new Attribute[columnCount];
-    priorityQueue = new ObjectHeapPriorityQueue<>(columnCount, this::compareAttributes);
-    createAndEnqueueAttributes(tables);
-    initializeRoles();
+    try {
+      return Checkpoint.of(configuration, tables);
+    } catch (final IOException e) {
+      throw new AlgorithmExecutionException("cannot create checkpoint directory", e);
+    }
   }
 
-  private void createAndEnqueueAttributes(final List<TableInfo> tables)
+  private boolean isResumable(final Checkpoint checkpoint) throws AlgorithmExecutionException {
+    try {
+      return checkpoint.isResumable();
+    } catch (final IOException e) {
+      throw new AlgorithmExecutionException("cannot read checkpoint", e);
+    }
+  }
+
+  private void deleteCheckpoint(final Checkpoint checkpoint, final ColumnFiles files)
       throws AlgorithmExecutionException {
 
+    try {
+      checkpoint.delete();
+      files.delete(attributeIndex.length);
+    } catch (final IOException e) {
+      throw new AlgorithmExecutionException("cannot delete checkpoint", e);
+    }
+  }
+
+  private void createAttributes(final List<TableInfo> tables, final ReadPointer[][] readPointers) {
     int attributeId = 0;
-    for (final TableInfo table : tables) {
-      final Attribute[] attributes = getAttributes(table, attributeId);
+    for (int index = 0; index < tables.size(); ++index) {
+      final Attribute[] attributes = getAttributes(tables.get(index), readPointers[index],
+          attributeId);
       attributeId += attributes.length;
 
       for (final Attribute attribute : attributes) {
         attributeIndex[attribute.getId()] = attribute;
-        if (attribute.getReadPointer().hasNext()) {
-          // Has next value: always process.
-          priorityQueue.enqueue(attribute);
-        } else if (!configuration.isProcessEmptyColumns()) {
-          // When ignoring empty columns, insert empty columns into queue.
-          // Only during normal processing the dependent and referenced set of empty attributes
-          // will be cleared.
-          priorityQueue.enqueue(attribute);
+      }
+    }
+  }
+
+  private void enqueueAttributes() {
+    final List<Attribute> toMerge = new ArrayList<>(attributeIndex.length);
+    for (final Attribute attribute : attributeIndex) {
+      if (attribute.hasValue()) {
+        // Has next value: process unless a restored state has already finished it.
+        if (!attribute.isFinished()) {
+          toMerge.add(attribute);
         }
+      } else if (!configuration.isProcessEmptyColumns()) {
+        // When ignoring empty columns, insert empty columns into queue.
+        // Only during normal processing the dependent and referenced set of empty attributes
+        // will be cleared.
+        toMerge.add(attribute);
       }
     }
+    mergeStrategy = Sweep.mergeStrategyType(configuration).create(toMerge,
+        Sweep.order(configuration));
   }
 
-  private Attribute[] getAttributes(final TableInfo table, int startIndex)
-      throws AlgorithmExecutionException {
+  private Attribute[] getAttributes(final TableInfo table, final ReadPointer[] readPointers,
+      int startIndex) {
 
-    final ReadPointer[] readPointers = externalRepository.uniqueAndSort(configuration, table);
     final Attribute[] attributes = new Attribute[table.getColumnCount()];
     for (int index = 0; index < readPointers.length; ++index) {
       attributes[index] =
@@ -90,93 +185,72 @@ public class Spider {
   }
 
   private void initializeRoles() {
-    final IntSet allIds = allIds();
     for (final Attribute attribute : attributeIndex) {
-      attribute.addDependent(allIds);
-      attribute.removeDependent(attribute.getId());
-      attribute.addReferenced(allIds);
-      attribute.removeReferenced(attribute.getId());
+      attribute.initializeRoles(attributeIndex.length);
     }
   }
 
-  private IntSet allIds() {
-    final IntSet ids = new IntOpenHashSet(attributeIndex.length);
-    for (int index = 0; index < attributeIndex.length; ++index) {
-      ids.add(index);
-    }
-    return ids;
-  }
-
   private int getTotalColumnCount(final List<TableInfo> tables) {
     return tables.stream().mapToInt(TableInfo::getColumnCount).sum();
   }
 
-  private int compareAttributes(final Attribute a1, final Attribute a2) {
-    if (a1.getCurrentValue() == null && a2.getCurrentValue() == null) {
-      return Integer.compare(a1.getId(), a2.getId());
-    }
-
-    if (a1.getCurrentValue() == null) {
-      return 1;
-    }
-
-    if (a2.getCurrentValue() == null) {
-      return -1;
-    }
+  private void calculateInclusionDependencies(final Checkpoint checkpoint,
+      final ColumnFiles files) throws AlgorithmExecutionException {
 
-    final int order = a1.getCurrentValue().compareTo(a2.getCurrentValue());
-    if (order == 0) {
-      return Integer.compare(a1.getId(), a2.getId());
+    if (configuration.getPartitions() > 1) {
+      new PartitionedSweep(configuration, attributeIndex, files).run();
+      return;
     }
-    return order;
-  }
 
-  private void calculateInclusionDependencies() {
-    final IntSet topAttributes = new IntOpenHashSet();
-    while (!priorityQueue.isEmpty()) {
-
-      final Attribute firstAttribute = priorityQueue.dequeue();
-      topAttributes.add(firstAttribute.getId());
-      while (!priorityQueue.isEmpty() && sameValue(priorityQueue.first(), firstAttribute)) {
-        topAttributes.add(priorityQueue.dequeue().getId());
-      }
-
-      for (final int topAttribute : topAttributes) {
-        attributeIndex[topAttribute].intersectReferenced(topAttributes, attributeIndex);
-      }
-
-      for (final int topAttribute : topAttributes) {
-        final Attribute attribute = attributeIndex[topAttribute];
-        attribute.nextValue();
-        if (!attribute.isFinished()) {
-          priorityQueue.enqueue(attribute);
+    enqueueAttributes();
+    Sweep.run(mergeStrategy, attributeIndex, new Sweep.Listener() {
+      @Override
+      public void afterGroup() throws AlgorithmExecutionException {
+        if (checkpoint != null) {
+          saveCheckpoint(checkpoint);
         }
       }
 
-      topAttributes.clear();
-    }
+      @Override
+      public void exhausted(final Attribute attribute) throws AlgorithmExecutionException {
+        emit(attribute);
+      }
+    });
   }
 
-  private boolean sameValue(final Attribute a1, final Attribute a2) {
-    return Objects.equals(a1.getCurrentValue(), a2.getCurrentValue());
+  private void saveCheckpoint(final Checkpoint checkpoint) throws AlgorithmExecutionException {
+    try {
+      checkpoint.maybeSave(attributeIndex);
+    } catch (final IOException e) {
+      throw new AlgorithmExecutionException("cannot write checkpoint", e);
+    }
   }
 
-  private void collectResults() throws CouldNotReceiveResultException, ColumnNameMismatchException {
+  /**
+   * Emit the INDs of all attributes which have not been emitted during the sweep.
+   */
+  private void collectResults() throws AlgorithmExecutionException {
     for (final Attribute dep : attributeIndex) {
-
-      if (dep.getReferenced().isEmpty()) {
-        continue;
+      if (!Bitmaps.get(emitted, dep.getId())) {
+        emit(dep);
       }
+    }
+  }
+
+  private void emit(final Attribute dep) throws AlgorithmExecutionException {
+    Bitmaps.set(emitted, dep.getId());
+    if (!dep.hasReferenced()) {
+      return;
+    }
 
-      for (final int refId : dep.getReferenced()) {
-        final Attribute ref = attributeIndex[refId];
+    for (int refId = dep.nextReferenced(0); refId >= 0; refId = dep.nextReferenced(refId + 1)) {
+      final Attribute ref = attributeIndex[refId];
 
-        final InclusionDependency ind = InclusionDependencyBuilder
-            .dependent().column(dep.getTableName(), dep.getColumnName())
-            .referenced().column(ref.getTableName(), ref.getColumnName()).build();
+      final InclusionDependency ind = InclusionDependencyBuilder
+          .dependent().column(dep.getTableName(), dep.getColumnName())
+          .referenced().column(ref.getTableName(), ref.getColumnName()).build();
 
-        configuration.getResultReceiver().receiveResult(ind);
-      }
+      sink.receive(ind);
     }
   }
 
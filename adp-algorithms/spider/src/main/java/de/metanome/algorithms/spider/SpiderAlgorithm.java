@@ -7,19 +7,28 @@ import de.metanome.algorithm_integration.algorithm_execution.FileGenerator;
 import de.metanome.algorithm_integration.algorithm_types.BooleanParameterAlgorithm;
 import de.metanome.algorithm_integration.algorithm_types.InclusionDependencyAlgorithm;
 import de.metanome.algorithm_integration.algorithm_types.IntegerParameterAlgorithm;
+import de.metanome.algorithm_integration.algorithm_types.ListBoxParameterAlgorithm;
+import de.metanome.algorithm_integration.algorithm_types.StringParameterAlgorithm;
 import de.metanome.algorithm_integration.algorithm_types.TempFileAlgorithm;
 import de.metanome.algorithm_integration.configuration.ConfigurationRequirement;
 import de.metanome.algorithm_integration.configuration.ConfigurationRequirementBoolean;
+import de.metanome.algorithm_integration.configuration.ConfigurationRequirementInteger;
+import de.metanome.algorithm_integration.configuration.ConfigurationRequirementListBox;
+import de.metanome.algorithm_integration.configuration.ConfigurationRequirementString;
 import de.metanome.algorithm_integration.result_receiver.InclusionDependencyResultReceiver;
 import de.metanome.algorithms.spider.SpiderConfiguration.SpiderConfigurationBuilder;
 import de.metanome.util.TPMMSConfiguration;
 import de.metanome.util.TPMMSConfigurationRequirements;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 abstract class SpiderAlgorithm implements InclusionDependencyAlgorithm,
     IntegerParameterAlgorithm,
     BooleanParameterAlgorithm,
+    ListBoxParameterAlgorithm,
+    StringParameterAlgorithm,
     TempFileAlgorithm {
 
   final SpiderConfigurationBuilder builder;
@@ -28,15 +37,23 @@ abstract class SpiderAlgorithm implements InclusionDependencyAlgorithm,
   final Spider spider;
 
   SpiderAlgorithm() {
-    builder = SpiderConfiguration.builder();
-    tpmmsConfiguration = new TPMMSConfiguration();
     defaultValues = SpiderConfiguration.withDefaults();
+    builder = SpiderConfiguration.builder()
+        .checkpointInterval(defaultValues.getCheckpointInterval());
+    tpmmsConfiguration = new TPMMSConfiguration();
     spider = new Spider();
   }
 
   List<ConfigurationRequirement<?>> common() {
     final List<ConfigurationRequirement<?>> requirements = new ArrayList<>();
     requirements.add(processEmptyColumns());
+    requirements.add(exportParallelism());
+    requirements.add(maxOpenFiles());
+    requirements.add(dictionaryEncoding());
+    requirements.add(mergeStrategy());
+    requirements.add(checkpointDirectory());
+    requirements.add(checkpointInterval());
+    requirements.add(partitions());
     requirements.addAll(TPMMSConfigurationRequirements.tpmms());
     return requirements;
   }
@@ -48,6 +65,57 @@ abstract class SpiderAlgorithm implements InclusionDependencyAlgorithm,
     return requirement;
   }
 
+  private ConfigurationRequirement<?> dictionaryEncoding() {
+    final ConfigurationRequirementBoolean requirement = new ConfigurationRequirementBoolean(
+        ConfigurationKey.DICTIONARY_ENCODING.name());
+    requirement.setDefaultValues(new Boolean[]{defaultValues.isDictionaryEncoding()});
+    return requirement;
+  }
+
+  private ConfigurationRequirement<?> mergeStrategy() {
+    final List<String> names = Arrays.stream(MergeStrategyType.values()).map(Enum::name)
+        .collect(Collectors.toList());
+    final ConfigurationRequirementListBox requirement = new ConfigurationRequirementListBox(
+        ConfigurationKey.MERGE_STRATEGY.name(), names, 1, 1);
+    requirement.setDefaultValues(new String[]{defaultValues.getMergeStrategy().name()});
+    return requirement;
+  }
+
+  private ConfigurationRequirement<?> checkpointDirectory() {
+    final ConfigurationRequirementString requirement = new ConfigurationRequirementString(
+        ConfigurationKey.CHECKPOINT_DIRECTORY.name());
+    requirement.setRequired(false);
+    return requirement;
+  }
+
+  private ConfigurationRequirement<?> checkpointInterval() {
+    final ConfigurationRequirementInteger requirement = new ConfigurationRequirementInteger(
+        ConfigurationKey.CHECKPOINT_INTERVAL.name());
+    requirement.setDefaultValues(new Integer[]{defaultValues.getCheckpointInterval()});
+    return requirement;
+  }
+
+  private ConfigurationRequirement<?> partitions() {
+    final ConfigurationRequirementInteger requirement = new ConfigurationRequirementInteger(
+        ConfigurationKey.PARTITIONS.name());
+    requirement.setDefaultValues(new Integer[]{defaultValues.getPartitions()});
+    return requirement;
+  }
+
+  private ConfigurationRequirement<?> exportParallelism() {
+    final ConfigurationRequirementInteger requirement = new ConfigurationRequirementInteger(
+        ConfigurationKey.EXPORT_PARALLELISM.name());
+    requirement.setDefaultValues(new Integer[]{defaultValues.getExportParallelism()});
+    return requirement;
+  }
+
+  private ConfigurationRequirement<?> maxOpenFiles() {
+    final ConfigurationRequirementInteger requirement = new ConfigurationRequirementInteger(
+        ConfigurationKey.MAX_OPEN_FILES.name());
+    requirement.setDefaultValues(new Integer[]{defaultValues.getMaxOpenFiles()});
+    return requirement;
+  }
+
   @SafeVarargs
   final <T> void handleUnknownConfiguration(final String identifier, final T... values)
       throws AlgorithmConfigurationException {
@@ -80,15 +148,55 @@ abstract class SpiderAlgorithm implements InclusionDependencyAlgorithm,
       return;
     }
 
-    handleUnknownConfiguration(identifier, values);
+    if (identifier.equals(ConfigurationKey.EXPORT_PARALLELISM.name())) {
+      builder.exportParallelism(values[0]);
+    } else if (identifier.equals(ConfigurationKey.MAX_OPEN_FILES.name())) {
+      builder.maxOpenFiles(values[0]);
+    } else if (identifier.equals(ConfigurationKey.CHECKPOINT_INTERVAL.name())) {
+      builder.checkpointInterval(values[0]);
+    } else if (identifier.equals(ConfigurationKey.PARTITIONS.name())) {
+      builder.partitions(values[0]);
+    } else {
+      handleUnknownConfiguration(identifier, values);
+    }
   }
 
   @Override
   public void setBooleanConfigurationValue(final String identifier, final Boolean... values)
       throws AlgorithmConfigurationException {
 
+    if (TPMMSConfigurationRequirements.acceptBoolean(identifier, values, tpmmsConfiguration)) {
+      return;
+    }
+
     if (identifier.equals(ConfigurationKey.PROCESS_EMPTY_COLUMNS.name())) {
       builder.processEmptyColumns(values[0]);
+    } else if (identifier.equals(ConfigurationKey.DICTIONARY_ENCODING.name())) {
+      builder.dictionaryEncoding(values[0]);
+    } else {
+      handleUnknownConfiguration(identifier, values);
+    }
+  }
+
+  @Override
+  public void setListBoxConfigurationValue(final String identifier, final String... values)
+      throws AlgorithmConfigurationException {
+
+    if (identifier.equals(ConfigurationKey.MERGE_STRATEGY.name())) {
+      builder.mergeStrategy(MergeStrategyType.valueOf(values[0]));
+    } else {
+      handleUnknownConfiguration(identifier, values);
+    }
+  }
+
+  @Override
+  public void setStringConfigurationValue(final String identifier, final String... values)
+      throws AlgorithmConfigurationException {
+
+    if (identifier.equals(ConfigurationKey.CHECKPOINT_DIRECTORY.name())) {
+      final String directory = values.length == 0 ? null : values[0];
+      builder.checkpointDirectory(directory == null || directory.trim().isEmpty() ? null
+          : directory);
     } else {
       handleUnknownConfiguration(identifier, values);
     }
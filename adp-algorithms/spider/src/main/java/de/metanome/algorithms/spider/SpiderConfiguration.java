@@ -20,6 +20,36 @@ import lombok.Singular;
 public class SpiderConfiguration {
 
   private boolean processEmptyColumns;
+  /**
+   * Number of tables which are exported concurrently.
+   */
+  private int exportParallelism;
+  /**
+   * Maximum number of columns which are exported concurrently, each writing its own runs. A table
+   * with more columns is exported alone. Non-positive values disable the limit.
+   */
+  private int maxOpenFiles;
+  /**
+   * Replace values by order-preserving integer ids before the sweep.
+   */
+  private boolean dictionaryEncoding;
+  /**
+   * How the sorted attributes are merged during the sweep; {@code null} selects the heap.
+   */
+  private MergeStrategyType mergeStrategy;
+  /**
+   * Directory for the column files and the progress of the sweep. An execution on the same input
+   * resumes from the last checkpoint found there. {@code null} disables checkpointing.
+   */
+  private String checkpointDirectory;
+  /**
+   * Minimum number of seconds between two checkpoints; zero saves after every group of the sweep.
+   */
+  private int checkpointInterval;
+  /**
+   * Number of value ranges swept concurrently. Values above one disable periodic checkpoints.
+   */
+  private int partitions;
   private FileGenerator tempFileGenerator;
   private InclusionDependencyResultReceiver resultReceiver;
 
@@ -32,6 +62,13 @@ public class SpiderConfiguration {
   public static SpiderConfiguration withDefaults() {
     return builder()
         .processEmptyColumns(true)
+        .exportParallelism(1)
+        .maxOpenFiles(0)
+        .dictionaryEncoding(false)
+        .mergeStrategy(MergeStrategyType.HEAP)
+        .checkpointDirectory(null)
+        .checkpointInterval(300)
+        .partitions(1)
         .tempFileGenerator(null)
         .resultReceiver(null)
         .tpmmsConfiguration(TPMMSConfiguration.withDefaults())
@@ -0,0 +1,92 @@
+package de.metanome.algorithms.spider;
+
+import de.metanome.algorithm_integration.AlgorithmExecutionException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The merge phase of Spider: every group of attributes sharing a value restricts the referenced
+ * candidates of its members to the group.
+ */
+final class Sweep {
+
+  @FunctionalInterface
+  interface Listener {
+
+    /**
+     * Called after each group, once all of its attributes have advanced.
+     */
+    void afterGroup() throws AlgorithmExecutionException;
+
+    /**
+     * Called once an attribute has run out of values. Its referenced candidates are final from
+     * now on.
+     */
+    default void exhausted(final Attribute attribute) throws AlgorithmExecutionException {
+    }
+  }
+
+  private Sweep() {
+  }
+
+  static void run(final MergeStrategy mergeStrategy, final Attribute[] attributeIndex,
+      final Listener listener) throws AlgorithmExecutionException {
+
+    final long[] topAttributes = Bitmaps.create(attributeIndex.length);
+    final List<Attribute> group = new ArrayList<>();
+    while (mergeStrategy.nextGroup(group)) {
+
+      for (final Attribute attribute : group) {
+        Bitmaps.set(topAttributes, attribute.getId());
+      }
+
+      for (final Attribute attribute : group) {
+        attribute.intersectReferenced(topAttributes, attributeIndex);
+      }
+
+      for (final Attribute attribute : group) {
+        attribute.nextValue();
+        Bitmaps.clear(topAttributes, attribute.getId());
+        if (!attribute.hasValue()) {
+          listener.exhausted(attribute);
+        }
+      }
+
+      listener.afterGroup();
+    }
+  }
+
+  static Comparator<Attribute> order(final SpiderConfiguration configuration) {
+    return configuration.isDictionaryEncoding() ? Sweep::compareIds : Sweep::compareValues;
+  }
+
+  static MergeStrategyType mergeStrategyType(final SpiderConfiguration configuration) {
+    return configuration.getMergeStrategy() == null ? MergeStrategyType.HEAP
+        : configuration.getMergeStrategy();
+  }
+
+  private static int compareValues(final Attribute a1, final Attribute a2) {
+    if (a1.getCurrentValue() == null && a2.getCurrentValue() == null) {
+      return 0;
+    }
+
+    if (a1.getCurrentValue() == null) {
+      return 1;
+    }
+
+    if (a2.getCurrentValue() == null) {
+      return -1;
+    }
+
+    return a1.getCurrentValue().compareTo(a2.getCurrentValue());
+  }
+
+  private static int compareIds(final Attribute a1, final Attribute a2) {
+    if (a1.hasValue() != a2.hasValue()) {
+      return a1.hasValue() ? -1 : 1;
+    }
+
+    return a1.hasValue() ? Integer.compare(a1.getCurrentId(), a2.getCurrentId()) : 0;
+  }
+}
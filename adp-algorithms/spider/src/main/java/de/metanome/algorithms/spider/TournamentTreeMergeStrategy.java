@@ -0,0 +1,129 @@
+package de.metanome.algorithms.spider;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A tournament (winner) tree over the attributes of the sweep. Each inner node stores the leaf
+ * with the smallest value in its subtree.
+ *
+ * <p>A group is collected by descending only into subtrees whose winner carries the minimum. After
+ * the group has advanced, the affected paths are replayed bottom-up, level by level, so common
+ * ancestors are recomputed once per group instead of once per attribute. A loser tree would store
+ * fewer winners, but only supports replaying the leaf of the overall winner.</p>
+ */
+class TournamentTreeMergeStrategy implements MergeStrategy {
+
+  private static final int NONE = -1;
+
+  private final Attribute[] leaves;
+  private final Comparator<Attribute> order;
+  private final int capacity;
+  private final int[] tree;
+  private final int[] visited;
+  private int round = 0;
+
+  private final IntArrayList groupLeaves = new IntArrayList();
+  private final IntArrayList currentLevel = new IntArrayList();
+  private final IntArrayList nextLevel = new IntArrayList();
+
+  TournamentTreeMergeStrategy(final List<Attribute> attributes,
+      final Comparator<Attribute> order) {
+
+    this.leaves = attributes.toArray(new Attribute[0]);
+    this.order = order;
+
+    int size = 1;
+    while (size < leaves.length) {
+      size <<= 1;
+    }
+    capacity = size;
+    tree = new int[2 * capacity];
+    visited = new int[capacity];
+
+    for (int leaf = 0; leaf < capacity; ++leaf) {
+      tree[capacity + leaf] = leaf < leaves.length ? leaf : NONE;
+    }
+    for (int node = capacity - 1; node > 0; --node) {
+      tree[node] = winner(tree[2 * node], tree[2 * node + 1]);
+    }
+  }
+
+  @Override
+  public boolean nextGroup(final List<Attribute> group) {
+    replayGroup();
+    group.clear();
+
+    final int winner = tree[1];
+    if (winner == NONE) {
+      return false;
+    }
+
+    final IntArrayList stack = currentLevel;
+    stack.clear();
+    stack.add(1);
+    while (!stack.isEmpty()) {
+      final int node = stack.popInt();
+      final int candidate = tree[node];
+      if (candidate == NONE || order.compare(leaves[candidate], leaves[winner]) != 0) {
+        continue;
+      }
+      if (node >= capacity) {
+        groupLeaves.add(candidate);
+      } else {
+        stack.add(2 * node + 1);
+        stack.add(2 * node);
+      }
+    }
+
+    for (int index = 0; index < groupLeaves.size(); ++index) {
+      group.add(leaves[groupLeaves.getInt(index)]);
+    }
+    return true;
+  }
+
+  /**
+   * Remove finished attributes of the last group and restore the tree along their paths.
+   */
+  private void replayGroup() {
+    if (groupLeaves.isEmpty()) {
+      return;
+    }
+
+    ++round;
+    currentLevel.clear();
+    for (int index = 0; index < groupLeaves.size(); ++index) {
+      final int leaf = groupLeaves.getInt(index);
+      if (leaves[leaf].isFinished()) {
+        tree[capacity + leaf] = NONE;
+      }
+      currentLevel.add(capacity + leaf);
+    }
+    groupLeaves.clear();
+
+    while (currentLevel.getInt(0) > 1) {
+      nextLevel.clear();
+      for (int index = 0; index < currentLevel.size(); ++index) {
+        final int parent = currentLevel.getInt(index) >> 1;
+        if (visited[parent] != round) {
+          visited[parent] = round;
+          nextLevel.add(parent);
+          tree[parent] = winner(tree[2 * parent], tree[2 * parent + 1]);
+        }
+      }
+      currentLevel.clear();
+      currentLevel.addAll(nextLevel);
+    }
+  }
+
+  private int winner(final int left, final int right) {
+    if (left == NONE) {
+      return right;
+    }
+    if (right == NONE) {
+      return left;
+    }
+    return order.compare(leaves[right], leaves[left]) < 0 ? right : left;
+  }
+}
@@ -1,12 +1,21 @@
 package de.metanome.algorithms.spider;
 
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 
+import de.metanome.algorithm_integration.input.FileInputGenerator;
 import de.metanome.algorithm_integration.input.RelationalInput;
 import de.metanome.algorithm_integration.input.RelationalInputGenerator;
+import de.metanome.algorithm_integration.result_receiver.CouldNotReceiveResultException;
 import de.metanome.algorithm_integration.result_receiver.InclusionDependencyResultReceiver;
 import de.metanome.algorithm_integration.results.InclusionDependency;
 import de.metanome.util.FileGeneratorFake;
@@ -14,6 +23,9 @@ import de.metanome.util.InclusionDependencyBuilder;
 import de.metanome.util.RelationalInputStub;
 import de.metanome.util.Row;
 import de.metanome.util.TPMMSConfiguration;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -84,6 +96,238 @@ class SpiderTest {
         .hasSize(3);
   }
 
+  @Test
+  void runSpiderWithBinaryRuns() throws Exception {
+    final Spider spider = new Spider();
+    final TPMMSConfiguration tpmmsConfiguration = TPMMSConfiguration.withDefaults();
+    tpmmsConfiguration.setFrontCoding(true);
+    tpmmsConfiguration.setCompressRuns(true);
+    configuration.setTpmmsConfiguration(tpmmsConfiguration);
+
+    spider.execute(configuration);
+
+    verify(resultReceiver, atLeastOnce()).receiveResult(ind.capture());
+    assertThat(ind.getAllValues())
+        .hasSize(1)
+        .first()
+        .isEqualTo(expectedInd());
+  }
+
+  @Test
+  void runSpiderWithConcurrentExport() throws Exception {
+    final Spider spider = new Spider();
+    final TPMMSConfiguration tpmmsConfiguration = TPMMSConfiguration.withDefaults();
+    tpmmsConfiguration.setParallelism(2);
+    configuration.setTpmmsConfiguration(tpmmsConfiguration);
+    configuration.setExportParallelism(2);
+    configuration.setMaxOpenFiles(2);
+
+    spider.execute(configuration);
+
+    verify(resultReceiver, atLeastOnce()).receiveResult(ind.capture());
+    assertThat(ind.getAllValues())
+        .hasSize(1)
+        .first()
+        .isEqualTo(expectedInd());
+  }
+
+  @Test
+  void runSpiderWithDictionaryEncoding() throws Exception {
+    final Spider spider = new Spider();
+    configuration.setDictionaryEncoding(true);
+
+    spider.execute(configuration);
+
+    verify(resultReceiver, atLeastOnce()).receiveResult(ind.capture());
+    assertThat(ind.getAllValues())
+        .hasSize(1)
+        .first()
+        .isEqualTo(expectedInd());
+  }
+
+  @Test
+  void runSpiderWithDictionaryEncodingAndEmptyColumn() throws Exception {
+    final Spider spider = new Spider();
+    configuration.setDictionaryEncoding(true);
+    configuration.setProcessEmptyColumns(true);
+
+    spider.execute(configuration);
+
+    verify(resultReceiver, atLeastOnce()).receiveResult(ind.capture());
+    assertThat(ind.getAllValues())
+        .hasSize(3);
+  }
+
+  @Test
+  void runSpiderWithTournamentTree() throws Exception {
+    final Spider spider = new Spider();
+    configuration.setMergeStrategy(MergeStrategyType.TOURNAMENT_TREE);
+
+    spider.execute(configuration);
+
+    verify(resultReceiver, atLeastOnce()).receiveResult(ind.capture());
+    assertThat(ind.getAllValues())
+        .hasSize(1)
+        .first()
+        .isEqualTo(expectedInd());
+  }
+
+  @Test
+  void runSpiderWithTournamentTreeAndEmptyColumn() throws Exception {
+    final Spider spider = new Spider();
+    configuration.setMergeStrategy(MergeStrategyType.TOURNAMENT_TREE);
+    configuration.setProcessEmptyColumns(true);
+
+    spider.execute(configuration);
+
+    verify(resultReceiver, atLeastOnce()).receiveResult(ind.capture());
+    assertThat(ind.getAllValues())
+        .hasSize(3);
+  }
+
+  @Test
+  void runSpiderWithPartitions() throws Exception {
+    final Spider spider = new Spider();
+    configuration.setPartitions(3);
+
+    spider.execute(configuration);
+
+    verify(resultReceiver, atLeastOnce()).receiveResult(ind.capture());
+    assertThat(ind.getAllValues())
+        .hasSize(1)
+        .first()
+        .isEqualTo(expectedInd());
+  }
+
+  @Test
+  void runSpiderWithPartitionsAndEmptyColumn() throws Exception {
+    final Spider spider = new Spider();
+    configuration.setPartitions(3);
+    configuration.setProcessEmptyColumns(true);
+
+    spider.execute(configuration);
+
+    verify(resultReceiver, atLeastOnce()).receiveResult(ind.capture());
+    assertThat(ind.getAllValues())
+        .hasSize(3);
+  }
+
+  @Test
+  void runSpiderOnWideTable() throws Exception {
+    final int columnCount = 70;
+    given(generator.generateNewCopy()).willReturn(wideTable(columnCount));
+    final Spider spider = new Spider();
+
+    spider.execute(configuration);
+
+    verify(resultReceiver, atLeastOnce()).receiveResult(ind.capture());
+    assertThat(ind.getAllValues())
+        .hasSize(columnCount * (columnCount - 1) / 2);
+  }
+
+  @Test
+  void runSpiderOnWideTableWithPartitions() throws Exception {
+    final int columnCount = 70;
+    given(generator.generateNewCopy()).willReturn(wideTable(columnCount));
+    final Spider spider = new Spider();
+    configuration.setPartitions(4);
+    configuration.setDictionaryEncoding(true);
+
+    spider.execute(configuration);
+
+    verify(resultReceiver, atLeastOnce()).receiveResult(ind.capture());
+    assertThat(ind.getAllValues())
+        .hasSize(columnCount * (columnCount - 1) / 2);
+  }
+
+  /**
+   * Column c holds the values 0 to c, so c is included in every column to its right.
+   */
+  private RelationalInput wideTable(final int columnCount) {
+    final RelationalInputStub.RelationalInputStubBuilder wide = RelationalInputStub.builder()
+        .relationName("Wide");
+    for (int column = 0; column < columnCount; ++column) {
+      wide.columnName("C" + column);
+    }
+    for (int row = 0; row < columnCount; ++row) {
+      final String[] values = new String[columnCount];
+      for (int column = row; column < columnCount; ++column) {
+        values[column] = String.valueOf(row);
+      }
+      wide.row(Row.of(values));
+    }
+    return wide.build();
+  }
+
+  @Test
+  void resumeSpiderFromCheckpoint() throws Exception {
+    final Path directory = Files.createTempDirectory("spider");
+    configuration.setCheckpointDirectory(directory.toString());
+    configuration.setCheckpointInterval(0);
+    willThrow(new CouldNotReceiveResultException("interrupted"))
+        .given(resultReceiver).receiveResult(any(InclusionDependency.class));
+
+    assertThatThrownBy(() -> new Spider().execute(configuration))
+        .isInstanceOf(CouldNotReceiveResultException.class);
+
+    // Same relation without rows: resuming must neither export nor sweep again.
+    reset(resultReceiver);
+    given(generator.generateNewCopy()).willReturn(RelationalInputStub.builder()
+        .relationName("Test")
+        .columnName(COL_A).columnName(COL_B).columnName(COL_C)
+        .build());
+    new Spider().execute(configuration);
+
+    verify(resultReceiver, atLeastOnce()).receiveResult(ind.capture());
+    assertThat(ind.getAllValues())
+        .hasSize(1)
+        .first()
+        .isEqualTo(expectedInd());
+    assertThat(Files.list(directory).collect(toList())).isEmpty();
+    Files.delete(directory);
+  }
+
+  @Test
+  void changedInputShouldNotResumeFromCheckpoint() throws Exception {
+    final Path directory = Files.createTempDirectory("spider");
+    final Path file = Files.createTempFile("spider", ".csv");
+    Files.write(file, "x,z\nx,y\ny,x\n".getBytes(StandardCharsets.UTF_8));
+    final FileInputGenerator fileGenerator = mock(FileInputGenerator.class);
+    given(fileGenerator.getInputFile()).willReturn(file.toFile());
+    given(fileGenerator.generateNewCopy()).willReturn(input);
+    configuration.setRelationalInputGenerators(asList(fileGenerator));
+    configuration.setCheckpointDirectory(directory.toString());
+    configuration.setCheckpointInterval(0);
+    willThrow(new CouldNotReceiveResultException("interrupted"))
+        .given(resultReceiver).receiveResult(any(InclusionDependency.class));
+
+    assertThatThrownBy(() -> new Spider().execute(configuration))
+        .isInstanceOf(CouldNotReceiveResultException.class);
+
+    // Appending a row makes B a subset of A and A no longer a subset of B.
+    reset(resultReceiver);
+    Files.write(file, "x,z\nx,y\ny,x\nq,y\n".getBytes(StandardCharsets.UTF_8));
+    given(fileGenerator.generateNewCopy()).willReturn(RelationalInputStub.builder()
+        .relationName("Test")
+        .columnName(COL_A).columnName(COL_B).columnName(COL_C)
+        .row(Row.of("x", "x", null))
+        .row(Row.of("y", "x", null))
+        .row(Row.of("q", "y", null))
+        .build());
+    new Spider().execute(configuration);
+
+    verify(resultReceiver, atLeastOnce()).receiveResult(ind.capture());
+    assertThat(ind.getAllValues())
+        .hasSize(1)
+        .first()
+        .isEqualTo(InclusionDependencyBuilder
+            .dependent().column(input.relationName(), COL_B)
+            .referenced().column(input.relationName(), COL_A).build());
+    assertThat(Files.list(directory).collect(toList())).isEmpty();
+    Files.delete(directory);
+    Files.delete(file);
+  }
+
   private InclusionDependency expectedInd() {
     return InclusionDependencyBuilder
         .dependent().column(input.relationName(), COL_A)
@@ -0,0 +1,191 @@
+package de.metanome.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Length-prefixed UTF-8 values.
+ *
+ * <p>Each value is stored as a varint byte length followed by its bytes. With front coding, a
+ * value instead stores the length of the byte prefix it shares with its predecessor and only the
+ * remaining suffix, which pays off for sorted runs. The whole stream can additionally be Deflate
+ * compressed.</p>
+ */
+class BinaryRunCodec implements RunCodec {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final boolean frontCoding;
+  private final boolean compressed;
+
+  BinaryRunCodec(final boolean frontCoding, final boolean compressed) {
+    this.frontCoding = frontCoding;
+    this.compressed = compressed;
+  }
+
+  @Override
+  public RunWriter newWriter(final Path path) throws IOException {
+    final OutputStream file = Files.newOutputStream(path);
+    if (!compressed) {
+      return new BinaryRunWriter(new BufferedOutputStream(file, BUFFER_SIZE), null);
+    }
+    final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    return new BinaryRunWriter(new DeflaterOutputStream(file, deflater, BUFFER_SIZE), deflater);
+  }
+
+  @Override
+  public RunReader newReader(final Path path) throws IOException {
+    final InputStream file = Files.newInputStream(path);
+    if (!compressed) {
+      return new BinaryRunReader(new BufferedInputStream(file, BUFFER_SIZE), null);
+    }
+    final Inflater inflater = new Inflater();
+    return new BinaryRunReader(
+        new BufferedInputStream(new InflaterInputStream(file, inflater, BUFFER_SIZE)), inflater);
+  }
+
+  private class BinaryRunWriter implements RunWriter {
+
+    private final OutputStream out;
+    private final Deflater deflater;
+    private byte[] previous = new byte[0];
+
+    private BinaryRunWriter(final OutputStream out, final Deflater deflater) {
+      this.out = out;
+      this.deflater = deflater;
+    }
+
+    @Override
+    public void write(final String value) throws IOException {
+      final byte[] bytes = value.getBytes(UTF_8);
+      int shared = 0;
+      if (frontCoding) {
+        shared = sharedPrefixLength(previous, bytes);
+        writeVarInt(shared);
+        previous = bytes;
+      }
+      writeVarInt(bytes.length - shared);
+      out.write(bytes, shared, bytes.length - shared);
+    }
+
+    private void writeVarInt(int value) throws IOException {
+      while ((value & ~0x7F) != 0) {
+        out.write((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      out.write(value);
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        out.close();
+      } finally {
+        if (deflater != null) {
+          deflater.end();
+        }
+      }
+    }
+  }
+
+  private class BinaryRunReader implements RunReader {
+
+    private final InputStream in;
+    private final Inflater inflater;
+    private byte[] buffer = new byte[64];
+
+    private BinaryRunReader(final InputStream in, final Inflater inflater) {
+      this.in = in;
+      this.inflater = inflater;
+    }
+
+    @Override
+    public String read() throws IOException {
+      final int first = in.read();
+      if (first < 0) {
+        return null;
+      }
+
+      int shared = 0;
+      int length = readVarInt(first);
+      if (frontCoding) {
+        // The shared prefix is still in place from the previous value.
+        shared = length;
+        length = readVarInt(readByte());
+      }
+
+      final int total = shared + length;
+      if (buffer.length < total) {
+        buffer = Arrays.copyOf(buffer, Math.max(total, 2 * buffer.length));
+      }
+      readFully(buffer, shared, length);
+      return new String(buffer, 0, total, UTF_8);
+    }
+
+    private int readVarInt(final int first) throws IOException {
+      int value = first & 0x7F;
+      int current = first;
+      int shift = 7;
+      while ((current & 0x80) != 0) {
+        current = readByte();
+        value |= (current & 0x7F) << shift;
+        shift += 7;
+      }
+      return value;
+    }
+
+    private int readByte() throws IOException {
+      final int value = in.read();
+      if (value < 0) {
+        throw new EOFException("truncated run");
+      }
+      return value;
+    }
+
+    private void readFully(final byte[] target, final int offset, final int length)
+        throws IOException {
+
+      int read = 0;
+      while (read < length) {
+        final int count = in.read(target, offset + read, length - read);
+        if (count < 0) {
+          throw new EOFException("truncated run");
+        }
+        read += count;
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        in.close();
+      } finally {
+        if (inflater != null) {
+          inflater.end();
+        }
+      }
+    }
+  }
+
+  private static int sharedPrefixLength(final byte[] a, final byte[] b) {
+    final int limit = Math.min(a.length, b.length);
+    int index = 0;
+    while (index < limit && a[index] == b[index]) {
+      ++index;
+    }
+    return index;
+  }
+}
@@ -0,0 +1,101 @@
+package de.metanome.util;
+
+import de.metanome.algorithm_integration.AlgorithmExecutionException;
+import de.metanome.algorithm_integration.result_receiver.InclusionDependencyResultReceiver;
+import de.metanome.algorithm_integration.results.InclusionDependency;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams INDs to a result receiver as soon as they are final.
+ *
+ * <p>Any number of threads may add INDs concurrently. They are queued without locking and handed
+ * to the receiver in batches by whichever producer fills a batch, so the receiver is only ever
+ * called by a single thread at a time. Producers that find the queue at its capacity help draining
+ * or wait for the current drainer, which bounds the number of queued INDs.</p>
+ *
+ * <p>{@link #close()} forwards the remaining INDs and must be called once all producers are
+ * done.</p>
+ */
+public class InclusionDependencySink implements AutoCloseable {
+
+  private static final int DEFAULT_BATCH_SIZE = 256;
+
+  private final InclusionDependencyResultReceiver receiver;
+  private final int batchSize;
+  private final int capacity;
+  private final Queue<InclusionDependency> pending = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger size = new AtomicInteger();
+  private final AtomicBoolean draining = new AtomicBoolean();
+
+  public InclusionDependencySink(final InclusionDependencyResultReceiver receiver) {
+    this(receiver, DEFAULT_BATCH_SIZE);
+  }
+
+  public InclusionDependencySink(final InclusionDependencyResultReceiver receiver,
+      final int batchSize) {
+
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("batch size must be positive: " + batchSize);
+    }
+    this.receiver = receiver;
+    this.batchSize = batchSize;
+    this.capacity = 4 * batchSize;
+  }
+
+  public void receive(final InclusionDependency ind) throws AlgorithmExecutionException {
+    pending.add(ind);
+    final int queued = size.incrementAndGet();
+    if (queued < batchSize) {
+      return;
+    }
+
+    while (true) {
+      if (draining.compareAndSet(false, true)) {
+        try {
+          forward(batchSize);
+        } finally {
+          draining.set(false);
+        }
+        return;
+      }
+      if (size.get() < capacity) {
+        // Another producer is forwarding and there is still room.
+        return;
+      }
+      Thread.yield();
+    }
+  }
+
+  /**
+   * Forward all queued INDs, waiting for a concurrent drainer if necessary.
+   */
+  public void flush() throws AlgorithmExecutionException {
+    while (size.get() > 0) {
+      if (draining.compareAndSet(false, true)) {
+        try {
+          forward(Integer.MAX_VALUE);
+        } finally {
+          draining.set(false);
+        }
+      } else {
+        Thread.yield();
+      }
+    }
+  }
+
+  @Override
+  public void close() throws AlgorithmExecutionException {
+    flush();
+  }
+
+  private void forward(final int limit) throws AlgorithmExecutionException {
+    InclusionDependency ind;
+    for (int count = 0; count < limit && (ind = pending.poll()) != null; ++count) {
+      size.decrementAndGet();
+      receiver.receiveResult(ind);
+    }
+  }
+}
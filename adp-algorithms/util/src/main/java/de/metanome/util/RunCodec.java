@@ -0,0 +1,46 @@
+package de.metanome.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * On-disk format of sorted runs, as written and read by {@link TPMMS} and its consumers.
+ *
+ * <p>Values are written in sorted order and read back in the same order. A run written by one
+ * codec can only be read by an equally configured codec.</p>
+ */
+public interface RunCodec {
+
+  interface RunWriter extends Closeable {
+
+    void write(String value) throws IOException;
+  }
+
+  interface RunReader extends Closeable {
+
+    /**
+     * @return the next value or {@code null} if the run is exhausted
+     */
+    String read() throws IOException;
+  }
+
+  /**
+   * Create a new run, truncating the file if it already exists.
+   */
+  RunWriter newWriter(Path path) throws IOException;
+
+  RunReader newReader(Path path) throws IOException;
+
+  /**
+   * Select the codec for the given configuration: newline-delimited text unless any of the binary
+   * options is enabled.
+   */
+  static RunCodec of(final TPMMSConfiguration configuration) {
+    if (configuration.isBinaryRuns() || configuration.isFrontCoding()
+        || configuration.isCompressRuns()) {
+      return new BinaryRunCodec(configuration.isFrontCoding(), configuration.isCompressRuns());
+    }
+    return new TextRunCodec();
+  }
+}
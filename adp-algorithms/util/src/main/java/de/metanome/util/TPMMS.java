@@ -1,24 +1,40 @@
 package de.metanome.util;
 
+import com.google.common.collect.Lists;
 import it.unimi.dsi.fastutil.objects.ObjectHeapPriorityQueue;
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.Closeable;
 import java.io.IOException;
-import java.lang.management.ManagementFactory;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.RequiredArgsConstructor;
 
 public class TPMMS {
 
+  /**
+   * Maximum number of runs merged by a single node of the merge tree in parallel mode.
+   */
+  private static final int MERGE_FAN_IN = 16;
+
+  /**
+   * Estimated heap overhead of a buffered value in addition to its characters.
+   */
+  private static final long VALUE_OVERHEAD = 80;
+
   public interface Output extends Closeable {
 
     void open(Path to) throws IOException;
@@ -26,60 +42,257 @@ public class TPMMS {
     void write(String value) throws IOException;
   }
 
+  /**
+   * Sorts and deduplicates values which are pushed one by one instead of being read from a file.
+   * A sorter is not thread-safe, but sorters obtained from the same instance may be fed
+   * concurrently. They share the memory budget evenly.
+   */
+  public interface Sorter extends Closeable {
+
+    void add(String value) throws IOException;
+
+    /**
+     * Merge all values added so far and write them to the output. Closes the sorter.
+     */
+    void finish() throws IOException;
+
+    /**
+     * Release the buffer and remove all spill files without writing any output.
+     */
+    @Override
+    void close() throws IOException;
+  }
+
   private final TPMMSConfiguration configuration;
+  private final RunCodec codec;
+  private final TPMMSStatistics statistics;
+  private final AtomicInteger openSorters = new AtomicInteger();
 
   public TPMMS(final TPMMSConfiguration configuration) {
     this.configuration = configuration;
+    this.codec = RunCodec.of(configuration);
+    this.statistics = new TPMMSStatistics();
+  }
+
+  /**
+   * @return the format of spill files and of in-place results
+   */
+  public RunCodec getCodec() {
+    return codec;
+  }
+
+  /**
+   * @return spill statistics accumulated over all files processed by this instance
+   */
+  public TPMMSStatistics getStatistics() {
+    return statistics;
   }
 
   public void uniqueAndSort(final Path path) throws IOException {
-    uniqueAndSort(path, new DefaultOutput());
+    uniqueAndSort(path, new CodecOutput(codec));
+  }
+
+  /**
+   * Create a sorter whose result replaces the content of the given file. The result is written
+   * with {@link #getCodec()}; spill files are placed next to it.
+   */
+  public Sorter newSorter(final Path path) {
+    return newSorter(path, new CodecOutput(codec));
+  }
+
+  public Sorter newSorter(final Path path, final Output output) {
+    openSorters.incrementAndGet();
+    return new Execution(this, path, output, null);
   }
 
   public void uniqueAndSort(final Path path, final Output output) throws IOException {
-    new Execution(configuration, path, output).uniqueAndSort();
+    uniqueAndSort(Collections.singletonMap(path, output));
   }
 
-  private static class Execution {
+  /**
+   * Sort and deduplicate all given files in place. The results are written with {@link
+   * #getCodec()}.
+   *
+   * @param paths the files to process
+   * @see #uniqueAndSort(Map)
+   */
+  public void uniqueAndSort(final Collection<Path> paths) throws IOException {
+    final Map<Path, Output> outputs = new LinkedHashMap<>();
+    for (final Path path : paths) {
+      outputs.put(path, new CodecOutput(codec));
+    }
+    uniqueAndSort(outputs);
+  }
+
+  /**
+   * Sort and deduplicate each file, writing the result to the associated output.
+   *
+   * <p>If the configured parallelism exceeds one, files are processed concurrently on a worker pool
+   * of that size. Each execution then also writes its spill files and merges its runs on the same
+   * pool. The produced output is identical to the sequential mode.</p>
+   *
+   * @param outputs the files to process and the output for each of them
+   */
+  public void uniqueAndSort(final Map<Path, ? extends Output> outputs) throws IOException {
+    if (configuration.getParallelism() <= 1) {
+      for (final Map.Entry<Path, ? extends Output> entry : outputs.entrySet()) {
+        new Execution(this, entry.getKey(), entry.getValue(), null).uniqueAndSort();
+      }
+      return;
+    }
+
+    final ForkJoinPool pool = new ForkJoinPool(configuration.getParallelism());
+    try {
+      final List<ForkJoinTask<?>> tasks = new ArrayList<>(outputs.size());
+      for (final Map.Entry<Path, ? extends Output> entry : outputs.entrySet()) {
+        final Execution execution = new Execution(this, entry.getKey(), entry.getValue(), pool);
+        tasks.add(pool.submit(task(execution::uniqueAndSort)));
+      }
+      joinAll(tasks);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @FunctionalInterface
+  private interface IOAction {
+
+    void run() throws IOException;
+  }
+
+  private static ForkJoinTask<?> task(final IOAction action) {
+    return ForkJoinTask.adapt(() -> {
+      try {
+        action.run();
+      } catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+
+  private static void join(final ForkJoinTask<?> task) throws IOException {
+    try {
+      task.join();
+    } catch (final UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  private static void joinAll(final List<ForkJoinTask<?>> tasks) throws IOException {
+    IOException failure = null;
+    for (final ForkJoinTask<?> task : tasks) {
+      try {
+        join(task);
+      } catch (final IOException e) {
+        if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private static class Execution implements Sorter {
 
     private final TPMMSConfiguration configuration;
+    private final RunCodec codec;
+    private final TPMMSStatistics statistics;
+    private final AtomicInteger openSorters;
     private final Output output;
     private final Path origin;
-    private final long maxMemoryUsage;
+    private final long memoryBudget;
+    private final ForkJoinPool pool;
 
-    private final SortedSet<String> values = new TreeSet<>();
+    private SortedSet<String> values = new TreeSet<>();
     private final List<Path> spilledFiles = new ArrayList<>();
+    private final List<Path> intermediateFiles = new ArrayList<>();
+    private ForkJoinTask<?> pendingSpill;
     private int totalValues = 0;
-    private int valuesSinceLastMemoryCheck = 0;
+    private long bufferedBytes = 0;
+    private boolean closed = false;
 
-    private Execution(final TPMMSConfiguration configuration, final Path origin,
-        final Output output) {
+    private Execution(final TPMMS tpmms, final Path origin, final Output output,
+        final ForkJoinPool pool) {
 
-      this.configuration = configuration;
+      this.configuration = tpmms.configuration;
+      this.codec = tpmms.codec;
+      this.statistics = tpmms.statistics;
+      this.openSorters = tpmms.openSorters;
       this.output = output;
       this.origin = origin;
-      this.maxMemoryUsage = getMaxMemoryUsage(configuration);
+      this.pool = pool;
+      this.memoryBudget = getMemoryBudget(configuration);
     }
 
-    private static long getMaxMemoryUsage(final TPMMSConfiguration configuration) {
-      final long available = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getMax();
+    /**
+     * The budget is shared evenly by all concurrent executions. In parallel mode, a share covers
+     * both the buffer being filled and the run which is still being written. Open sorters divide
+     * the budget among themselves; a sorter notices a new one at its next value.
+     */
+    private long getMaxBufferSize() {
+      if (isParallel()) {
+        return memoryBudget / (2L * configuration.getParallelism());
+      }
+      return memoryBudget / Math.max(1, openSorters.get());
+    }
+
+    private static long getMemoryBudget(final TPMMSConfiguration configuration) {
+      if (configuration.getMemoryBudget() > 0) {
+        return configuration.getMemoryBudget();
+      }
+      final long available = Runtime.getRuntime().maxMemory();
       return (long) (available * (configuration.getMaxMemoryUsagePercentage() / 100.0d));
     }
 
+    /**
+     * Size of a buffered value: the characters of the string (assuming two bytes each) plus the
+     * string, array and tree entry headers.
+     */
+    private static long sizeOf(final String value) {
+      return VALUE_OVERHEAD + 2L * value.length();
+    }
+
+    private boolean isParallel() {
+      return pool != null;
+    }
+
     private void uniqueAndSort() throws IOException {
-      writeSpillFiles();
+      try {
+        writeSpillFiles();
+        writeResult();
+      } finally {
+        release();
+      }
+    }
 
-      if (spilledFiles.isEmpty()) {
-        writeOutput();
-      } else {
-        if (!values.isEmpty()) {
-          writeSpillFile();
-        }
+    @Override
+    public void add(final String value) throws IOException {
+      if (!isInputLimitExceeded()) {
+        buffer(value);
+      }
+    }
 
-        new Merger(output).merge(spilledFiles, origin);
+    @Override
+    public void finish() throws IOException {
+      try {
+        writeResult();
+      } finally {
+        close();
       }
+    }
 
-      removeSpillFiles();
+    @Override
+    public void close() throws IOException {
+      if (!closed) {
+        closed = true;
+        openSorters.decrementAndGet();
+        values = new TreeSet<>();
+        release();
+      }
     }
 
     private void writeSpillFiles() throws IOException {
@@ -89,48 +302,83 @@ public class TPMMS {
           if (isInputLimitExceeded()) {
             break;
           }
-          values.add(line);
-          maybeWriteSpillFile();
+          buffer(line);
         }
       }
     }
 
+    private void buffer(final String value) throws IOException {
+      if (values.add(value)) {
+        bufferedBytes += sizeOf(value);
+        maybeWriteSpillFile();
+      }
+    }
+
+    private void writeResult() throws IOException {
+      if (spilledFiles.isEmpty()) {
+        writeOutput();
+      } else {
+        if (!values.isEmpty()) {
+          writeSpillFile();
+        }
+        awaitPendingSpill();
+
+        merge();
+      }
+    }
+
+    private void release() throws IOException {
+      awaitPendingSpill();
+      removeSpillFiles();
+    }
+
     private boolean isInputLimitExceeded() {
       ++totalValues;
       return configuration.getInputRowLimit() > 0 && totalValues > configuration.getInputRowLimit();
     }
 
     private void maybeWriteSpillFile() throws IOException {
-      ++valuesSinceLastMemoryCheck;
-      if (valuesSinceLastMemoryCheck > configuration.getMemoryCheckInterval()
-          && shouldWriteSpillFile()) {
-        valuesSinceLastMemoryCheck = 0;
+      if (bufferedBytes > getMaxBufferSize()) {
         writeSpillFile();
       }
     }
 
-    private boolean shouldWriteSpillFile() {
-      return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() > maxMemoryUsage;
-    }
-
     private void writeSpillFile() throws IOException {
-      final Path target = Paths.get(origin + "#" + spilledFiles.size());
-      write(target, values);
+      final Path target = nextRunPath();
       spilledFiles.add(target);
-      values.clear();
-      System.gc();
+      final SortedSet<String> run = values;
+      bufferedBytes = 0;
+
+      if (isParallel()) {
+        // At most one spill is in flight: reading continues while the previous run is written.
+        awaitPendingSpill();
+        values = new TreeSet<>();
+        pendingSpill = task(() -> write(target, run)).fork();
+      } else {
+        write(target, run);
+        values.clear();
+      }
+    }
+
+    private void awaitPendingSpill() throws IOException {
+      if (pendingSpill != null) {
+        final ForkJoinTask<?> spill = pendingSpill;
+        pendingSpill = null;
+        join(spill);
+      }
+    }
+
+    private Path nextRunPath() {
+      return Paths.get(origin + "#" + (spilledFiles.size() + intermediateFiles.size()));
     }
 
     private void write(final Path path, final Set<String> values) throws IOException {
-      try (BufferedWriter writer = Files
-          .newBufferedWriter(path, StandardOpenOption.CREATE,
-              StandardOpenOption.TRUNCATE_EXISTING)) {
+      try (RunCodec.RunWriter writer = codec.newWriter(path)) {
         for (final String value : values) {
           writer.write(value);
-          writer.newLine();
         }
-        writer.flush();
       }
+      statistics.recordSpill(Files.size(path));
     }
 
     private void writeOutput() throws IOException {
@@ -144,30 +392,65 @@ public class TPMMS {
       }
     }
 
+    private void merge() throws IOException {
+      List<Path> runs = spilledFiles;
+      if (isParallel()) {
+        runs = reduceRuns(runs);
+      }
+      new Merger(codec, output).merge(runs, origin);
+    }
+
+    /**
+     * Merge the runs level by level until at most {@link #MERGE_FAN_IN} are left. All nodes of a
+     * level are merged concurrently; each node removes duplicates across its inputs.
+     */
+    private List<Path> reduceRuns(final List<Path> runs) throws IOException {
+      List<Path> current = runs;
+      while (current.size() > MERGE_FAN_IN) {
+        final List<Path> next = new ArrayList<>();
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (final List<Path> group : Lists.partition(current, MERGE_FAN_IN)) {
+          final Path target = nextRunPath();
+          intermediateFiles.add(target);
+          next.add(target);
+          tasks.add(task(() -> new Merger(codec, new CodecOutput(codec)).merge(group, target))
+              .fork());
+        }
+        joinAll(tasks);
+        current = next;
+      }
+      return current;
+    }
+
     private void removeSpillFiles() throws IOException {
       for (final Path spill : spilledFiles) {
-        Files.delete(spill);
+        Files.deleteIfExists(spill);
+      }
+      for (final Path intermediate : intermediateFiles) {
+        Files.deleteIfExists(intermediate);
       }
       spilledFiles.clear();
+      intermediateFiles.clear();
     }
   }
 
   @RequiredArgsConstructor
   private static class Merger {
 
+    private final RunCodec codec;
     private final Output output;
 
     private ObjectHeapPriorityQueue<TPMMSTuple> values;
-    private BufferedReader[] readers;
+    private RunCodec.RunReader[] readers;
 
     private void init(final List<Path> files) throws IOException {
       values = new ObjectHeapPriorityQueue<>(files.size());
-      readers = new BufferedReader[files.size()];
+      readers = new RunCodec.RunReader[files.size()];
 
       for (int index = 0; index < files.size(); ++index) {
-        final BufferedReader reader = Files.newBufferedReader(files.get(index));
+        final RunCodec.RunReader reader = codec.newReader(files.get(index));
         readers[index] = reader;
-        final String firstLine = reader.readLine();
+        final String firstLine = reader.read();
         if (firstLine != null) {
           values.enqueue(new TPMMSTuple(firstLine, index));
         }
@@ -187,7 +470,7 @@ public class TPMMS {
           }
 
           previousValue = current.getValue();
-          final String nextValue = readers[current.getReaderNumber()].readLine();
+          final String nextValue = readers[current.getReaderNumber()].read();
           if (nextValue != null) {
             current.setValue(nextValue);
             values.enqueue(current);
@@ -200,7 +483,7 @@ public class TPMMS {
     }
 
     private void closeReaders() throws IOException {
-      for (BufferedReader reader : readers) {
+      for (RunCodec.RunReader reader : readers) {
         if (reader != null) {
           reader.close();
         }
@@ -208,19 +491,23 @@ public class TPMMS {
     }
   }
 
-  private static class DefaultOutput implements Output {
+  /**
+   * Writes the result as a run of the given codec, replacing any existing content.
+   */
+  @RequiredArgsConstructor
+  private static class CodecOutput implements Output {
 
-    private BufferedWriter writer;
+    private final RunCodec codec;
+    private RunCodec.RunWriter writer;
 
     @Override
     public void open(Path to) throws IOException {
-      writer = Files.newBufferedWriter(to, StandardOpenOption.TRUNCATE_EXISTING);
+      writer = codec.newWriter(to);
     }
 
     @Override
     public void write(String value) throws IOException {
       writer.write(value);
-      writer.newLine();
     }
 
     @Override
@@ -13,13 +13,21 @@ public class TPMMSConfiguration {
 
   private int inputRowLimit;
   private int maxMemoryUsagePercentage;
-  private int memoryCheckInterval;
+  private long memoryBudget;
+  private int parallelism;
+  private boolean binaryRuns;
+  private boolean frontCoding;
+  private boolean compressRuns;
 
   public static TPMMSConfiguration withDefaults() {
     return builder()
         .inputRowLimit(-1)
         .maxMemoryUsagePercentage(50)
-        .memoryCheckInterval(1000)
+        .memoryBudget(0)
+        .parallelism(1)
+        .binaryRuns(false)
+        .frontCoding(false)
+        .compressRuns(false)
         .build();
   }
 
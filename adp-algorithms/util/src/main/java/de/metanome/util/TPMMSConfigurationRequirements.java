@@ -3,6 +3,7 @@ package de.metanome.util;
 import static java.util.Arrays.asList;
 
 import de.metanome.algorithm_integration.configuration.ConfigurationRequirement;
+import de.metanome.algorithm_integration.configuration.ConfigurationRequirementBoolean;
 import de.metanome.algorithm_integration.configuration.ConfigurationRequirementInteger;
 import java.util.List;
 
@@ -10,7 +11,14 @@ public class TPMMSConfigurationRequirements {
 
   private static final String INPUT_ROW_LIMIT = "INPUT_ROW_LIMIT";
   private static final String MAX_MEMORY_USAGE_PERCENTAGE = "MAX_MEMORY_USAGE_PERCENTAGE";
+  private static final String MEMORY_BUDGET_MB = "MEMORY_BUDGET_MB";
   private static final String MEMORY_CHECK_INTERVAL = "MEMORY_CHECK_INTERVAL";
+  private static final String TPMMS_PARALLELISM = "TPMMS_PARALLELISM";
+  private static final String BINARY_RUNS = "BINARY_RUNS";
+  private static final String FRONT_CODED_RUNS = "FRONT_CODED_RUNS";
+  private static final String COMPRESSED_RUNS = "COMPRESSED_RUNS";
+
+  private static final long MB = 1024L * 1024L;
 
   public static List<ConfigurationRequirement<?>> tpmms() {
     final TPMMSConfiguration defaultValues = TPMMSConfiguration.withDefaults();
@@ -23,11 +31,28 @@ public class TPMMSConfigurationRequirements {
         MAX_MEMORY_USAGE_PERCENTAGE);
     maxMemoryUsage.setDefaultValues(new Integer[]{defaultValues.getMaxMemoryUsagePercentage()});
 
-    final ConfigurationRequirementInteger memoryCheckInterval = new ConfigurationRequirementInteger(
-        MEMORY_CHECK_INTERVAL);
-    memoryCheckInterval.setDefaultValues(new Integer[]{defaultValues.getMemoryCheckInterval()});
+    final ConfigurationRequirementInteger memoryBudget = new ConfigurationRequirementInteger(
+        MEMORY_BUDGET_MB);
+    memoryBudget.setDefaultValues(new Integer[]{(int) (defaultValues.getMemoryBudget() / MB)});
+
+    final ConfigurationRequirementInteger parallelism = new ConfigurationRequirementInteger(
+        TPMMS_PARALLELISM);
+    parallelism.setDefaultValues(new Integer[]{defaultValues.getParallelism()});
+
+    final ConfigurationRequirementBoolean binaryRuns = new ConfigurationRequirementBoolean(
+        BINARY_RUNS);
+    binaryRuns.setDefaultValues(new Boolean[]{defaultValues.isBinaryRuns()});
 
-    return asList(inputRowLimit, maxMemoryUsage, memoryCheckInterval);
+    final ConfigurationRequirementBoolean frontCodedRuns = new ConfigurationRequirementBoolean(
+        FRONT_CODED_RUNS);
+    frontCodedRuns.setDefaultValues(new Boolean[]{defaultValues.isFrontCoding()});
+
+    final ConfigurationRequirementBoolean compressedRuns = new ConfigurationRequirementBoolean(
+        COMPRESSED_RUNS);
+    compressedRuns.setDefaultValues(new Boolean[]{defaultValues.isCompressRuns()});
+
+    return asList(inputRowLimit, maxMemoryUsage, memoryBudget, parallelism, binaryRuns,
+        frontCodedRuns, compressedRuns);
   }
 
   public static boolean acceptInteger(final String identifier, final Integer[] values,
@@ -44,12 +69,43 @@ public class TPMMSConfigurationRequirements {
       return true;
     }
 
+    if (identifier.equals(MEMORY_BUDGET_MB)) {
+      configuration.setMemoryBudget(value * MB);
+      return true;
+    }
+
     if (identifier.equals(MEMORY_CHECK_INTERVAL)) {
-      configuration.setMemoryCheckInterval(value);
+      // Obsolete since spilling is driven by the memory budget; still accepted for old configs.
+      return true;
+    }
+
+    if (identifier.equals(TPMMS_PARALLELISM)) {
+      configuration.setParallelism(value);
       return true;
     }
 
     return false;
   }
 
+  public static boolean acceptBoolean(final String identifier, final Boolean[] values,
+      final TPMMSConfiguration configuration) {
+
+    final boolean value = values[0];
+    if (identifier.equals(BINARY_RUNS)) {
+      configuration.setBinaryRuns(value);
+      return true;
+    }
+
+    if (identifier.equals(FRONT_CODED_RUNS)) {
+      configuration.setFrontCoding(value);
+      return true;
+    }
+
+    if (identifier.equals(COMPRESSED_RUNS)) {
+      configuration.setCompressRuns(value);
+      return true;
+    }
+
+    return false;
+  }
 }
@@ -0,0 +1,31 @@
+package de.metanome.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Spill statistics of a {@link TPMMS} instance. Safe to update from concurrent executions.
+ */
+public class TPMMSStatistics {
+
+  private final LongAdder spillCount = new LongAdder();
+  private final LongAdder spilledBytes = new LongAdder();
+
+  void recordSpill(final long bytes) {
+    spillCount.increment();
+    spilledBytes.add(bytes);
+  }
+
+  public long getSpillCount() {
+    return spillCount.sum();
+  }
+
+  public long getSpilledBytes() {
+    return spilledBytes.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "TPMMSStatistics(spillCount=" + getSpillCount() + ", spilledBytes=" + getSpilledBytes()
+        + ")";
+  }
+}
@@ -0,0 +1,57 @@
+package de.metanome.util;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Newline-delimited UTF-8 text. Values must not contain line breaks.
+ */
+class TextRunCodec implements RunCodec {
+
+  @Override
+  public RunWriter newWriter(final Path path) throws IOException {
+    return new TextRunWriter(Files.newBufferedWriter(path));
+  }
+
+  @Override
+  public RunReader newReader(final Path path) throws IOException {
+    return new TextRunReader(Files.newBufferedReader(path));
+  }
+
+  @RequiredArgsConstructor
+  private static class TextRunWriter implements RunWriter {
+
+    private final BufferedWriter writer;
+
+    @Override
+    public void write(final String value) throws IOException {
+      writer.write(value);
+      writer.newLine();
+    }
+
+    @Override
+    public void close() throws IOException {
+      writer.close();
+    }
+  }
+
+  @RequiredArgsConstructor
+  private static class TextRunReader implements RunReader {
+
+    private final BufferedReader reader;
+
+    @Override
+    public String read() throws IOException {
+      return reader.readLine();
+    }
+
+    @Override
+    public void close() throws IOException {
+      reader.close();
+    }
+  }
+}
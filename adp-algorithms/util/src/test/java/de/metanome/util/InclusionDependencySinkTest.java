@@ -0,0 +1,72 @@
+package de.metanome.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.metanome.algorithm_integration.results.InclusionDependency;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class InclusionDependencySinkTest {
+
+  @Test
+  void testBatching() throws Exception {
+    final InclusionDependencyResultReceiverStub receiver =
+        new InclusionDependencyResultReceiverStub();
+    final InclusionDependencySink sink = new InclusionDependencySink(receiver, 2);
+
+    sink.receive(ind("a", 0));
+    assertThat(receiver.getReceivedResults()).isEmpty();
+
+    sink.receive(ind("a", 1));
+    assertThat(receiver.getReceivedResults()).hasSize(2);
+
+    sink.receive(ind("a", 2));
+    sink.close();
+    assertThat(receiver.getReceivedResults()).hasSize(3);
+  }
+
+  @Test
+  void testConcurrentProducers() throws Exception {
+    final int producers = 4;
+    final int count = 10_000;
+    // The stub is not thread-safe, so lost results would reveal concurrent calls.
+    final InclusionDependencyResultReceiverStub receiver =
+        new InclusionDependencyResultReceiverStub();
+    final InclusionDependencySink sink = new InclusionDependencySink(receiver, 16);
+
+    final ExecutorService executor = Executors.newFixedThreadPool(producers);
+    try {
+      final List<Future<?>> futures = new ArrayList<>();
+      for (int producer = 0; producer < producers; ++producer) {
+        final String table = "t" + producer;
+        futures.add(executor.submit(() -> {
+          for (int index = 0; index < count; ++index) {
+            sink.receive(ind(table, index));
+          }
+          return null;
+        }));
+      }
+      for (final Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    sink.close();
+
+    assertThat(receiver.getReceivedResults()).hasSize(producers * count);
+    assertThat(new HashSet<>(receiver.getReceivedResults())).hasSize(producers * count);
+  }
+
+  private static InclusionDependency ind(final String table, final int index) {
+    return InclusionDependencyBuilder
+        .dependent().column(table, "dep" + index)
+        .referenced().column(table, "ref" + index)
+        .build();
+  }
+}
@@ -0,0 +1,69 @@
+package de.metanome.util;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class RunCodecTest {
+
+  private static final List<String> VALUES = asList("", "a", "ab", "abc", "abd", "b",
+      "http://example.org/a", "http://example.org/b", "äöü", "äöx",
+      "line\nbreak");
+
+  private Path run;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    run = Files.createTempFile("run", ".bin");
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    Files.delete(run);
+  }
+
+  static Stream<RunCodec> binaryCodecs() {
+    return Stream.of(new BinaryRunCodec(false, false), new BinaryRunCodec(true, false),
+        new BinaryRunCodec(false, true), new BinaryRunCodec(true, true));
+  }
+
+  @ParameterizedTest
+  @MethodSource("binaryCodecs")
+  void testRoundTrip(final RunCodec codec) throws Exception {
+    try (RunCodec.RunWriter writer = codec.newWriter(run)) {
+      for (final String value : VALUES) {
+        writer.write(value);
+      }
+    }
+
+    assertThat(readAll(codec)).isEqualTo(VALUES);
+  }
+
+  @ParameterizedTest
+  @MethodSource("binaryCodecs")
+  void testEmptyRun(final RunCodec codec) throws Exception {
+    codec.newWriter(run).close();
+
+    assertThat(readAll(codec)).isEmpty();
+  }
+
+  private List<String> readAll(final RunCodec codec) throws Exception {
+    final List<String> values = new ArrayList<>();
+    try (RunCodec.RunReader reader = codec.newReader(run)) {
+      String value;
+      while ((value = reader.read()) != null) {
+        values.add(value);
+      }
+    }
+    return values;
+  }
+}
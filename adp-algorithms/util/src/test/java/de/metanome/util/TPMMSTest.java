@@ -34,31 +34,106 @@ class TPMMSTest {
   }
 
   private void createFixture(final List<String> items) throws Exception {
+    write(toProcess, items);
+  }
 
-    try (BufferedWriter writer = Files.newBufferedWriter(toProcess)) {
-      for (final String item : items) {
-        writer.write(String.valueOf(item));
-        writer.newLine();
+  @Test
+  void testUniqueAndSort() throws Exception {
+    final TPMMSConfiguration configuration = getConfiguration();
+    final List<String> items = randomized(withDuplicates(asList("4", "3", "2", "1")));
+    createFixture(items);
+
+    final TPMMS tpmms = new TPMMS(configuration);
+    tpmms.uniqueAndSort(toProcess);
+
+    assertThat(tpmms.getStatistics().getSpillCount()).isEqualTo(items.size());
+    final List<String> actual = Files.lines(toProcess).collect(toList());
+    assertThat(actual).as("Input: " + items).isEqualTo(asList("1", "2", "3", "4"));
+  }
+
+  @Test
+  void testUniqueAndSortParallel() throws Exception {
+    final TPMMSConfiguration configuration = getConfiguration();
+    configuration.setParallelism(4);
+    final List<Path> paths = new ArrayList<>();
+    final List<List<String>> expected = new ArrayList<>();
+    for (int file = 0; file < 3; ++file) {
+      final List<String> items = new ArrayList<>();
+      for (int value = 0; value < 100; ++value) {
+        items.add(file + "-" + value);
       }
+      final Path path = directory.resolve("parallel" + file + ".txt");
+      write(path, randomized(withDuplicates(items)));
+      paths.add(path);
+      expected.add(items.stream().sorted().collect(toList()));
+    }
+
+    new TPMMS(configuration).uniqueAndSort(paths);
+
+    for (int file = 0; file < paths.size(); ++file) {
+      assertThat(Files.lines(paths.get(file)).collect(toList())).isEqualTo(expected.get(file));
     }
   }
 
   @Test
-  void testUniqueAndSort() throws Exception {
+  void testUniqueAndSortBinaryRuns() throws Exception {
     final TPMMSConfiguration configuration = getConfiguration();
+    configuration.setFrontCoding(true);
+    configuration.setCompressRuns(true);
     final List<String> items = randomized(withDuplicates(asList("4", "3", "2", "1")));
     createFixture(items);
 
-    new TPMMS(configuration).uniqueAndSort(toProcess);
+    final TPMMS tpmms = new TPMMS(configuration);
+    tpmms.uniqueAndSort(toProcess);
+
+    final List<String> actual = new ArrayList<>();
+    try (RunCodec.RunReader reader = tpmms.getCodec().newReader(toProcess)) {
+      String value;
+      while ((value = reader.read()) != null) {
+        actual.add(value);
+      }
+    }
+    assertThat(actual).as("Input: " + items).isEqualTo(asList("1", "2", "3", "4"));
+  }
+
+  @Test
+  void testSorter() throws Exception {
+    final List<String> items = randomized(withDuplicates(asList("4", "3", "2", "1")));
+
+    final TPMMS tpmms = new TPMMS(getConfiguration());
+    final TPMMS.Sorter sorter = tpmms.newSorter(toProcess);
+    for (final String item : items) {
+      sorter.add(item);
+    }
+    sorter.finish();
 
     final List<String> actual = Files.lines(toProcess).collect(toList());
     assertThat(actual).as("Input: " + items).isEqualTo(asList("1", "2", "3", "4"));
   }
 
+  @Test
+  void testSorterClose() throws Exception {
+    final TPMMS.Sorter sorter = new TPMMS(getConfiguration()).newSorter(toProcess);
+    for (final String item : asList("4", "3", "2", "1")) {
+      sorter.add(item);
+    }
+    sorter.close();
+
+    assertThat(Files.list(directory).collect(toList())).isEmpty();
+  }
+
+  private void write(final Path path, final List<String> items) throws Exception {
+    try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+      for (final String item : items) {
+        writer.write(item);
+        writer.newLine();
+      }
+    }
+  }
+
   private TPMMSConfiguration getConfiguration() {
     return TPMMSConfiguration.builder()
-        .maxMemoryUsagePercentage(1)
-        .memoryCheckInterval(1)
+        .memoryBudget(1)
         .build();
   }
 